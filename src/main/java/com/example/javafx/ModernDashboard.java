@@ -1,7 +1,7 @@
 package com.example.javafx;
 
 import javafx.application.Application;
-import javafx.animation.*;
+import javafx.application.Platform;
 import javafx.geometry.*;
 import javafx.scene.*;
 import javafx.scene.chart.*;
@@ -20,10 +20,79 @@ import java.time.format.DateTimeFormatter;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.scene.input.MouseEvent;
-import javafx.scene.transform.Rotate;
 import javafx.scene.canvas.*;
 import javafx.beans.property.*;
 import javafx.scene.input.KeyCombination;
+import com.example.javafx.alert.AlertChannel;
+import com.example.javafx.alert.AlertDispatcher;
+import com.example.javafx.alert.AlertEngine;
+import com.example.javafx.alert.AlertEvent;
+import com.example.javafx.alert.AlertList;
+import com.example.javafx.alert.AlertRule;
+import com.example.javafx.alert.AnomalyDetector;
+import com.example.javafx.alert.FileAlertChannel;
+import com.example.javafx.alert.SmtpChannel;
+import com.example.javafx.alert.WebhookChannel;
+import com.example.javafx.alert.WebhookStub;
+import com.example.javafx.cluster.ClusterNode;
+import com.example.javafx.cluster.ClusterPoller;
+import com.example.javafx.cluster.ClusterStub;
+import com.example.javafx.cluster.ClusterSummary;
+import com.example.javafx.cluster.NodeFocusView;
+import com.example.javafx.cluster.NodeMetricStore;
+import com.example.javafx.cluster.NodeStatus;
+import com.example.javafx.health.HealthCheck;
+import com.example.javafx.health.HealthProber;
+import com.example.javafx.health.HealthState;
+import com.example.javafx.health.HealthSummary;
+import com.example.javafx.frame.Blink;
+import com.example.javafx.frame.FrameScheduler;
+import com.example.javafx.frame.FrameTask;
+import com.example.javafx.gauge.AirspeedIndicator;
+import com.example.javafx.gauge.Altimeter;
+import com.example.javafx.gauge.AttitudeIndicator;
+import com.example.javafx.gauge.EngineGauge;
+import com.example.javafx.gauge.HeadingIndicator;
+import com.example.javafx.gauge.VerticalSpeedIndicator;
+import com.example.javafx.history.Aggregation;
+import com.example.javafx.history.GroupBy;
+import com.example.javafx.history.HistoryQuery;
+import com.example.javafx.history.QueryCache;
+import com.example.javafx.history.HistoryStore;
+import com.example.javafx.history.QueryEngine;
+import com.example.javafx.history.TierSpec;
+import com.example.javafx.log.LogIndex;
+import com.example.javafx.log.LogMatches;
+import com.example.javafx.log.LogQuery;
+import com.example.javafx.log.LogMetrics;
+import com.example.javafx.log.LogRing;
+import com.example.javafx.log.LogRule;
+import com.example.javafx.log.LogSearch;
+import com.example.javafx.log.LogStub;
+import com.example.javafx.log.LogTailer;
+import com.example.javafx.log.TemplateMiner;
+import com.example.javafx.log.LogView;
+import com.example.javafx.metrics.HostSnapshot;
+import com.example.javafx.metrics.JfrMetricSource;
+import com.example.javafx.metrics.JvmMetricSource;
+import com.example.javafx.metrics.MetricBoard;
+import com.example.javafx.metrics.MetricNames;
+import com.example.javafx.metrics.MetricScheduler;
+import com.example.javafx.metrics.ProcHostCollector;
+import com.example.javafx.metrics.SnapshotPulse;
+import com.example.javafx.metrics.SnapshotSlot;
+import com.example.javafx.recording.FlightPlayer;
+import com.example.javafx.recording.FlightRecorder;
+import com.example.javafx.recording.Recording;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 public class ModernDashboard extends Application {
     
@@ -34,10 +103,141 @@ public class ModernDashboard extends Application {
     private static final Color COCKPIT_DARK = Color.rgb(10, 10, 15);
     private static final Color COCKPIT_PANEL = Color.rgb(30, 30, 35);
     
-    private Timeline mainTimeline;
+    private static final long SAMPLE_PERIOD_MS = 100;
+    private static final java.time.Duration CLUSTER_INTERVAL = java.time.Duration.ofSeconds(1);
+    private static final java.time.Duration CLUSTER_TIMEOUT = java.time.Duration.ofMillis(800);
+    private static final int CLUSTER_MAX_IN_FLIGHT = 256;
+    
+    // Every animation runs on this one scheduler; with nothing changing it does no frames at all
+    private final FrameScheduler frames = new FrameScheduler();
+    private ProcHostCollector hostCollector;
+    private final SnapshotSlot<HostSnapshot> hostSlot = new SnapshotSlot<>();
+    private SnapshotPulse<HostSnapshot> hostPulse;
+    private final MetricBoard metricBoard = new MetricBoard();
+    private MetricScheduler metricScheduler;
+    
+    // -Dskywatch.jvm=self|<pid>|<service:jmx url>[,...]; the first target drives MEMORY and THREADS
+    private final List<JvmMetricSource> jvmSources = JvmMetricSource.fromTargets(
+        System.getProperty("skywatch.jvm", ""), Integer.getInteger("skywatch.jvm.threadCapacity", 1000));
+    private final String jvmPrimary = jvmSources.isEmpty() ? null : jvmSources.get(0).target();
+    // -Dskywatch.jfr=self|<pid>|<service:jmx url>, defaulting to the primary JVM target
+    private final String jfrTarget = System.getProperty("skywatch.jfr", jvmPrimary);
+    
+    // -Dskywatch.cluster=<file of "NAME URL" lines>, or -Dskywatch.cluster.stub=<node count>
+    private ClusterStub clusterStub;
+    private ClusterPoller clusterPoller;
+    private final SnapshotSlot<ClusterSummary> clusterSlot = new SnapshotSlot<>();
+    private SnapshotPulse<ClusterSummary> clusterPulse;
+    private NodeMetricStore nodeStore;
+    private NodeFocusView nodeFocus;
+    private final StringProperty focusTitle = new SimpleStringProperty("SERVER CLUSTER STATUS");
+    private final StringProperty[] nodeNames = {
+        new SimpleStringProperty("NODE1"), new SimpleStringProperty("NODE2"), new SimpleStringProperty("NODE3")
+    };
+    private final StringProperty[] nodeReadouts = {
+        new SimpleStringProperty("127.001"), new SimpleStringProperty("127.002"), new SimpleStringProperty("127.003")
+    };
+    private final StringProperty masterReadout = new SimpleStringProperty("127.000");
+    
+    // -Dskywatch.history=<dir>|on keeps metric history (on: ~/.skywatch/history; off by default),
+    // with -Dskywatch.history.tiers=1s:6h,10s:7d,1m:90d and -Dskywatch.history.cacheMb=64 for chart results.
+    // Node 0 is this host; cluster node i is stored as node i + 1.
+    private static final int HOST_NODE = 0;
+    private static final java.time.Duration CHART_RANGE = java.time.Duration.ofDays(7);
+    private static final int CHART_BUCKETS = 600;
+    private HistoryStore history;
+    private QueryCache queryCache;
+    
+    // -Dskywatch.record=<dir>|on writes a flight recording of every metric and log line fed to
+    // the dashboard (on: ~/.skywatch/recordings), keeping -Dskywatch.record.days=7 of them; -Dskywatch.play=<file> replays one
+    // instead of live data. While playing: SPACE pauses, UP/DOWN change speed, LEFT/RIGHT seek a
+    // minute (SHIFT: an hour), END returns to live.
+    private static final double[] PLAYBACK_SPEEDS = {1, 2, 5, 10, 20, 50, 100, 200, 500};
+    private static final DateTimeFormatter RECORDING_NAME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final DateTimeFormatter PLAYBACK_TIME =
+        DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+    private FlightRecorder recorder;
+    private FlightPlayer player;
+    private long playbackStatusSecond = -1;
+    
+    // The TIME TRAVEL slider scrubs back through the live recording while collection and
+    // recording carry on. Drags are applied at most once per frame; each costs one block decode.
+    // Recordings hold the host, the board and the logs; cluster nodes go to history only, so a
+    // replay shows no node focus and no cluster alerts.
+    private static final long TIME_TRAVEL_WINDOW_MILLIS = 24 * 3_600_000L;
+    private static final long LIVE_EDGE_MILLIS = 5_000;
+    private static final int LOG_BACKLOG = 50;
+    private static final String LOG_CHANNEL = "log";
+    private long recordingStart;
+    private boolean timeTravel;
+    private long scrubTarget = -1;
+    private Slider timeSlider;
+    private boolean updatingTimeSlider;
+    private long timeSliderSecond = -1;
+    private long timeSliderPosition = -1;
+    private final StringProperty timeTravelReadout = new SimpleStringProperty("LIVE");
+    
+    // Alert rules run on every host sample and cluster round; only raises and clears reach the
+    // FX thread, where they are applied on the next frame. Node numbering follows the history.
+    private AlertEngine alertEngine;
+    // Anomalies join the alert list and light MASTER CAUTION until pressed or all cleared
+    private AnomalyDetector anomalyDetector;
+    private int activeAnomalies;
+    private final BooleanProperty masterCaution = new SimpleBooleanProperty(false);
+    private AlertList alertList;
+    private final Queue<AlertEvent> alertEvents = new ConcurrentLinkedQueue<>();
+    private final double[] hostSample = new double[MetricNames.NODE_METRICS.length];
+    private List<AlertRule> alertRules = AlertRule.DEFAULTS;
+    // Replayed host values run through an engine and list of their own, shown in place of the
+    // live list while playing, so the live host's streaks and alerts are there on return
+    private final double[] playedHost = new double[MetricNames.NODE_METRICS.length];
+    private boolean playedHostChanged;
+    private AlertEngine replayAlertEngine;
+    private AlertList replayAlertList;
+    private ScrollPane alertScroll;
+    
+    // -Dskywatch.notify=<comma-separated http(s) URLs, file:<path>, smtp://host:port/<to address> or stub>
+    // sends alert raises and clears out, batched over -Dskywatch.notify.batchMs=2000 and limited to
+    // -Dskywatch.notify.perMinute=6 batches per channel
+    private AlertDispatcher alertDispatcher;
+    private WebhookStub webhookStub;
+    
+    // -Dskywatch.health=<file of "GROUP tcp|http|process|file TARGET [LIMIT]" lines> feeds the status
+    // lights, probed every -Dskywatch.health.intervalMs=5000; without it they watch the cluster
+    // endpoints (ELEC), the tailed logs (FUEL) and the recording (FMC), and the rest stay dark
+    private static final List<String> STATUS_LIGHTS = List.of("APU", "HYD", "ELEC", "FUEL", "ENV", "FMC");
+    private final Map<String, ObjectProperty<HealthState>> statusLights = new HashMap<>();
+    private final Map<String, StringProperty> statusDetails = new HashMap<>();
+    private HealthProber healthProber;
+    private final SnapshotSlot<HealthSummary> healthSlot = new SnapshotSlot<>();
+    private SnapshotPulse<HealthSummary> healthPulse;
+    
+    // SYSTEM LOG keeps the last -Dskywatch.log.lines=10000 lines; older ones are evicted
+    private final LogIndex logIndex = new LogIndex();
+    private final LogRing logRing = new LogRing(Integer.getInteger("skywatch.log.lines", 10_000), logIndex);
+    private final LogSearch logSearch = new LogSearch(logRing, logIndex, frames::requestFrame);
+    private LogView logView;
+    private TextField logFilter;
+    
+    // Top message shapes among live lines; -Dskywatch.logs.templates bounds the table
+    private static final int TOP_PATTERNS = 5;
+    private final TemplateMiner templateMiner = new TemplateMiner(Integer.getInteger("skywatch.logs.templates", 1000));
+    private final Label[] patternLabels = new Label[TOP_PATTERNS];
+    
+    // -Dskywatch.logs.rules=<file of log-to-metric rules>; -Dskywatch.response=<metric> drives RESPONSE MS
+    private LogMetrics logMetrics;
+    private String responseSource;
+    
+    // -Dskywatch.logs=<comma-separated files or directories of *.log>, or stub for generated logs
+    // (-Dskywatch.logs.stub=<file count>); unset, no logs are followed
+    private LogStub logStub;
+    private LogTailer logTailer;
+    private List<Path> tailedFiles = List.of();
+    // Set while replaying: live lines and host samples only go to the recording and the live alerts meanwhile
+    private volatile boolean replaying;
     private Random random = new Random();
     
-    // Server metrics (simulated)
+    // Server metrics (live from /proc on Linux, simulated elsewhere)
     private DoubleProperty cpuLoad = new SimpleDoubleProperty(45);
     private DoubleProperty memoryUsage = new SimpleDoubleProperty(62);
     private DoubleProperty diskIO = new SimpleDoubleProperty(30);
@@ -85,13 +285,20 @@ public class ModernDashboard extends Application {
                 primaryStage.setFullScreen(false);
                 primaryStage.close();
                 System.exit(0);
+            } else if (player != null) {
+                handlePlaybackKey(e.getCode(), e.isShiftDown());
             }
         });
         
         primaryStage.setScene(scene);
         primaryStage.show();
+        // Minimized or closed, nothing is drawn; collection carries on
+        javafx.beans.InvalidationListener visibility = obs -> frames.setVisible(
+            primaryStage.isShowing() && !primaryStage.isIconified());
+        primaryStage.showingProperty().addListener(visibility);
+        primaryStage.iconifiedProperty().addListener(visibility);
         
-        startSimulation();
+        startCollection();
     }
     
     private HBox createTopPanel() {
@@ -102,32 +309,34 @@ public class ModernDashboard extends Application {
                        "-fx-border-color: #00ff00; -fx-border-width: 0 0 1 0;");
         
         // Master Caution Light
-        VBox cautionBox = createWarningLight("MASTER\nCAUTION", COCKPIT_AMBER, false);
+        VBox cautionBox = createWarningLight("MASTER\nCAUTION", COCKPIT_AMBER, masterCaution);
+        cautionBox.setOnMouseClicked(e -> masterCaution.set(false));
         
         // System Status Indicators
         HBox systemLights = new HBox(10);
-        systemLights.getChildren().addAll(
-            createStatusLight("APU", true),
-            createStatusLight("HYD", true),
-            createStatusLight("ELEC", true),
-            createStatusLight("FUEL", true),
-            createStatusLight("ENV", true),
-            createStatusLight("FMC", true)
-        );
+        for (String light : STATUS_LIGHTS) {
+            systemLights.getChildren().add(createStatusLight(light));
+        }
         
         // Digital Clock
         Label clockLabel = new Label();
         clockLabel.setFont(Font.font("Monospaced", FontWeight.BOLD, 24));
         clockLabel.setTextFill(COCKPIT_GREEN);
-        Timeline clockTimeline = new Timeline(new KeyFrame(Duration.seconds(1), e -> {
-            clockLabel.setText(LocalTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss")));
-        }));
-        clockTimeline.setCycleCount(Timeline.INDEFINITE);
-        clockTimeline.play();
+        DateTimeFormatter clockFormat = DateTimeFormatter.ofPattern("HH:mm:ss");
+        long[] clockSecond = {-1};
+        frames.add(now -> {
+            long second = System.currentTimeMillis() / 1000;
+            if (second != clockSecond[0]) {
+                clockSecond[0] = second;
+                clockLabel.setText(LocalTime.now().format(clockFormat));
+            }
+            return nextSecond(now);
+        });
         
         // Server Status Display
         VBox serverStatus = new VBox(5);
-        Label serverLabel = new Label("SERVER CLUSTER STATUS");
+        Label serverLabel = new Label();
+        serverLabel.textProperty().bind(focusTitle);
         serverLabel.setFont(Font.font("Arial", FontWeight.BOLD, 12));
         serverLabel.setTextFill(COCKPIT_CYAN);
         Label statusText = new Label("OPERATIONAL");
@@ -148,427 +357,79 @@ public class ModernDashboard extends Application {
         grid.setAlignment(Pos.CENTER);
         
         // CPU Load Gauge (like Attitude Indicator)
-        Node cpuGauge = createArtificialHorizon("CPU LOAD", cpuLoad);
+        AttitudeIndicator cpuGauge = new AttitudeIndicator(frames, "CPU LOAD");
+        cpuGauge.valueProperty().bind(cpuLoad);
         grid.add(cpuGauge, 0, 0);
         
         // Memory Gauge (like Altimeter)
-        Node memGauge = createAltimeter("MEMORY", memoryUsage);
+        Altimeter memGauge = new Altimeter(frames, "MEMORY");
+        memGauge.valueProperty().bind(memoryUsage);
         grid.add(memGauge, 1, 0);
         
         // Network I/O (like Airspeed Indicator)
-        Node netGauge = createAirspeedIndicator("NETWORK I/O", networkIn, networkOut);
+        AirspeedIndicator netGauge = new AirspeedIndicator(frames, "NETWORK I/O");
+        netGauge.valueProperty().bind(networkIn);
+        netGauge.outValueProperty().bind(networkOut);
         grid.add(netGauge, 2, 0);
         
         // Disk I/O Gauge (like Vertical Speed)
-        Node diskGauge = createVerticalSpeed("DISK I/O", diskIO);
+        VerticalSpeedIndicator diskGauge = new VerticalSpeedIndicator(frames, "DISK I/O");
+        diskGauge.valueProperty().bind(diskIO);
         grid.add(diskGauge, 0, 1);
         
         // Server Temperature (like Engine Temp)
-        Node tempGauge = createEngineGauge("TEMP °C", serverTemp, 100);
+        EngineGauge tempGauge = new EngineGauge(frames, "TEMP °C");
+        tempGauge.valueProperty().bind(serverTemp);
+        tempGauge.setMaxValue(100);
         grid.add(tempGauge, 1, 1);
         
         // Response Time (like Heading Indicator)
-        Node responseGauge = createHeadingIndicator("RESPONSE MS", responseTime);
+        HeadingIndicator responseGauge = new HeadingIndicator(frames, "RESPONSE MS");
+        responseGauge.valueProperty().bind(responseTime);
         grid.add(responseGauge, 2, 1);
         
-        return grid;
-    }
-    
-    private Node createArtificialHorizon(String title, DoubleProperty value) {
-        VBox container = new VBox(5);
-        container.setAlignment(Pos.CENTER);
-        
-        Label titleLabel = new Label(title);
-        titleLabel.setFont(Font.font("Arial", FontWeight.BOLD, 12));
-        titleLabel.setTextFill(COCKPIT_CYAN);
-        
-        StackPane gauge = new StackPane();
-        gauge.setPrefSize(200, 200);
-        
-        // Background circle
-        Circle bg = new Circle(100, COCKPIT_PANEL);
-        bg.setStroke(COCKPIT_GREEN);
-        bg.setStrokeWidth(2);
-        
-        // Horizon line
-        Rectangle horizon = new Rectangle(180, 2, COCKPIT_GREEN);
-        
-        // Sky/Ground indicator
-        Rectangle sky = new Rectangle(180, 90);
-        sky.setFill(new LinearGradient(0, 0, 0, 1, true, CycleMethod.NO_CYCLE,
-            new Stop(0, Color.rgb(0, 50, 100)),
-            new Stop(1, Color.rgb(0, 30, 60))));
-        sky.setTranslateY(-45);
-        
-        Rectangle ground = new Rectangle(180, 90);
-        ground.setFill(new LinearGradient(0, 0, 0, 1, true, CycleMethod.NO_CYCLE,
-            new Stop(0, Color.rgb(80, 50, 20)),
-            new Stop(1, Color.rgb(60, 40, 15))));
-        ground.setTranslateY(45);
-        
-        // Value display
-        Label valueLabel = new Label();
-        valueLabel.setFont(Font.font("Monospaced", FontWeight.BOLD, 24));
-        valueLabel.setTextFill(COCKPIT_GREEN);
-        valueLabel.textProperty().bind(value.asString("%.0f%%"));
-        
-        // Pitch ladder
-        Group pitchLadder = new Group();
-        for (int i = -40; i <= 40; i += 10) {
-            if (i != 0) {
-                Line line = new Line(-30, 0, 30, 0);
-                line.setStroke(COCKPIT_GREEN);
-                line.setTranslateY(i * 2);
-                
-                Text text = new Text(String.valueOf(Math.abs(i)));
-                text.setFill(COCKPIT_GREEN);
-                text.setFont(Font.font("Monospaced", 10));
-                text.setTranslateX(35);
-                text.setTranslateY(i * 2 + 3);
-                
-                pitchLadder.getChildren().addAll(line, text);
-            }
-        }
-        
-        // Animate based on CPU load
-        RotateTransition rotate = new RotateTransition(Duration.seconds(4), pitchLadder);
-        rotate.setByAngle(360);
-        rotate.setCycleCount(Timeline.INDEFINITE);
-        rotate.setInterpolator(Interpolator.LINEAR);
-        rotate.play();
-        
-        gauge.getChildren().addAll(bg, sky, ground, horizon, pitchLadder, valueLabel);
-        
-        container.getChildren().addAll(titleLabel, gauge);
-        return container;
-    }
-    
-    private Node createAltimeter(String title, DoubleProperty value) {
-        VBox container = new VBox(5);
-        container.setAlignment(Pos.CENTER);
-        
-        Label titleLabel = new Label(title);
-        titleLabel.setFont(Font.font("Arial", FontWeight.BOLD, 12));
-        titleLabel.setTextFill(COCKPIT_CYAN);
-        
-        StackPane gauge = new StackPane();
-        gauge.setPrefSize(200, 200);
-        
-        // Create circular gauge
-        Circle bg = new Circle(100, COCKPIT_PANEL);
-        bg.setStroke(COCKPIT_GREEN);
-        bg.setStrokeWidth(2);
-        
-        // Add tick marks
-        Group ticks = new Group();
-        for (int i = 0; i < 10; i++) {
-            Line tick = new Line(0, -95, 0, -85);
-            tick.setStroke(COCKPIT_GREEN);
-            tick.setStrokeWidth(2);
-            tick.getTransforms().add(new Rotate(i * 36, 0, 0));
-            
-            Text number = new Text(String.valueOf(i * 10));
-            number.setFill(COCKPIT_GREEN);
-            number.setFont(Font.font("Monospaced", 14));
-            double angle = Math.toRadians(i * 36 - 90);
-            number.setTranslateX(Math.cos(angle) * 70);
-            number.setTranslateY(Math.sin(angle) * 70 + 5);
-            
-            ticks.getChildren().addAll(tick, number);
-        }
-        
-        // Needle
-        Polygon needle = new Polygon(0, -80, -5, 0, 0, 10, 5, 0);
-        needle.setFill(COCKPIT_AMBER);
+        // Double-click an instrument for its history across all nodes
+        attachHistoryChart(cpuGauge, "CPU LOAD", MetricNames.CPU_LOAD);
+        attachHistoryChart(memGauge, "MEMORY", MetricNames.MEMORY);
+        attachHistoryChart(netGauge, "NETWORK IN", MetricNames.NET_IN);
+        attachHistoryChart(diskGauge, "DISK I/O", MetricNames.DISK_IO);
+        attachHistoryChart(tempGauge, "TEMP °C", MetricNames.TEMP);
+        attachHistoryChart(responseGauge, "RESPONSE MS", MetricNames.RESPONSE);
+        attachResponseSources(responseGauge);
         
-        Rotate needleRotate = new Rotate(0, 0, 0);
-        needle.getTransforms().add(needleRotate);
-        
-        // Bind needle to value
-        value.addListener((obs, old, val) -> {
-            needleRotate.setAngle(val.doubleValue() * 3.6);
-        });
-        
-        // Digital display
-        Label digitalDisplay = new Label();
-        digitalDisplay.setFont(Font.font("Monospaced", FontWeight.BOLD, 18));
-        digitalDisplay.setTextFill(COCKPIT_GREEN);
-        digitalDisplay.setTranslateY(40);
-        digitalDisplay.textProperty().bind(value.asString("%.0f%%"));
-        
-        gauge.getChildren().addAll(bg, ticks, needle, digitalDisplay);
-        
-        container.getChildren().addAll(titleLabel, gauge);
-        return container;
-    }
-    
-    private Node createAirspeedIndicator(String title, DoubleProperty inValue, DoubleProperty outValue) {
-        VBox container = new VBox(5);
-        container.setAlignment(Pos.CENTER);
-        
-        Label titleLabel = new Label(title);
-        titleLabel.setFont(Font.font("Arial", FontWeight.BOLD, 12));
-        titleLabel.setTextFill(COCKPIT_CYAN);
-        
-        StackPane gauge = new StackPane();
-        gauge.setPrefSize(200, 200);
-        
-        Circle bg = new Circle(100, COCKPIT_PANEL);
-        bg.setStroke(COCKPIT_GREEN);
-        bg.setStrokeWidth(2);
-        
-        // Speed arc segments
-        Arc greenArc = new Arc(0, 0, 95, 95, -90, -120);
-        greenArc.setType(ArcType.OPEN);
-        greenArc.setStroke(Color.LIGHTGREEN);
-        greenArc.setStrokeWidth(15);
-        greenArc.setFill(Color.TRANSPARENT);
-        
-        Arc yellowArc = new Arc(0, 0, 95, 95, -210, -60);
-        yellowArc.setType(ArcType.OPEN);
-        yellowArc.setStroke(COCKPIT_AMBER);
-        yellowArc.setStrokeWidth(15);
-        yellowArc.setFill(Color.TRANSPARENT);
-        
-        Arc redArc = new Arc(0, 0, 95, 95, -270, -30);
-        redArc.setType(ArcType.OPEN);
-        redArc.setStroke(COCKPIT_RED);
-        redArc.setStrokeWidth(15);
-        redArc.setFill(Color.TRANSPARENT);
-        
-        // IN/OUT indicators
-        Label inLabel = new Label("IN");
-        inLabel.setFont(Font.font("Monospaced", FontWeight.BOLD, 12));
-        inLabel.setTextFill(COCKPIT_GREEN);
-        inLabel.setTranslateY(-30);
-        
-        Label inValueLabel = new Label();
-        inValueLabel.setFont(Font.font("Monospaced", FontWeight.BOLD, 16));
-        inValueLabel.setTextFill(COCKPIT_GREEN);
-        inValueLabel.setTranslateY(-10);
-        inValueLabel.textProperty().bind(inValue.asString("%.0f Mb/s"));
-        
-        Label outLabel = new Label("OUT");
-        outLabel.setFont(Font.font("Monospaced", FontWeight.BOLD, 12));
-        outLabel.setTextFill(COCKPIT_AMBER);
-        outLabel.setTranslateY(20);
-        
-        Label outValueLabel = new Label();
-        outValueLabel.setFont(Font.font("Monospaced", FontWeight.BOLD, 16));
-        outValueLabel.setTextFill(COCKPIT_AMBER);
-        outValueLabel.setTranslateY(40);
-        outValueLabel.textProperty().bind(outValue.asString("%.0f Mb/s"));
-        
-        gauge.getChildren().addAll(bg, greenArc, yellowArc, redArc, 
-                                   inLabel, inValueLabel, outLabel, outValueLabel);
-        
-        container.getChildren().addAll(titleLabel, gauge);
-        return container;
-    }
-    
-    private Node createVerticalSpeed(String title, DoubleProperty value) {
-        VBox container = new VBox(5);
-        container.setAlignment(Pos.CENTER);
-        
-        Label titleLabel = new Label(title);
-        titleLabel.setFont(Font.font("Arial", FontWeight.BOLD, 12));
-        titleLabel.setTextFill(COCKPIT_CYAN);
-        
-        StackPane gauge = new StackPane();
-        gauge.setPrefSize(200, 200);
-        
-        Circle bg = new Circle(100, COCKPIT_PANEL);
-        bg.setStroke(COCKPIT_GREEN);
-        bg.setStrokeWidth(2);
-        
-        // Vertical scale
-        Group scale = new Group();
-        for (int i = -3; i <= 3; i++) {
-            if (i != 0) {
-                Line tick = new Line(-80, 0, -90, 0);
-                tick.setStroke(COCKPIT_GREEN);
-                tick.setStrokeWidth(2);
-                tick.getTransforms().add(new Rotate(i * 30, 0, 0));
-                
-                Text number = new Text(String.valueOf(Math.abs(i)));
-                number.setFill(COCKPIT_GREEN);
-                number.setFont(Font.font("Monospaced", 12));
-                double angle = Math.toRadians(i * 30 - 90);
-                number.setTranslateX(Math.cos(angle) * 65);
-                number.setTranslateY(Math.sin(angle) * 65 + 4);
-                
-                scale.getChildren().addAll(tick, number);
-            }
-        }
-        
-        // Zero line
-        Line zeroLine = new Line(-95, 0, -85, 0);
-        zeroLine.setStroke(COCKPIT_AMBER);
-        zeroLine.setStrokeWidth(3);
-        
-        // Needle
-        Polygon needle = new Polygon(0, -70, -4, 0, 0, 8, 4, 0);
-        needle.setFill(COCKPIT_GREEN);
-        
-        Rotate needleRotate = new Rotate(0, 0, 0);
-        needle.getTransforms().add(needleRotate);
-        
-        // Animate needle based on disk I/O
-        Timeline needleAnimation = new Timeline(
-            new KeyFrame(Duration.seconds(0.5), e -> {
-                double targetAngle = (value.get() - 50) * 1.8; // Map 0-100 to -90 to +90
-                needleRotate.setAngle(targetAngle);
-            })
-        );
-        needleAnimation.setCycleCount(Timeline.INDEFINITE);
-        needleAnimation.play();
-        
-        // Rate display
-        Label rateLabel = new Label();
-        rateLabel.setFont(Font.font("Monospaced", FontWeight.BOLD, 14));
-        rateLabel.setTextFill(COCKPIT_GREEN);
-        rateLabel.setTranslateY(50);
-        rateLabel.textProperty().bind(value.asString("%.0f MB/s"));
-        
-        gauge.getChildren().addAll(bg, scale, zeroLine, needle, rateLabel);
-        
-        container.getChildren().addAll(titleLabel, gauge);
-        return container;
+        return grid;
     }
     
-    private Node createEngineGauge(String title, DoubleProperty value, double maxValue) {
-        VBox container = new VBox(5);
-        container.setAlignment(Pos.CENTER);
-        
-        Label titleLabel = new Label(title);
-        titleLabel.setFont(Font.font("Arial", FontWeight.BOLD, 12));
-        titleLabel.setTextFill(COCKPIT_CYAN);
-        
-        StackPane gauge = new StackPane();
-        gauge.setPrefSize(200, 200);
-        
-        Circle bg = new Circle(100, COCKPIT_PANEL);
-        bg.setStroke(COCKPIT_GREEN);
-        bg.setStrokeWidth(2);
-        
-        // Temperature zones
-        Arc normalZone = new Arc(0, 0, 90, 90, 45, -180);
-        normalZone.setType(ArcType.OPEN);
-        normalZone.setStroke(COCKPIT_GREEN);
-        normalZone.setStrokeWidth(20);
-        normalZone.setFill(Color.TRANSPARENT);
-        
-        Arc cautionZone = new Arc(0, 0, 90, 90, -135, -45);
-        cautionZone.setType(ArcType.OPEN);
-        cautionZone.setStroke(COCKPIT_AMBER);
-        cautionZone.setStrokeWidth(20);
-        cautionZone.setFill(Color.TRANSPARENT);
-        
-        Arc dangerZone = new Arc(0, 0, 90, 90, -180, -45);
-        dangerZone.setType(ArcType.OPEN);
-        dangerZone.setStroke(COCKPIT_RED);
-        dangerZone.setStrokeWidth(20);
-        dangerZone.setFill(Color.TRANSPARENT);
-        
-        // Needle
-        Line needle = new Line(0, 0, 0, -75);
-        needle.setStroke(Color.WHITE);
-        needle.setStrokeWidth(3);
-        
-        Rotate needleRotate = new Rotate(-135, 0, 0);
-        needle.getTransforms().add(needleRotate);
-        
-        // Digital display
-        Label tempDisplay = new Label();
-        tempDisplay.setFont(Font.font("Monospaced", FontWeight.BOLD, 24));
-        tempDisplay.setTranslateY(40);
-        
-        // Update color based on temperature
-        value.addListener((obs, old, val) -> {
-            double angle = -135 + (val.doubleValue() / maxValue) * 270;
-            needleRotate.setAngle(angle);
-            
-            if (val.doubleValue() < 70) {
-                tempDisplay.setTextFill(COCKPIT_GREEN);
-            } else if (val.doubleValue() < 85) {
-                tempDisplay.setTextFill(COCKPIT_AMBER);
-            } else {
-                tempDisplay.setTextFill(COCKPIT_RED);
+    // Right-click RESPONSE MS to drive it from a latency series extracted from the logs
+    private void attachResponseSources(Node gauge) {
+        selectResponseSource(System.getProperty("skywatch.response"));
+        gauge.setOnContextMenuRequested(e -> {
+            ContextMenu menu = new ContextMenu();
+            ToggleGroup group = new ToggleGroup();
+            List<String> sources = new ArrayList<>();
+            sources.add(null);
+            if (logMetrics != null) {
+                sources.addAll(logMetrics.histogramSeries());
+            }
+            for (String source : sources) {
+                RadioMenuItem item = new RadioMenuItem(source == null ? "DEFAULT" : source.toUpperCase());
+                item.setToggleGroup(group);
+                item.setSelected(Objects.equals(source, responseSource));
+                item.setOnAction(a -> selectResponseSource(source));
+                menu.getItems().add(item);
             }
+            menu.show(gauge, e.getScreenX(), e.getScreenY());
         });
-        
-        tempDisplay.textProperty().bind(value.asString("%.0f°C"));
-        
-        gauge.getChildren().addAll(bg, normalZone, cautionZone, dangerZone, needle, tempDisplay);
-        
-        container.getChildren().addAll(titleLabel, gauge);
-        return container;
     }
     
-    private Node createHeadingIndicator(String title, DoubleProperty value) {
-        VBox container = new VBox(5);
-        container.setAlignment(Pos.CENTER);
-        
-        Label titleLabel = new Label(title);
-        titleLabel.setFont(Font.font("Arial", FontWeight.BOLD, 12));
-        titleLabel.setTextFill(COCKPIT_CYAN);
-        
-        StackPane gauge = new StackPane();
-        gauge.setPrefSize(200, 200);
-        
-        Circle bg = new Circle(100, COCKPIT_PANEL);
-        bg.setStroke(COCKPIT_GREEN);
-        bg.setStrokeWidth(2);
-        
-        // Compass rose
-        Group compassRose = new Group();
-        String[] directions = {"N", "030", "060", "E", "120", "150", 
-                              "S", "210", "240", "W", "300", "330"};
-        
-        for (int i = 0; i < 12; i++) {
-            Text dir = new Text(directions[i]);
-            dir.setFill(COCKPIT_GREEN);
-            dir.setFont(Font.font("Monospaced", FontWeight.BOLD, 14));
-            double angle = Math.toRadians(i * 30 - 90);
-            dir.setTranslateX(Math.cos(angle) * 75);
-            dir.setTranslateY(Math.sin(angle) * 75 + 5);
-            
-            Line tick = new Line(0, -95, 0, -85);
-            tick.setStroke(COCKPIT_GREEN);
-            tick.setStrokeWidth(2);
-            tick.getTransforms().add(new Rotate(i * 30, 0, 0));
-            
-            compassRose.getChildren().addAll(dir, tick);
+    private void selectResponseSource(String metric) {
+        metricBoard.unbind(responseTime);
+        responseSource = metric;
+        if (metric != null) {
+            metricBoard.bind(metric, responseTime);
+            metricBoard.reapplyAll();
+            frames.requestFrame();
         }
-        
-        // Rotating compass
-        Rotate compassRotate = new Rotate(0, 0, 0);
-        compassRose.getTransforms().add(compassRotate);
-        
-        // Fixed aircraft symbol
-        Polygon aircraft = new Polygon(0, -20, -10, 10, 0, 5, 10, 10);
-        aircraft.setFill(COCKPIT_AMBER);
-        
-        // Response time display
-        Label responseDisplay = new Label();
-        responseDisplay.setFont(Font.font("Monospaced", FontWeight.BOLD, 20));
-        responseDisplay.setTextFill(COCKPIT_GREEN);
-        responseDisplay.setTranslateY(50);
-        responseDisplay.textProperty().bind(value.asString("%.0f ms"));
-        
-        // Animate compass rotation
-        Timeline compassAnimation = new Timeline(
-            new KeyFrame(Duration.seconds(0.1), e -> {
-                compassRotate.setAngle(compassRotate.getAngle() + 1);
-            })
-        );
-        compassAnimation.setCycleCount(Timeline.INDEFINITE);
-        compassAnimation.play();
-        
-        gauge.getChildren().addAll(bg, compassRose, aircraft, responseDisplay);
-        
-        container.getChildren().addAll(titleLabel, gauge);
-        return container;
     }
     
     private VBox createLeftPanel() {
@@ -587,9 +448,10 @@ public class ModernDashboard extends Application {
         VBox processGauges = new VBox(10);
         processGauges.getChildren().addAll(
             createLinearGauge("PROCESSES", new SimpleDoubleProperty(activeConnections.get() / 2000.0), COCKPIT_GREEN),
-            createLinearGauge("THREADS", new SimpleDoubleProperty(0.75), COCKPIT_GREEN),
-            createLinearGauge("QUEUE DEPTH", new SimpleDoubleProperty(0.3), COCKPIT_AMBER),
-            createLinearGauge("CACHE HIT", new SimpleDoubleProperty(0.92), COCKPIT_GREEN)
+            createLinearGauge("THREADS", metricBoard.property(jvmPrimary != null
+                ? MetricNames.jvm(jvmPrimary, MetricNames.JVM_THREADS_RATIO) : MetricNames.THREADS, 0.75), COCKPIT_GREEN),
+            createLinearGauge("QUEUE DEPTH", metricBoard.property(MetricNames.QUEUE_DEPTH, 0.3), COCKPIT_AMBER),
+            createLinearGauge("CACHE HIT", metricBoard.property(MetricNames.CACHE_HIT, 0.92), COCKPIT_GREEN)
         );
         
         Separator sep = new Separator();
@@ -602,12 +464,32 @@ public class ModernDashboard extends Application {
         
         VBox resourceGauges = new VBox(10);
         resourceGauges.getChildren().addAll(
-            createLinearGauge("SWAP", new SimpleDoubleProperty(0.15), COCKPIT_GREEN),
-            createLinearGauge("INODE", new SimpleDoubleProperty(0.42), COCKPIT_GREEN),
-            createLinearGauge("FD USAGE", new SimpleDoubleProperty(0.28), COCKPIT_GREEN)
+            createLinearGauge("SWAP", metricBoard.property(MetricNames.SWAP, 0.15), COCKPIT_GREEN),
+            createLinearGauge("INODE", metricBoard.property(MetricNames.INODE, 0.42), COCKPIT_GREEN),
+            createLinearGauge("FD USAGE", metricBoard.property(MetricNames.FD_USAGE, 0.28), COCKPIT_GREEN)
         );
         
         panel.getChildren().addAll(engineTitle, processGauges, sep, resourceTitle, resourceGauges);
+        
+        // JVM flight data, streamed from JFR
+        if (jfrTarget != null) {
+            Separator jfrSep = new Separator();
+            jfrSep.setStyle("-fx-background-color: #00ff00;");
+            
+            Label jfrTitle = new Label("JVM FLIGHT DATA");
+            jfrTitle.setFont(Font.font("Arial", FontWeight.BOLD, 14));
+            jfrTitle.setTextFill(COCKPIT_CYAN);
+            
+            VBox readouts = new VBox(5);
+            readouts.getChildren().addAll(
+                createReadout("ALLOC", metricBoard.property(MetricNames.jfr(jfrTarget, MetricNames.JFR_ALLOC_RATE), 0), "%.0f MB/s"),
+                createReadout("GC PAUSE", metricBoard.property(MetricNames.jfr(jfrTarget, MetricNames.JFR_GC_PAUSE), 0), "%.1f ms/s"),
+                createReadout("SAFEPOINT", metricBoard.property(MetricNames.jfr(jfrTarget, MetricNames.JFR_SAFEPOINT_TIME), 0), "%.1f ms/s"),
+                createReadout("PARKS", metricBoard.property(MetricNames.jfr(jfrTarget, MetricNames.JFR_PARK_RATE), 0), "%.0f /s")
+            );
+            
+            panel.getChildren().addAll(jfrSep, jfrTitle, readouts);
+        }
         return panel;
     }
     
@@ -623,40 +505,18 @@ public class ModernDashboard extends Application {
         ecamTitle.setFont(Font.font("Arial", FontWeight.BOLD, 14));
         ecamTitle.setTextFill(COCKPIT_CYAN);
         
-        ScrollPane alertScroll = new ScrollPane();
+        alertScroll = new ScrollPane();
         alertScroll.setPrefHeight(200);
         alertScroll.setStyle("-fx-background: #1a1a1f; -fx-background-color: #1a1a1f;");
         
-        VBox alerts = new VBox(5);
-        alerts.setStyle("-fx-background-color: #1a1a1f;");
-        
-        // Simulated alerts
-        Timeline alertTimeline = new Timeline(
-            new KeyFrame(Duration.seconds(3), e -> {
-                alerts.getChildren().clear();
-                
-                if (cpuLoad.get() > 80) {
-                    alerts.getChildren().add(createAlert("CPU OVERLOAD", COCKPIT_RED));
-                }
-                if (memoryUsage.get() > 85) {
-                    alerts.getChildren().add(createAlert("MEMORY CRITICAL", COCKPIT_AMBER));
-                }
-                if (serverTemp.get() > 75) {
-                    alerts.getChildren().add(createAlert("TEMP WARNING", COCKPIT_AMBER));
-                }
-                if (diskIO.get() > 90) {
-                    alerts.getChildren().add(createAlert("DISK SATURATED", COCKPIT_AMBER));
-                }
-                
-                if (alerts.getChildren().isEmpty()) {
-                    alerts.getChildren().add(createAlert("ALL SYSTEMS NOMINAL", COCKPIT_GREEN));
-                }
-            })
-        );
-        alertTimeline.setCycleCount(Timeline.INDEFINITE);
-        alertTimeline.play();
+        alertList = new AlertList(frames, Font.font("Monospaced", FontWeight.BOLD, 12), COCKPIT_RED, COCKPIT_AMBER, COCKPIT_GREEN,
+            this::alertNodeName);
+        alertList.setStyle("-fx-background-color: #1a1a1f;");
+        replayAlertList = new AlertList(frames, Font.font("Monospaced", FontWeight.BOLD, 12), COCKPIT_RED, COCKPIT_AMBER, COCKPIT_GREEN,
+            this::alertNodeName);
+        replayAlertList.setStyle("-fx-background-color: #1a1a1f;");
         
-        alertScroll.setContent(alerts);
+        alertScroll.setContent(alertList);
         
         Separator sep = new Separator();
         sep.setStyle("-fx-background-color: #00ff00;");
@@ -666,38 +526,83 @@ public class ModernDashboard extends Application {
         logTitle.setFont(Font.font("Arial", FontWeight.BOLD, 14));
         logTitle.setTextFill(COCKPIT_CYAN);
         
-        TextArea logArea = new TextArea();
-        logArea.setPrefHeight(250);
-        logArea.setEditable(false);
-        logArea.setStyle("-fx-control-inner-background: #1a1a1f; " +
-                        "-fx-text-fill: #00ff00; " +
-                        "-fx-font-family: 'Monospaced'; " +
-                        "-fx-font-size: 10;");
-        
-        // Simulate log entries
-        Timeline logTimeline = new Timeline(
-            new KeyFrame(Duration.seconds(2), e -> {
-                String timestamp = LocalTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss"));
-                String[] messages = {
-                    "Connection established from 192.168.1." + random.nextInt(255),
-                    "Database query executed: " + random.nextInt(100) + "ms",
-                    "Cache invalidated for key: user_" + random.nextInt(10000),
-                    "Background job completed: cleanup_task",
-                    "Health check passed: all services operational",
-                    "Load balancer: routing to server_" + (random.nextInt(4) + 1)
-                };
-                String log = "[" + timestamp + "] " + messages[random.nextInt(messages.length)] + "\n";
-                logArea.appendText(log);
-                logArea.setScrollTop(Double.MAX_VALUE);
-            })
-        );
-        logTimeline.setCycleCount(Timeline.INDEFINITE);
-        logTimeline.play();
+        logView = new LogView(logRing, Font.font("Monospaced", 10), COCKPIT_GREEN, Color.web("#1a1a1f"));
+        logView.setPrefHeight(250);
+        logView.setStyle("-fx-border-color: #333333; -fx-border-width: 1;");
+        
+        // Filters the log as you type; matching runs on the search thread and streams in
+        logFilter = new TextField();
+        logFilter.setPromptText("filter: text  level:warn  host:service-2");
+        logFilter.setStyle("-fx-control-inner-background: #1a1a1f; " +
+                          "-fx-text-fill: #00ff00; " +
+                          "-fx-prompt-text-fill: #336633; " +
+                          "-fx-font-family: 'Monospaced'; " +
+                          "-fx-font-size: 10;");
+        logFilter.textProperty().addListener((obs, old, text) -> filterLog(text));
+        logFilter.setOnKeyPressed(e -> {
+            if (e.getCode() == javafx.scene.input.KeyCode.ESCAPE) {
+                logFilter.clear();
+            }
+            // Keep typing away from the playback keys
+            e.consume();
+        });
+        
+        Label patternTitle = new Label("TOP PATTERNS");
+        patternTitle.setFont(Font.font("Arial", FontWeight.BOLD, 14));
+        patternTitle.setTextFill(COCKPIT_CYAN);
+        
+        // Clicking a pattern filters the log down to it
+        VBox patternList = new VBox(2);
+        for (int i = 0; i < TOP_PATTERNS; i++) {
+            Label pattern = new Label();
+            pattern.setFont(Font.font("Monospaced", 10));
+            pattern.setTextFill(COCKPIT_AMBER);
+            pattern.setOnMouseClicked(e -> {
+                if (pattern.getUserData() instanceof String template) {
+                    logFilter.setText(template.replace("<*>", " ").trim().replaceAll("\\s+", " "));
+                }
+            });
+            patternLabels[i] = pattern;
+            patternList.getChildren().add(pattern);
+        }
+        frames.every(Duration.seconds(1), () -> {
+            updatePatterns();
+            if (logMetrics != null) {
+                logMetrics.publish(metricBoard, System.currentTimeMillis());
+            }
+        });
         
-        panel.getChildren().addAll(ecamTitle, alertScroll, sep, logTitle, logArea);
+        panel.getChildren().addAll(ecamTitle, alertScroll, sep, logTitle, logFilter, logView, patternTitle, patternList);
         return panel;
     }
     
+    private void updatePatterns() {
+        List<TemplateMiner.TemplateRate> top = templateMiner.top(TOP_PATTERNS, System.currentTimeMillis());
+        for (int i = 0; i < TOP_PATTERNS; i++) {
+            Label label = patternLabels[i];
+            if (i < top.size()) {
+                TemplateMiner.TemplateRate rate = top.get(i);
+                label.setText(String.format("%7.1f/s  %s", rate.perSecond(), rate.pattern()));
+                label.setUserData(rate.pattern());
+            } else {
+                label.setText("");
+                label.setUserData(null);
+            }
+        }
+    }
+    
+    private void filterLog(String text) {
+        LogQuery query = LogQuery.parse(text);
+        if (query.isEmpty()) {
+            logSearch.cancel();
+            logView.setLines(logRing);
+            return;
+        }
+        LogMatches matches = new LogMatches(logRing);
+        logView.setLines(matches);
+        logSearch.start(query, matches);
+    }
+    
     private HBox createBottomPanel() {
         HBox panel = new HBox(30);
         panel.setPadding(new Insets(15));
@@ -755,15 +660,49 @@ public class ModernDashboard extends Application {
         
         HBox frequencies = new HBox(10);
         frequencies.getChildren().addAll(
-            createFrequencyDisplay("NODE1", "127.001"),
-            createFrequencyDisplay("NODE2", "127.002"),
-            createFrequencyDisplay("NODE3", "127.003"),
-            createFrequencyDisplay("MSTR", "127.000")
+            createFrequencyDisplay(nodeNames[0], nodeReadouts[0]),
+            createFrequencyDisplay(nodeNames[1], nodeReadouts[1]),
+            createFrequencyDisplay(nodeNames[2], nodeReadouts[2]),
+            createFrequencyDisplay(new SimpleStringProperty("MSTR"), masterReadout)
         );
         
+        // Click a node to fly the main instruments on its metrics, MSTR to return to this host
+        for (int i = 0; i < frequencies.getChildren().size(); i++) {
+            int lead = i < nodeNames.length ? i : -1;
+            frequencies.getChildren().get(i).setOnMouseClicked(e -> focusNode(lead));
+        }
+        
         radioStack.getChildren().addAll(radioLabel, frequencies);
         
-        panel.getChildren().addAll(throttles, autopilot, radioStack);
+        // Time travel: drag back through the recording, right edge or LIVE to return
+        VBox timeTravelStack = new VBox(5);
+        timeTravelStack.setAlignment(Pos.CENTER);
+        Label timeTravelLabel = new Label("TIME TRAVEL");
+        timeTravelLabel.setFont(Font.font("Arial", FontWeight.BOLD, 12));
+        timeTravelLabel.setTextFill(COCKPIT_CYAN);
+        
+        timeSlider = new Slider(0, 1, 1);
+        timeSlider.setPrefWidth(260);
+        timeSlider.setStyle("-fx-base: #1a1a1f;");
+        timeSlider.valueProperty().addListener((obs, old, value) -> {
+            if (!updatingTimeSlider) {
+                scrubTo(value.longValue());
+            }
+        });
+        
+        Label timeReadout = new Label();
+        timeReadout.textProperty().bind(timeTravelReadout);
+        timeReadout.setFont(Font.font("Monospaced", FontWeight.BOLD, 12));
+        timeReadout.setTextFill(COCKPIT_GREEN);
+        timeReadout.setPrefWidth(110);
+        Button liveButton = createCockpitButton("LIVE", true);
+        liveButton.setOnAction(e -> returnToLive());
+        HBox timeControls = new HBox(10, timeReadout, liveButton);
+        timeControls.setAlignment(Pos.CENTER);
+        
+        timeTravelStack.getChildren().addAll(timeTravelLabel, timeSlider, timeControls);
+        
+        panel.getChildren().addAll(throttles, autopilot, radioStack, timeTravelStack);
         return panel;
     }
     
@@ -788,6 +727,23 @@ public class ModernDashboard extends Application {
         return container;
     }
     
+    private Node createReadout(String label, DoubleProperty value, String format) {
+        HBox container = new HBox(10);
+        
+        Label nameLabel = new Label(label);
+        nameLabel.setFont(Font.font("Monospaced", 10));
+        nameLabel.setTextFill(COCKPIT_CYAN);
+        nameLabel.setPrefWidth(80);
+        
+        Label valueLabel = new Label();
+        valueLabel.setFont(Font.font("Monospaced", FontWeight.BOLD, 12));
+        valueLabel.setTextFill(COCKPIT_GREEN);
+        valueLabel.textProperty().bind(value.asString(format));
+        
+        container.getChildren().addAll(nameLabel, valueLabel);
+        return container;
+    }
+    
     private Node createThrottle(String label, DoubleProperty value) {
         VBox container = new VBox(5);
         container.setAlignment(Pos.CENTER);
@@ -841,15 +797,17 @@ public class ModernDashboard extends Application {
         return button;
     }
     
-    private Node createFrequencyDisplay(String label, String freq) {
+    private Node createFrequencyDisplay(StringProperty label, StringProperty freq) {
         VBox container = new VBox(2);
         container.setAlignment(Pos.CENTER);
         
-        Label nameLabel = new Label(label);
+        Label nameLabel = new Label();
+        nameLabel.textProperty().bind(label);
         nameLabel.setFont(Font.font("Monospaced", 9));
         nameLabel.setTextFill(COCKPIT_CYAN);
         
-        Label freqLabel = new Label(freq);
+        Label freqLabel = new Label();
+        freqLabel.textProperty().bind(freq);
         freqLabel.setFont(Font.font("Monospaced", FontWeight.BOLD, 12));
         freqLabel.setTextFill(COCKPIT_GREEN);
         freqLabel.setStyle("-fx-background-color: #0a0a0f; " +
@@ -861,90 +819,804 @@ public class ModernDashboard extends Application {
         return container;
     }
     
-    private Label createAlert(String message, Color color) {
-        Label alert = new Label("• " + message);
-        alert.setFont(Font.font("Monospaced", FontWeight.BOLD, 12));
-        alert.setTextFill(color);
-        
-        if (color == COCKPIT_RED) {
-            FadeTransition blink = new FadeTransition(Duration.seconds(0.5), alert);
-            blink.setFromValue(1.0);
-            blink.setToValue(0.3);
-            blink.setCycleCount(Timeline.INDEFINITE);
-            blink.setAutoReverse(true);
-            blink.play();
-        }
-        
-        return alert;
-    }
-    
-    private VBox createWarningLight(String text, Color color, boolean active) {
+    private VBox createWarningLight(String text, Color color, BooleanProperty active) {
         VBox container = new VBox(2);
         container.setAlignment(Pos.CENTER);
         
         Rectangle light = new Rectangle(80, 40);
-        light.setFill(active ? color : Color.rgb(40, 40, 40));
         light.setStroke(color);
         light.setStrokeWidth(2);
         
         Label label = new Label(text);
         label.setFont(Font.font("Arial", FontWeight.BOLD, 10));
-        label.setTextFill(active ? Color.BLACK : color);
         label.setTranslateY(-30);
         
         StackPane stack = new StackPane(light, label);
         container.getChildren().add(stack);
         
-        if (active) {
-            FadeTransition flash = new FadeTransition(Duration.seconds(1), light);
-            flash.setFromValue(1.0);
-            flash.setToValue(0.5);
-            flash.setCycleCount(Timeline.INDEFINITE);
-            flash.setAutoReverse(true);
-            flash.play();
-        }
+        Blink flash = new Blink(frames, light.opacityProperty(), 0.5, Duration.seconds(1));
+        
+        // One flash, started and stopped with the light
+        javafx.beans.value.ChangeListener<Boolean> update = (obs, was, on) -> {
+            light.setFill(on ? color : Color.rgb(40, 40, 40));
+            label.setTextFill(on ? Color.BLACK : color);
+            if (on) {
+                flash.start();
+            } else {
+                flash.stop();
+            }
+        };
+        active.addListener(update);
+        update.changed(active, null, active.get());
         
         return container;
     }
     
-    private VBox createStatusLight(String label, boolean on) {
+    // Shows the worst state of the light's health checks; hover for the check that decided it
+    private VBox createStatusLight(String label) {
         VBox container = new VBox(2);
         container.setAlignment(Pos.CENTER);
         
+        ObjectProperty<HealthState> state = new SimpleObjectProperty<>(HealthState.UNKNOWN);
+        StringProperty detail = new SimpleStringProperty(HealthProber.NO_CHECKS);
+        statusLights.put(label, state);
+        statusDetails.put(label, detail);
+        
         Circle light = new Circle(8);
-        light.setFill(on ? COCKPIT_GREEN : Color.rgb(40, 40, 40));
-        light.setStroke(COCKPIT_GREEN);
         light.setStrokeWidth(1);
-        
-        if (on) {
-            light.setEffect(new Glow(0.8));
-        }
+        Glow glow = new Glow(0.8);
         
         Label text = new Label(label);
         text.setFont(Font.font("Monospaced", 9));
         text.setTextFill(COCKPIT_GREEN);
         
+        javafx.beans.value.ChangeListener<HealthState> update = (obs, was, now) -> {
+            Color color = switch (now) {
+                case OK, UNKNOWN -> COCKPIT_GREEN;
+                case SLOW -> COCKPIT_AMBER;
+                case FAILED -> COCKPIT_RED;
+            };
+            light.setFill(now == HealthState.UNKNOWN ? Color.rgb(40, 40, 40) : color);
+            light.setStroke(color);
+            light.setEffect(now == HealthState.UNKNOWN ? null : glow);
+            // A light with nothing behind it must not read as a healthy one
+            text.setTextFill(now == HealthState.UNKNOWN ? Color.rgb(90, 90, 90) : color);
+        };
+        state.addListener(update);
+        update.changed(state, null, state.get());
+        
+        Tooltip tooltip = new Tooltip();
+        tooltip.textProperty().bind(detail);
+        Tooltip.install(container, tooltip);
+        
         container.getChildren().addAll(light, text);
         return container;
     }
     
+    private void startHealthChecks(List<ClusterNode> nodes) {
+        List<HealthCheck> checks;
+        String file = System.getProperty("skywatch.health");
+        try {
+            checks = file != null ? HealthCheck.load(Path.of(file)) : defaultHealthChecks(nodes);
+        } catch (IOException e) {
+            System.err.println("Health checks disabled: " + e.getMessage());
+            return;
+        }
+        healthPulse = new SnapshotPulse<>(frames, healthSlot, this::applyHealth);
+        healthPulse.start();
+        healthProber = new HealthProber(STATUS_LIGHTS, checks,
+            java.time.Duration.ofMillis(Integer.getInteger("skywatch.health.intervalMs", 5000)), metricBoard,
+            healthSlot::publish);
+        healthProber.start();
+    }
+    
+    private List<HealthCheck> defaultHealthChecks(List<ClusterNode> nodes) {
+        List<HealthCheck> checks = new ArrayList<>();
+        Set<String> endpoints = new LinkedHashSet<>();
+        for (ClusterNode node : nodes) {
+            URI uri = node.endpoint();
+            endpoints.add(uri.getHost() + ":" + (uri.getPort() >= 0 ? uri.getPort() : "https".equals(uri.getScheme()) ? 443 : 80));
+        }
+        for (String endpoint : endpoints) {
+            checks.add(new HealthCheck("ELEC", HealthCheck.Kind.TCP, endpoint, HealthCheck.DEFAULT_DEADLINE));
+        }
+        for (Path log : tailedFiles) {
+            checks.add(new HealthCheck("FUEL", HealthCheck.Kind.FILE, log.toString(), java.time.Duration.ofMinutes(5)));
+        }
+        if (recorder != null) {
+            checks.add(new HealthCheck("FMC", HealthCheck.Kind.FILE, recorder.path().toString(), HealthCheck.DEFAULT_MAX_AGE));
+        }
+        return checks;
+    }
+    
+    private void applyHealth(HealthSummary summary) {
+        for (int i = 0; i < summary.groups().length; i++) {
+            statusLights.get(summary.groups()[i]).set(summary.states()[i]);
+            statusDetails.get(summary.groups()[i]).set(summary.details()[i]);
+        }
+    }
+    
+    private void startCollection() {
+        openRecorder();
+        openPlayback();
+        startLogTail();
+        
+        // Slower pluggable sources run on their own schedule, off the host sampling thread
+        metricScheduler = new MetricScheduler(metricBoard);
+        metricScheduler.loadInstalledSources();
+        jvmSources.forEach(metricScheduler::add);
+        if (jfrTarget != null) {
+            metricScheduler.add(new JfrMetricSource(jfrTarget));
+        }
+        if (jvmPrimary != null) {
+            metricBoard.bind(MetricNames.jvm(jvmPrimary, MetricNames.JVM_HEAP_USAGE), memoryUsage);
+        }
+        // Runs on every wake: a board value, a log line, an alert, a scrub. Only while a recording
+        // plays does the slider need a tick of its own; live, the next wake catches it up.
+        metricBoard.setWake(frames::requestFrame);
+        frames.add(now -> {
+            if (scrubTarget >= 0) {
+                applyScrub();
+            }
+            refreshTimeSlider();
+            logView.render();
+            for (AlertEvent event; (event = alertEvents.poll()) != null; ) {
+                alertList.apply(event);
+                if (anomalyDetector != null && anomalyDetector.owns(event)) {
+                    activeAnomalies += event.active() ? 1 : -1;
+                    if (event.active() || activeAnomalies == 0) {
+                        masterCaution.set(event.active());
+                    }
+                }
+            }
+            if (player != null) {
+                if (playedHostChanged && alertEngine != null) {
+                    playedHostChanged = false;
+                    replayAlerts().evaluate(HOST_NODE, playedHost, player.positionProperty().get());
+                }
+                return nextSecond(now);
+            }
+            metricBoard.applyChanges();
+            if (nodeFocus != null) {
+                nodeFocus.refresh();
+            }
+            return FrameTask.IDLE;
+        });
+        
+        List<ClusterNode> nodes = loadClusterNodes();
+        openHistory(1 + nodes.size());
+        openNotifications();
+        alertEngine = createAlertEngine(1 + nodes.size());
+        anomalyDetector = new AnomalyDetector(MetricNames.NODE_METRICS, 1 + nodes.size(), alertEngine.ruleCount(),
+            this::onAlert);
+        if (!nodes.isEmpty()) {
+            startClusterPolling(nodes);
+        }
+        startHealthChecks(nodes);
+        
+        if (ProcHostCollector.isSupported()) {
+            try {
+                hostCollector = new ProcHostCollector();
+                // Sampling and parsing stay on the collector thread; FX takes the
+                // newest snapshot once per frame and skips any it missed
+                hostPulse = new SnapshotPulse<>(frames, hostSlot, this::applySnapshot);
+                hostPulse.start();
+                hostCollector.start(SAMPLE_PERIOD_MS, snapshot -> {
+                    hostSlot.publish(snapshot);
+                    recordHost(snapshot);
+                    evaluateHost(snapshot);
+                });
+                return;
+            } catch (IOException e) {
+                System.err.println("Host metrics unavailable, falling back to simulation: " + e.getMessage());
+            }
+        }
+        startSimulation();
+    }
+    
+    private List<ClusterNode> loadClusterNodes() {
+        try {
+            String nodesFile = System.getProperty("skywatch.cluster");
+            Integer stubNodes = Integer.getInteger("skywatch.cluster.stub");
+            if (nodesFile != null) {
+                return ClusterNode.load(Path.of(nodesFile));
+            } else if (stubNodes != null) {
+                clusterStub = new ClusterStub(stubNodes);
+                return clusterStub.nodes();
+            }
+        } catch (IOException e) {
+            System.err.println("Cluster polling disabled: " + e.getMessage());
+        }
+        return List.of();
+    }
+    
+    private void openHistory(int nodes) {
+        String dir = System.getProperty("skywatch.history");
+        if (dir == null || "off".equals(dir)) {
+            return;
+        }
+        if ("on".equals(dir)) {
+            dir = Path.of(System.getProperty("user.home"), ".skywatch", "history").toString();
+        }
+        try {
+            List<TierSpec> tiers = TierSpec.parse(System.getProperty("skywatch.history.tiers", TierSpec.DEFAULT));
+            history = new HistoryStore(Path.of(dir), tiers, nodes, MetricNames.NODE_METRICS.length);
+            long cacheBytes = Long.getLong("skywatch.history.cacheMb", 64) << 20;
+            queryCache = new QueryCache(new QueryEngine(history), cacheBytes);
+            metricBoard.put(MetricNames.CACHE_HIT, queryCache.hitRatio());
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("History disabled: " + e.getMessage());
+        }
+    }
+    
+    private void attachHistoryChart(Node gauge, String title, String metric) {
+        int index = Arrays.asList(MetricNames.NODE_METRICS).indexOf(metric);
+        gauge.setOnMouseClicked(e -> {
+            if (e.getClickCount() == 2) {
+                showHistoryChart(title, index);
+            }
+        });
+    }
+    
+    // Average and max over every node; the query runs on the engine's pool and
+    // only the finished series is handed back to the FX thread
+    private void showHistoryChart(String title, int metric) {
+        if (queryCache == null) {
+            return;
+        }
+        long to = System.currentTimeMillis();
+        long from = to - CHART_RANGE.toMillis();
+        int[] nodes = new int[history.seriesCount() / history.metricsPerNode()];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = i;
+        }
+        
+        NumberAxis xAxis = new NumberAxis();
+        xAxis.setLabel("HOURS AGO");
+        NumberAxis yAxis = new NumberAxis();
+        LineChart<Number, Number> chart = new LineChart<>(xAxis, yAxis);
+        chart.setTitle(title + " - " + CHART_RANGE.toDays() + " DAYS, " + nodes.length + " NODES");
+        chart.setCreateSymbols(false);
+        chart.setAnimated(false);
+        chart.setStyle("-fx-background-color: #0a0e1a;");
+        
+        Stage stage = new Stage();
+        stage.setTitle("SKYWATCH HISTORY - " + title);
+        stage.setScene(new Scene(chart, 900, 500));
+        stage.show();
+        
+        for (Aggregation aggregation : new Aggregation[] {Aggregation.AVG, Aggregation.MAX}) {
+            HistoryQuery query = HistoryQuery.chart(metric, nodes, from, to, CHART_BUCKETS, aggregation, GroupBy.TIME);
+            queryCache.submit(query).whenComplete((result, error) -> {
+                if (error != null) {
+                    System.err.println("History query failed: " + error.getMessage());
+                    return;
+                }
+                metricBoard.put(MetricNames.CACHE_HIT, queryCache.hitRatio());
+                XYChart.Series<Number, Number> series = new XYChart.Series<>();
+                series.setName(aggregation.name());
+                for (int bucket = 0; bucket < result.query().buckets(); bucket++) {
+                    double value = result.value(bucket);
+                    if (!Double.isNaN(value)) {
+                        double hoursAgo = (result.bucketStart(bucket) - to) / 3_600_000.0;
+                        series.getData().add(new XYChart.Data<>(hoursAgo, value));
+                    }
+                }
+                Platform.runLater(() -> chart.getData().add(series));
+            });
+        }
+    }
+    
+    // Collector thread. Simulated samples never come here: they would pass for real ones in
+    // history charts and playback long after the run that made them up.
+    private void recordHost(HostSnapshot snapshot) {
+        long now = System.currentTimeMillis();
+        for (int metric = 0; metric < MetricNames.NODE_METRICS.length; metric++) {
+            if (history != null) {
+                history.append(history.series(HOST_NODE, metric), now, snapshot.metric(metric));
+            }
+            if (recorder != null) {
+                recorder.record(now, MetricNames.NODE_METRICS[metric], snapshot.metric(metric));
+            }
+        }
+    }
+    
+    private String alertNodeName(int node) {
+        return node == HOST_NODE || clusterPoller == null ? null : clusterPoller.node(node - 1).name();
+    }
+    
+    // Evaluating thread
+    private void onAlert(AlertEvent event) {
+        alertEvents.add(event);
+        frames.requestFrame();
+        if (alertDispatcher != null) {
+            alertDispatcher.offer(event);
+        }
+    }
+    
+    private void openNotifications() {
+        String spec = System.getProperty("skywatch.notify");
+        if (spec == null || spec.isBlank()) {
+            return;
+        }
+        List<AlertChannel> channels = new ArrayList<>();
+        for (String target : spec.split(",")) {
+            target = target.trim();
+            try {
+                if (target.equals("stub")) {
+                    if (webhookStub == null) {
+                        webhookStub = new WebhookStub();
+                    }
+                    channels.add(new WebhookChannel(webhookStub.uri()));
+                } else if (target.startsWith("http://") || target.startsWith("https://")) {
+                    channels.add(new WebhookChannel(URI.create(target)));
+                } else if (target.startsWith("file:")) {
+                    channels.add(new FileAlertChannel(Path.of(target.substring("file:".length()))));
+                } else if (target.startsWith("smtp://")) {
+                    URI uri = URI.create(target);
+                    channels.add(new SmtpChannel(uri.getHost(), uri.getPort() < 0 ? 25 : uri.getPort(),
+                        uri.getPath().substring(1)));
+                } else {
+                    System.err.println("Unknown notification target: " + target);
+                }
+            } catch (IOException | IllegalArgumentException | IndexOutOfBoundsException e) {
+                System.err.println("Notification target " + target + " skipped: " + e.getMessage());
+            }
+        }
+        if (!channels.isEmpty()) {
+            alertDispatcher = new AlertDispatcher(channels, this::alertNodeName, 4096,
+                Integer.getInteger("skywatch.notify.batchMs", 2000), Integer.getInteger("skywatch.notify.perMinute", 6), 3);
+        }
+    }
+    
+    // -Dskywatch.alerts=<file of alert rules>; a file that does not load or compile falls back to the built-in rules
+    private AlertEngine createAlertEngine(int nodes) {
+        String file = System.getProperty("skywatch.alerts");
+        if (file != null) {
+            try {
+                List<AlertRule> rules = AlertRule.load(Path.of(file));
+                AlertEngine engine = new AlertEngine(rules, MetricNames.NODE_METRICS, nodes, this::onAlert);
+                alertRules = rules;
+                return engine;
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Using default alert rules: " + e.getMessage());
+            }
+        }
+        return new AlertEngine(AlertRule.DEFAULTS, MetricNames.NODE_METRICS, nodes, this::onAlert);
+    }
+    
+    // Evaluated on the FX thread only, so its transitions go straight to the replay list.
+    // Replayed alerts are history, not news: nothing here reaches the dispatcher.
+    private AlertEngine replayAlerts() {
+        if (replayAlertEngine == null) {
+            replayAlertEngine = new AlertEngine(alertRules, MetricNames.NODE_METRICS, 1, replayAlertList::apply);
+        }
+        return replayAlertEngine;
+    }
+    
+    // Collector thread, or the FX thread when simulating
+    private void evaluateHost(HostSnapshot snapshot) {
+        for (int metric = 0; metric < hostSample.length; metric++) {
+            hostSample[metric] = snapshot.metric(metric);
+        }
+        long now = System.currentTimeMillis();
+        alertEngine.evaluate(HOST_NODE, hostSample, now);
+        anomalyDetector.observe(HOST_NODE, hostSample, now);
+    }
+    
+    private void openRecorder() {
+        String dir = System.getProperty("skywatch.record");
+        if (dir == null || "off".equals(dir)) {
+            return;
+        }
+        if ("on".equals(dir)) {
+            dir = Path.of(System.getProperty("user.home"), ".skywatch", "recordings").toString();
+        }
+        try {
+            Path path = Path.of(dir).resolve("skywatch-" + RECORDING_NAME.format(LocalDateTime.now()) + ".rec");
+            Files.createDirectories(path.getParent());
+            pruneRecordings(path.getParent(), Integer.getInteger("skywatch.record.days", 7));
+            recorder = new FlightRecorder(path);
+            recordingStart = System.currentTimeMillis();
+            // Host metrics are recorded in recordHost(); everything else arrives through the board
+            metricBoard.setTap(recorder);
+        } catch (IOException e) {
+            System.err.println("Recording disabled: " + e.getMessage());
+        }
+    }
+    
+    private static void pruneRecordings(Path dir, int days) {
+        long cutoff = System.currentTimeMillis() - days * 86_400_000L;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "skywatch-*.rec")) {
+            for (Path file : files) {
+                if (Files.getLastModifiedTime(file).toMillis() < cutoff) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Old recordings not pruned: " + e.getMessage());
+        }
+    }
+    
+    private void startLogTail() {
+        try {
+            String spec = System.getProperty("skywatch.logs");
+            if (spec == null) {
+                return;
+            }
+            List<Path> files;
+            if ("stub".equals(spec)) {
+                logStub = new LogStub(Integer.getInteger("skywatch.logs.stub", 6),
+                    Integer.getInteger("skywatch.logs.stub.rate", 3));
+                files = logStub.files();
+            } else {
+                files = LogTailer.expand(spec);
+            }
+            logMetrics = new LogMetrics(loadLogRules());
+            java.time.Duration window = java.time.Duration.ofMillis(Integer.getInteger("skywatch.logs.reorderMs", 250));
+            tailedFiles = files;
+            logTailer = new LogTailer(files, window, (timestamps, lines, count) -> {
+                if (recorder != null) {
+                    recorder.recordText(timestamps, LOG_CHANNEL, lines, count);
+                }
+                templateMiner.add(lines, count);
+                logMetrics.add(lines, count, System.currentTimeMillis());
+                if (!replaying) {
+                    logRing.append(timestamps, lines, count);
+                    frames.requestFrame();
+                }
+            });
+            logTailer.start();
+        } catch (IOException e) {
+            System.err.println("Log tailing disabled: " + e.getMessage());
+        }
+    }
+    
+    private static List<LogRule> loadLogRules() {
+        String file = System.getProperty("skywatch.logs.rules");
+        if (file == null) {
+            return LogRule.DEFAULTS;
+        }
+        try {
+            return LogRule.load(Path.of(file));
+        } catch (IOException e) {
+            System.err.println("Using default log rules: " + e.getMessage());
+            return LogRule.DEFAULTS;
+        }
+    }
+    
+    private void openPlayback() {
+        String file = System.getProperty("skywatch.play");
+        if (file == null) {
+            return;
+        }
+        try {
+            Recording recording = Recording.open(Path.of(file));
+            if (recording.isEmpty()) {
+                recording.close();
+                System.err.println("Nothing to play in " + file);
+                return;
+            }
+            startPlayer(recording);
+            player.setSpeed(Double.parseDouble(System.getProperty("skywatch.play.speed", "1")));
+            player.play();
+            showPlaybackStatus(true);
+        } catch (IOException | NumberFormatException e) {
+            System.err.println("Playback unavailable: " + e.getMessage());
+        }
+    }
+    
+    private void startPlayer(Recording recording) {
+        replaying = true;
+        alertScroll.setContent(replayAlertList);
+        player = new FlightPlayer(frames, recording, this::applyRecorded, (channel, timestamp, text) -> {
+            if (LOG_CHANNEL.equals(channel)) {
+                logRing.append(timestamp, text);
+                frames.requestFrame();
+            }
+        });
+        player.positionProperty().addListener((obs, old, position) -> showPlaybackStatus(false));
+    }
+    
+    // Opens the recording being written for scrubbing; the recorder keeps appending behind it
+    private boolean startTimeTravel() {
+        if (recorder == null) {
+            return false;
+        }
+        recorder.flush();
+        try {
+            Recording recording = Recording.open(recorder.path());
+            if (recording.isEmpty()) {
+                recording.close();
+                return false;
+            }
+            startPlayer(recording);
+            timeTravel = true;
+            return true;
+        } catch (IOException e) {
+            System.err.println("Time travel unavailable: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    private void scrubTo(long target) {
+        boolean live = player == null || timeTravel;
+        if (live && target >= timeSlider.getMax() - LIVE_EDGE_MILLIS) {
+            returnToLive();
+            return;
+        }
+        scrubTarget = target;
+        frames.requestFrame();
+    }
+    
+    // Once per frame, however fast the slider moves: one block decode plus the visible log lines
+    private void applyScrub() {
+        long target = scrubTarget;
+        scrubTarget = -1;
+        if (player == null && !startTimeTravel()) {
+            return;
+        }
+        try {
+            player.recording().refresh();
+        } catch (IOException e) {
+            System.err.println("Recording index not refreshed: " + e.getMessage());
+        }
+        player.pause();
+        player.seek(target);
+        reloadLog();
+        // The streaks before the jump say nothing about the new position
+        if (alertEngine != null) {
+            playedHostChanged = false;
+            replayAlerts().settle(HOST_NODE, playedHost, target);
+        }
+        showPlaybackStatus(true);
+    }
+    
+    private void reloadLog() {
+        logRing.clear();
+        player.lastEvents(LOG_CHANNEL, LOG_BACKLOG, (channel, timestamp, line) -> logRing.append(timestamp, line));
+        logView.followTail();
+    }
+    
+    // The slider spans the last day of the live recording, or the whole file being played
+    private void refreshTimeSlider() {
+        if (timeSlider == null || timeSlider.isValueChanging()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long position = player != null ? player.positionProperty().get() : now;
+        if (now / 1000 == timeSliderSecond && position / 1000 == timeSliderPosition) {
+            return;
+        }
+        timeSliderSecond = now / 1000;
+        timeSliderPosition = position / 1000;
+        long min;
+        long max;
+        if (player != null && !timeTravel) {
+            min = player.recording().start();
+            max = player.recording().end();
+            timeTravelReadout.set("REPLAY");
+        } else if (recorder != null) {
+            min = Math.max(recordingStart, now - TIME_TRAVEL_WINDOW_MILLIS);
+            max = now;
+            timeTravelReadout.set(player == null ? "LIVE" : formatAgo(now - position));
+        } else {
+            timeSlider.setDisable(true);
+            timeTravelReadout.set("NO RECORDING");
+            return;
+        }
+        updatingTimeSlider = true;
+        timeSlider.setMin(min);
+        timeSlider.setMax(Math.max(max, min + 1));
+        timeSlider.setValue(position);
+        updatingTimeSlider = false;
+    }
+    
+    private static String formatAgo(long millis) {
+        long seconds = millis / 1000;
+        return String.format("T-%02d:%02d:%02d", seconds / 3600, seconds / 60 % 60, seconds % 60);
+    }
+    
+    // Recorded host metrics drive the instruments directly; the rest go through the board's bindings
+    private void applyRecorded(String metric, double value) {
+        for (int column = 0; column < playedHost.length; column++) {
+            if (MetricNames.NODE_METRICS[column].equals(metric)) {
+                playedHost[column] = value;
+                playedHostChanged = true;
+                frames.requestFrame();
+            }
+        }
+        switch (metric) {
+            case MetricNames.CPU_LOAD -> cpuLoad.set(value);
+            case MetricNames.MEMORY -> {
+                if (jvmPrimary == null) {
+                    memoryUsage.set(value);
+                }
+            }
+            case MetricNames.DISK_IO -> diskIO.set(value);
+            case MetricNames.NET_IN -> networkIn.set(value);
+            case MetricNames.NET_OUT -> networkOut.set(value);
+            case MetricNames.TEMP -> serverTemp.set(value);
+            case MetricNames.CONNECTIONS -> activeConnections.set((int) value);
+            case MetricNames.RESPONSE -> responseTime.set(value);
+            default -> metricBoard.applyValue(metric, value);
+        }
+    }
+    
+    private void handlePlaybackKey(javafx.scene.input.KeyCode code, boolean shift) {
+        long jump = shift ? 3_600_000L : 60_000L;
+        switch (code) {
+            case SPACE -> {
+                if (player.playingProperty().get()) {
+                    player.pause();
+                } else {
+                    player.play();
+                }
+            }
+            case UP, DOWN -> {
+                int i = 0;
+                while (i < PLAYBACK_SPEEDS.length - 1 && PLAYBACK_SPEEDS[i] < player.speed()) {
+                    i++;
+                }
+                i = code == javafx.scene.input.KeyCode.UP ? Math.min(i + 1, PLAYBACK_SPEEDS.length - 1) : Math.max(i - 1, 0);
+                player.setSpeed(PLAYBACK_SPEEDS[i]);
+            }
+            case RIGHT -> player.seek(player.positionProperty().get() + jump);
+            case LEFT -> player.seek(player.positionProperty().get() - jump);
+            case END -> {
+                returnToLive();
+                return;
+            }
+            default -> {
+                return;
+            }
+        }
+        showPlaybackStatus(true);
+    }
+    
+    private void showPlaybackStatus(boolean force) {
+        long position = player.positionProperty().get();
+        if (!force && position / 1000 == playbackStatusSecond) {
+            return;
+        }
+        playbackStatusSecond = position / 1000;
+        focusTitle.set(String.format("PLAYBACK %s  %.0fx%s", PLAYBACK_TIME.format(Instant.ofEpochMilli(position)),
+            player.speed(), player.playingProperty().get() ? "" : "  PAUSED"));
+    }
+    
+    // Back to live data; board values come back on the next frame, host values on the next sample
+    private void returnToLive() {
+        if (player == null) {
+            return;
+        }
+        if (timeTravel) {
+            // Show what was logged while we were away
+            recorder.flush();
+            try {
+                player.recording().refresh();
+            } catch (IOException e) {
+                System.err.println("Recording index not refreshed: " + e.getMessage());
+            }
+            player.seek(Long.MAX_VALUE);
+            reloadLog();
+        }
+        player.close();
+        player = null;
+        replaying = false;
+        replayAlertEngine = null;
+        replayAlertList.clear();
+        alertScroll.setContent(alertList);
+        timeTravel = false;
+        scrubTarget = -1;
+        metricBoard.reapplyAll();
+        frames.requestFrame();
+        focusTitle.set("SERVER CLUSTER STATUS");
+    }
+    
+    private void startClusterPolling(List<ClusterNode> nodes) {
+        nodeStore = new NodeMetricStore(nodes.size(), MetricNames.NODE_METRICS.length);
+        // In NODE_METRICS order; connections has no gauge of its own
+        nodeFocus = new NodeFocusView(nodeStore, new DoubleProperty[] {
+            cpuLoad, memoryUsage, diskIO, networkIn, networkOut, serverTemp, null, responseTime
+        });
+        // e.g. the JVM heap bound to MEMORY must not overwrite a focused node's memory
+        metricBoard.setHeld(nodeFocus::holds);
+        clusterPulse = new SnapshotPulse<>(frames, clusterSlot, this::applyClusterSummary);
+        clusterPulse.start();
+        clusterPoller = new ClusterPoller(nodes, MetricNames.NODE_METRICS, CLUSTER_INTERVAL, CLUSTER_TIMEOUT,
+            CLUSTER_MAX_IN_FLIGHT, (node, metric, value) -> {
+                nodeStore.set(node, metric, value);
+                if (history != null) {
+                    history.append(history.series(node + 1, metric), System.currentTimeMillis(), value);
+                }
+            }, summary -> {
+                clusterSlot.publish(summary);
+                // Once per round, over the nodes whose values changed since the last
+                long now = System.currentTimeMillis();
+                alertEngine.evaluate(nodeStore, 1, now);
+                anomalyDetector.observe(nodeStore, 1, now);
+            });
+        clusterPoller.start();
+    }
+    
+    private void focusNode(int lead) {
+        if (nodeFocus == null || lead >= clusterPoller.size()) {
+            return;
+        }
+        nodeFocus.focus(lead);
+        // On release the board catches up on what it held back
+        frames.requestFrame();
+        focusTitle.set(lead < 0 ? "SERVER CLUSTER STATUS" : "FOCUS " + clusterPoller.node(lead).name());
+    }
+    
+    // Lead nodes show round-trip latency in ms; MSTR shows nodes up out of total
+    private void applyClusterSummary(ClusterSummary summary) {
+        for (int i = 0; i < nodeReadouts.length; i++) {
+            if (i < summary.leadNames().length) {
+                nodeNames[i].set(summary.leadNames()[i]);
+                NodeStatus status = summary.leadStatus()[i];
+                nodeReadouts[i].set(status == NodeStatus.UP
+                    ? String.format("%.1f", summary.leadLatency()[i]) : status.name());
+            } else {
+                nodeNames[i].set("----");
+                nodeReadouts[i].set("---.---");
+            }
+        }
+        masterReadout.set(summary.up() + "/" + summary.nodes());
+    }
+    
+    // Applies every metric of one snapshot in a single pass on the FX thread
+    private void applySnapshot(HostSnapshot snapshot) {
+        if (player != null || (nodeFocus != null && nodeFocus.focusedNode() >= 0)) {
+            return;
+        }
+        setIfPresent(cpuLoad, snapshot.cpuLoad());
+        if (jvmPrimary == null) {
+            setIfPresent(memoryUsage, snapshot.memoryUsage());
+        }
+        setIfPresent(diskIO, snapshot.diskIO());
+        setIfPresent(networkIn, snapshot.networkIn());
+        setIfPresent(networkOut, snapshot.networkOut());
+        setIfPresent(serverTemp, snapshot.serverTemp());
+        if (snapshot.activeConnections() >= 0) {
+            activeConnections.set(snapshot.activeConnections());
+        }
+    }
+    
+    private static void setIfPresent(DoubleProperty property, double value) {
+        if (!Double.isNaN(value)) {
+            property.set(value);
+        }
+    }
+    
     private void startSimulation() {
-        // Main simulation timeline
-        mainTimeline = new Timeline(
-            new KeyFrame(Duration.seconds(0.5), e -> {
-                // Simulate server metrics with some randomness
-                cpuLoad.set(Math.max(0, Math.min(100, cpuLoad.get() + (random.nextDouble() - 0.5) * 10)));
-                memoryUsage.set(Math.max(0, Math.min(100, memoryUsage.get() + (random.nextDouble() - 0.5) * 5)));
-                diskIO.set(Math.max(0, Math.min(100, diskIO.get() + (random.nextDouble() - 0.5) * 15)));
-                networkIn.set(Math.max(0, Math.min(500, networkIn.get() + (random.nextDouble() - 0.5) * 50)));
-                networkOut.set(Math.max(0, Math.min(500, networkOut.get() + (random.nextDouble() - 0.5) * 40)));
-                serverTemp.set(Math.max(40, Math.min(95, serverTemp.get() + (random.nextDouble() - 0.5) * 3)));
-                activeConnections.set(Math.max(0, Math.min(5000, activeConnections.get() + random.nextInt(100) - 50)));
+        // Main simulation, twice a second
+        frames.every(Duration.seconds(0.5), () -> {
+            if (player != null || (nodeFocus != null && nodeFocus.focusedNode() >= 0)) {
+                return;
+            }
+            // Simulate server metrics with some randomness
+            cpuLoad.set(Math.max(0, Math.min(100, cpuLoad.get() + (random.nextDouble() - 0.5) * 10)));
+            memoryUsage.set(Math.max(0, Math.min(100, memoryUsage.get() + (random.nextDouble() - 0.5) * 5)));
+            diskIO.set(Math.max(0, Math.min(100, diskIO.get() + (random.nextDouble() - 0.5) * 15)));
+            networkIn.set(Math.max(0, Math.min(500, networkIn.get() + (random.nextDouble() - 0.5) * 50)));
+            networkOut.set(Math.max(0, Math.min(500, networkOut.get() + (random.nextDouble() - 0.5) * 40)));
+            serverTemp.set(Math.max(40, Math.min(95, serverTemp.get() + (random.nextDouble() - 0.5) * 3)));
+            activeConnections.set(Math.max(0, Math.min(5000, activeConnections.get() + random.nextInt(100) - 50)));
+            HostSnapshot snapshot = new HostSnapshot(System.nanoTime(), cpuLoad.get(), memoryUsage.get(), diskIO.get(),
+                networkIn.get(), networkOut.get(), serverTemp.get(), activeConnections.get());
+            // Alerts only: made-up values stay out of history and the recording
+            evaluateHost(snapshot);
+            // A log series, when picked, arrives through the board instead
+            if (responseSource == null) {
                 responseTime.set(Math.max(1, Math.min(200, responseTime.get() + (random.nextDouble() - 0.5) * 10)));
-            })
-        );
-        mainTimeline.setCycleCount(Timeline.INDEFINITE);
-        mainTimeline.play();
+            }
+        });
+    }
+    
+    // Frame time of the next wall-clock second, for tasks that tick with the clock
+    private static long nextSecond(long now) {
+        return now + (1000 - System.currentTimeMillis() % 1000) * 1_000_000L;
     }
     
     private String toRGBCode(Color color) {
@@ -956,8 +1628,57 @@ public class ModernDashboard extends Application {
     
     @Override
     public void stop() {
-        if (mainTimeline != null) {
-            mainTimeline.stop();
+        frames.close();
+        if (player != null) {
+            player.close();
+        }
+        if (hostCollector != null) {
+            hostCollector.close();
+        }
+        if (hostPulse != null) {
+            hostPulse.stop();
+        }
+        if (metricScheduler != null) {
+            metricScheduler.close();
+        }
+        if (clusterPoller != null) {
+            clusterPoller.close();
+        }
+        if (clusterPulse != null) {
+            clusterPulse.stop();
+        }
+        if (clusterStub != null) {
+            clusterStub.close();
+        }
+        if (healthProber != null) {
+            healthProber.close();
+        }
+        if (healthPulse != null) {
+            healthPulse.stop();
+        }
+        if (alertDispatcher != null) {
+            alertDispatcher.close();
+        }
+        if (webhookStub != null) {
+            webhookStub.close();
+        }
+        if (logTailer != null) {
+            logTailer.close();
+        }
+        logSearch.close();
+        if (logStub != null) {
+            logStub.close();
+        }
+        if (history != null) {
+            history.close();
+        }
+        if (recorder != null) {
+            metricBoard.setTap(null);
+            try {
+                recorder.close();
+            } catch (IOException e) {
+                System.err.println("Recording not closed cleanly: " + e.getMessage());
+            }
         }
     }
     
@@ -0,0 +1,13 @@
+package com.example.javafx.alert;
+
+import java.io.IOException;
+import java.util.List;
+
+// Somewhere alert notices go. send() runs on a sender thread of the
+// AlertDispatcher and may block; throwing has the batch retried later.
+public interface AlertChannel {
+
+    String name();
+
+    void send(List<AlertNotice> batch) throws IOException;
+}
@@ -0,0 +1,196 @@
+package com.example.javafx.alert;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+// Sends alert transitions to outbound channels without ever holding up the
+// thread that raised them: offer() only puts the event on a bounded queue
+// and drops it (counted) when the queue is full.
+//
+// A single dispatch thread drains the queue every TICK_MILLIS into one lane
+// per channel. A lane collects notices for batchMillis after the first one
+// arrives, keeping only the newest per alert, and leaves out any that would
+// repeat what the channel was last told about that alert - so an alert that
+// raises and clears within the window is never sent at all. A token bucket
+// per channel limits how many batches go out per minute; while it is empty
+// notices keep collapsing into the next batch. Each send runs on its own
+// virtual thread, so a slow channel only delays itself; a failed batch goes
+// back into its lane and is retried with exponential backoff and jitter, up
+// to MAX_ATTEMPTS.
+public final class AlertDispatcher implements AutoCloseable {
+
+    private static final long TICK_MILLIS = 100;
+    private static final int MAX_ATTEMPTS = 8;
+    private static final long BACKOFF_MILLIS = 1_000;
+    private static final long MAX_BACKOFF_MILLIS = 60_000;
+
+    private final BlockingQueue<AlertNotice> queue;
+    private final IntFunction<String> nodeName;
+    private final List<Lane> lanes = new ArrayList<>();
+    private final long batchMillis;
+    private final AtomicLong dropped = new AtomicLong();
+    private final ScheduledExecutorService dispatcher;
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<AlertNotice> drained = new ArrayList<>();
+
+    // perMinute batches per channel on average, at most burst back to back
+    public AlertDispatcher(List<AlertChannel> channels, IntFunction<String> nodeName, int queueCapacity,
+                           long batchMillis, double perMinute, int burst) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.nodeName = nodeName;
+        this.batchMillis = batchMillis;
+        for (AlertChannel channel : channels) {
+            lanes.add(new Lane(channel, perMinute / 60_000.0, Math.max(1, burst)));
+        }
+        this.dispatcher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "skywatch-alert-dispatch");
+            t.setDaemon(true);
+            return t;
+        });
+        dispatcher.scheduleWithFixedDelay(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    // Any thread; never blocks
+    public void offer(AlertEvent event) {
+        if (!queue.offer(AlertNotice.of(event, nodeName.apply(event.node())))) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    // Dispatch thread
+    private void tick() {
+        queue.drainTo(drained);
+        long now = System.currentTimeMillis();
+        for (Lane lane : lanes) {
+            for (AlertNotice notice : drained) {
+                lane.add(notice, now);
+            }
+            lane.pump(now);
+        }
+        drained.clear();
+    }
+
+    private final class Lane {
+
+        final AlertChannel channel;
+        final double tokensPerMilli;
+        final int burst;
+        double tokens;
+        long refilledAt = System.currentTimeMillis();
+
+        // Newest notice per alert key, in arrival order
+        final Map<Long, AlertNotice> pending = new LinkedHashMap<>();
+        long pendingSince = -1;
+        // Alerts the channel was last told are active
+        final Set<Long> raised = new HashSet<>();
+        boolean sending;
+        int attempts;
+        long retryAt;
+
+        Lane(AlertChannel channel, double tokensPerMilli, int burst) {
+            this.channel = channel;
+            this.tokensPerMilli = tokensPerMilli;
+            this.burst = burst;
+            this.tokens = burst;
+        }
+
+        void add(AlertNotice notice, long now) {
+            pending.put(notice.key(), notice);
+            if (pendingSince < 0) {
+                pendingSince = now;
+            }
+        }
+
+        void pump(long now) {
+            tokens = Math.min(burst, tokens + (now - refilledAt) * tokensPerMilli);
+            refilledAt = now;
+            if (sending || pending.isEmpty() || now - pendingSince < batchMillis || now < retryAt || tokens < 1) {
+                return;
+            }
+            List<AlertNotice> batch = new ArrayList<>(pending.size());
+            for (AlertNotice notice : pending.values()) {
+                if (notice.active() != raised.contains(notice.key())) {
+                    batch.add(notice);
+                }
+            }
+            pending.clear();
+            pendingSince = -1;
+            if (batch.isEmpty()) {
+                return;
+            }
+            tokens--;
+            sending = true;
+            senders.execute(() -> {
+                Exception failure = null;
+                try {
+                    channel.send(batch);
+                } catch (Exception e) {
+                    failure = e;
+                }
+                Exception result = failure;
+                try {
+                    dispatcher.execute(() -> sent(batch, result));
+                } catch (RejectedExecutionException closed) {
+                    // Shut down while sending
+                }
+            });
+        }
+
+        // Dispatch thread, once a send has finished
+        void sent(List<AlertNotice> batch, Exception failure) {
+            sending = false;
+            long now = System.currentTimeMillis();
+            if (failure == null) {
+                attempts = 0;
+                for (AlertNotice notice : batch) {
+                    if (notice.active()) {
+                        raised.add(notice.key());
+                    } else {
+                        raised.remove(notice.key());
+                    }
+                }
+                return;
+            }
+            if (++attempts >= MAX_ATTEMPTS) {
+                System.err.println("Alert notices to " + channel.name() + " dropped after " + attempts
+                    + " attempts: " + failure.getMessage());
+                attempts = 0;
+                return;
+            }
+            long backoff = Math.min(MAX_BACKOFF_MILLIS, BACKOFF_MILLIS << (attempts - 1));
+            retryAt = now + backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+            // Back in line behind nothing newer: a later notice for the same alert wins
+            Map<Long, AlertNotice> newer = new LinkedHashMap<>(pending);
+            pending.clear();
+            for (AlertNotice notice : batch) {
+                pending.put(notice.key(), notice);
+            }
+            pending.putAll(newer);
+            pendingSince = now - batchMillis;
+        }
+    }
+
+    @Override
+    public void close() {
+        dispatcher.shutdownNow();
+        senders.shutdownNow();
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.javafx.alert;
+
+import com.example.javafx.cluster.NodeMetricStore;
+import java.util.Arrays;
+import java.util.List;
+
+// Evaluates every rule against every node as samples arrive and reports only
+// the transitions. Conditions are compiled once into closure trees, windowed
+// functions share one AlertWindows window per metric and span, and each
+// (node, rule) pair has a streak counter and an active bit, laid out
+// node-major so one node's state is contiguous. A sample feeds the windows
+// once, then costs one walk of each rule's tree, and nothing is allocated
+// unless an alert changes state.
+public final class AlertEngine {
+
+    public interface Listener {
+        // Called on the evaluating thread, with the engine locked
+        void onTransition(AlertEvent event);
+    }
+
+    private final AlertRule[] rules;
+    private final AlertExpression.Compiled[] raise;
+    private final AlertExpression.Expr[] clear;
+    private final int[] raiseAfter;
+    private final int[] clearAfter;
+    private final AlertWindows windows;
+    private final Listener listener;
+
+    // Index node * rules + rule
+    private final int[] streak;
+    private final long[] active;
+    private final long[] evaluatedVersion;
+    private final double[] values;
+    private final AlertExpression.Sample sample = new AlertExpression.Sample();
+
+    // columns are the metric names in sample order, e.g. MetricNames.NODE_METRICS. Throws
+    // IllegalArgumentException for a condition that does not compile.
+    public AlertEngine(List<AlertRule> rules, String[] columns, int nodes, Listener listener) {
+        int n = rules.size();
+        this.rules = rules.toArray(new AlertRule[0]);
+        this.raise = new AlertExpression.Compiled[n];
+        this.clear = new AlertExpression.Expr[n];
+        this.raiseAfter = new int[n];
+        this.clearAfter = new int[n];
+        this.windows = new AlertWindows(nodes);
+        List<String> names = List.of(columns);
+        for (int r = 0; r < n; r++) {
+            AlertRule rule = this.rules[r];
+            try {
+                raise[r] = AlertExpression.compile(rule.when(), names, windows);
+                if (rule.clearWhen() != null) {
+                    clear[r] = AlertExpression.compile(rule.clearWhen(), names, windows).condition();
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Alert " + rule.name() + ": " + e.getMessage(), e);
+            }
+            raiseAfter[r] = Math.max(1, rule.raiseAfter());
+            clearAfter[r] = Math.max(1, rule.clearAfter());
+        }
+        this.listener = listener;
+        this.streak = new int[nodes * n];
+        this.active = new long[(nodes * n + 63) >>> 6];
+        this.evaluatedVersion = new long[nodes];
+        Arrays.fill(evaluatedVersion, -1);
+        this.values = new double[columns.length];
+    }
+
+    public int ruleCount() {
+        return rules.length;
+    }
+
+    // One sample of a node, values in column order. A rule whose condition
+    // cannot be decided (no data yet) keeps its state.
+    public synchronized void evaluate(int node, double[] values, long nowMillis) {
+        windows.add(node, values, nowMillis);
+        sample.node = node;
+        sample.values = values;
+        int base = node * rules.length;
+        for (int r = 0; r < rules.length; r++) {
+            step(base + r, r, node, nowMillis, false);
+        }
+        sample.values = null;
+    }
+
+    // Nodes of the store that changed since the last call; store node i is engine node i + offset
+    public synchronized void evaluate(NodeMetricStore store, int offset, long nowMillis) {
+        int metrics = Math.min(values.length, store.metricCount());
+        for (int i = 0; i < store.nodeCount(); i++) {
+            long version = store.version(i);
+            int node = i + offset;
+            if (version == evaluatedVersion[node]) {
+                continue;
+            }
+            evaluatedVersion[node] = version;
+            for (int m = 0; m < metrics; m++) {
+                values[m] = store.get(i, m);
+            }
+            evaluate(node, values, nowMillis);
+        }
+    }
+
+    // Decides the node's alerts from this sample alone, e.g. after jumping to
+    // another point of a recording, where the streaks and windows so far say nothing
+    public synchronized void settle(int node, double[] values, long nowMillis) {
+        windows.reset(node);
+        windows.add(node, values, nowMillis);
+        sample.node = node;
+        sample.values = values;
+        int base = node * rules.length;
+        for (int r = 0; r < rules.length; r++) {
+            streak[base + r] = 0;
+            step(base + r, r, node, nowMillis, true);
+        }
+        sample.values = null;
+    }
+
+    private void step(int i, int r, int node, long nowMillis, boolean settle) {
+        double when = raise[r].condition().eval(sample);
+        if (when != when) {
+            return;
+        }
+        boolean on = (active[i >>> 6] & 1L << i) != 0;
+        boolean breach = when != 0;
+        if (settle) {
+            if (breach != on) {
+                flip(i, r, node, nowMillis);
+            }
+        } else if (!on) {
+            if (!breach) {
+                streak[i] = 0;
+            } else if (++streak[i] >= raiseAfter[r]) {
+                flip(i, r, node, nowMillis);
+            }
+        } else {
+            // With a looser clear condition, an alert holds its state in between
+            double cleared = clear[r] != null ? clear[r].eval(sample) : 1 - when;
+            if (cleared != cleared) {
+                return;
+            }
+            if (cleared == 0) {
+                streak[i] = 0;
+            } else if (++streak[i] >= clearAfter[r]) {
+                flip(i, r, node, nowMillis);
+            }
+        }
+    }
+
+    private void flip(int i, int r, int node, long nowMillis) {
+        streak[i] = 0;
+        active[i >>> 6] ^= 1L << i;
+        listener.onTransition(new AlertEvent(nowMillis, r, rules[r], node, (active[i >>> 6] & 1L << i) != 0,
+            raise[r].subject().eval(sample)));
+    }
+}
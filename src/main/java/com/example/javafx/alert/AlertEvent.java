@@ -0,0 +1,11 @@
+package com.example.javafx.alert;
+
+// An alert raising (active) or clearing on one node; ruleId is the rule's
+// position in the engine, value what the rule's first comparison measured
+public record AlertEvent(long timeMillis, int ruleId, AlertRule rule, int node, boolean active, double value) {
+
+    // Identifies the alert across its raise and clear
+    public long key() {
+        return (long) ruleId << 32 | node;
+    }
+}
@@ -0,0 +1,340 @@
+package com.example.javafx.alert;
+
+import java.util.List;
+import java.util.Locale;
+
+// Alert conditions, e.g. "avg_over(cpu, 1m) > 80 and mem > 85". Parsed once
+// into a tree of closures that read the sample directly, so a rule costs a
+// few virtual calls per evaluation and no parsing or allocation.
+//
+//   expr     := and ("or" and)*
+//   and      := not ("and" not)*
+//   not      := "not" not | compare
+//   compare  := sum ((">" | ">=" | "<" | "<=" | "==" | "!=") sum)?
+//   sum      := product (("+" | "-") product)*
+//   product  := unary (("*" | "/") unary)*
+//   unary    := "-" unary | NUMBER | METRIC | FUNC "(" METRIC "," DURATION ")" | "(" expr ")"
+//
+// FUNC is avg_over, min_over, max_over, sum_over or count_over; DURATION is a
+// number with ms, s, m or h. Everything is a double, with true as 1 and false
+// as 0. A metric without data is NaN, and NaN spreads through the logic as
+// "unknown" (false and unknown is false, true or unknown is true), so a rule
+// holds its state until it can be decided.
+final class AlertExpression {
+
+    interface Expr {
+        double eval(Sample sample);
+    }
+
+    // What an expression is evaluated against; reused for every evaluation
+    static final class Sample {
+        int node;
+        double[] values;
+    }
+
+    // subject is what the first comparison measures, reported with the alert
+    record Compiled(Expr condition, Expr subject) {
+    }
+
+    private enum Type {
+        NUMBER, NAME, SYMBOL, END
+    }
+
+    private final String text;
+    private final List<String> columns;
+    private final AlertWindows windows;
+    private int pos;
+    private Type type;
+    private String token;
+    private int tokenStart;
+    private Expr subject;
+
+    private AlertExpression(String text, List<String> columns, AlertWindows windows) {
+        this.text = text;
+        this.columns = columns;
+        this.windows = windows;
+    }
+
+    // Throws IllegalArgumentException naming the position of the first problem
+    static Compiled compile(String text, List<String> columns, AlertWindows windows) {
+        AlertExpression parser = new AlertExpression(text, columns, windows);
+        parser.next();
+        Expr condition = parser.or();
+        if (parser.type != Type.END) {
+            throw parser.error("unexpected '" + parser.token + "'");
+        }
+        return new Compiled(condition, parser.subject != null ? parser.subject : condition);
+    }
+
+    private Expr or() {
+        Expr left = and();
+        while (keyword("or")) {
+            Expr a = left;
+            Expr b = and();
+            left = s -> {
+                // Any nonzero value is true, as in and/not; NaN is unknown
+                double x = a.eval(s);
+                if (x != 0 && x == x) {
+                    return 1;
+                }
+                double y = b.eval(s);
+                return y != 0 && y == y ? 1 : x != x || y != y ? Double.NaN : 0;
+            };
+        }
+        return left;
+    }
+
+    private Expr and() {
+        Expr left = not();
+        while (keyword("and")) {
+            Expr a = left;
+            Expr b = not();
+            left = s -> {
+                double x = a.eval(s);
+                if (x == 0) {
+                    return 0;
+                }
+                double y = b.eval(s);
+                return y == 0 ? 0 : x != x || y != y ? Double.NaN : 1;
+            };
+        }
+        return left;
+    }
+
+    private Expr not() {
+        if (keyword("not")) {
+            Expr a = not();
+            return s -> {
+                double x = a.eval(s);
+                return x != x ? Double.NaN : x == 0 ? 1 : 0;
+            };
+        }
+        return compare();
+    }
+
+    private Expr compare() {
+        Expr a = sum();
+        if (type != Type.SYMBOL) {
+            return a;
+        }
+        String op = token;
+        if (!op.equals(">") && !op.equals(">=") && !op.equals("<") && !op.equals("<=")
+                && !op.equals("==") && !op.equals("!=")) {
+            return a;
+        }
+        next();
+        Expr b = sum();
+        if (subject == null) {
+            subject = a;
+        }
+        return switch (op) {
+            case ">" -> s -> truth(a.eval(s), b.eval(s), 1);
+            case ">=" -> s -> truth(a.eval(s), b.eval(s), 2);
+            case "<" -> s -> truth(a.eval(s), b.eval(s), 3);
+            case "<=" -> s -> truth(a.eval(s), b.eval(s), 4);
+            case "==" -> s -> truth(a.eval(s), b.eval(s), 5);
+            default -> s -> truth(a.eval(s), b.eval(s), 6);
+        };
+    }
+
+    private static double truth(double x, double y, int op) {
+        if (x != x || y != y) {
+            return Double.NaN;
+        }
+        boolean result = switch (op) {
+            case 1 -> x > y;
+            case 2 -> x >= y;
+            case 3 -> x < y;
+            case 4 -> x <= y;
+            case 5 -> x == y;
+            default -> x != y;
+        };
+        return result ? 1 : 0;
+    }
+
+    private Expr sum() {
+        Expr left = product();
+        while (symbol("+") || symbol("-")) {
+            boolean plus = token.equals("+");
+            next();
+            Expr a = left;
+            Expr b = product();
+            left = plus ? s -> a.eval(s) + b.eval(s) : s -> a.eval(s) - b.eval(s);
+        }
+        return left;
+    }
+
+    private Expr product() {
+        Expr left = unary();
+        while (symbol("*") || symbol("/")) {
+            boolean times = token.equals("*");
+            next();
+            Expr a = left;
+            Expr b = unary();
+            left = times ? s -> a.eval(s) * b.eval(s) : s -> a.eval(s) / b.eval(s);
+        }
+        return left;
+    }
+
+    private Expr unary() {
+        if (symbol("-")) {
+            next();
+            Expr a = unary();
+            return s -> -a.eval(s);
+        }
+        if (symbol("(")) {
+            next();
+            Expr inner = or();
+            expect(")");
+            return inner;
+        }
+        if (type == Type.NUMBER) {
+            double value = number(false);
+            return s -> value;
+        }
+        if (type == Type.NAME) {
+            String name = token;
+            int at = tokenStart;
+            next();
+            if (symbol("(")) {
+                return function(name, at);
+            }
+            int column = column(name, at);
+            return s -> s.values[column];
+        }
+        throw error(type == Type.END ? "expression ends early" : "unexpected '" + token + "'");
+    }
+
+    private Expr function(String name, int at) {
+        String function = name.toLowerCase(Locale.ROOT);
+        if (!List.of("avg_over", "min_over", "max_over", "sum_over", "count_over").contains(function)) {
+            throw error("unknown function " + name, at);
+        }
+        next();
+        if (type != Type.NAME) {
+            throw error("expected a metric");
+        }
+        int column = column(token, tokenStart);
+        next();
+        expect(",");
+        if (type != Type.NUMBER) {
+            throw error("expected a duration such as 1m");
+        }
+        long span = (long) number(true);
+        if (span <= 0) {
+            throw error("window must be longer than 0");
+        }
+        expect(")");
+        AlertWindows.Window window = windows.window(column, span);
+        return switch (function) {
+            case "avg_over" -> s -> window.avg(s.node);
+            case "min_over" -> s -> window.min(s.node);
+            case "max_over" -> s -> window.max(s.node);
+            case "sum_over" -> s -> window.sum(s.node);
+            default -> s -> window.count(s.node);
+        };
+    }
+
+    private int column(String name, int at) {
+        int column = columns.indexOf(name);
+        if (column < 0) {
+            throw error("unknown metric " + name, at);
+        }
+        return column;
+    }
+
+    // A plain number, or with duration set, one with a unit, in milliseconds
+    private double number(boolean duration) {
+        int unitAt = 0;
+        while (unitAt < token.length() && (Character.isDigit(token.charAt(unitAt)) || token.charAt(unitAt) == '.')) {
+            unitAt++;
+        }
+        double value;
+        try {
+            value = Double.parseDouble(token.substring(0, unitAt));
+        } catch (NumberFormatException e) {
+            throw error("bad number " + token);
+        }
+        String unit = token.substring(unitAt).toLowerCase(Locale.ROOT);
+        double scale;
+        if (!duration) {
+            scale = unit.isEmpty() ? 1 : Double.NaN;
+        } else {
+            scale = switch (unit) {
+                case "ms" -> 1;
+                case "s" -> 1_000;
+                case "m" -> 60_000;
+                case "h" -> 3_600_000;
+                default -> Double.NaN;
+            };
+        }
+        if (Double.isNaN(scale)) {
+            throw error(duration ? "expected a duration such as 1m, got " + token : "bad number " + token);
+        }
+        next();
+        return value * scale;
+    }
+
+    private boolean keyword(String word) {
+        if (type == Type.NAME && token.equalsIgnoreCase(word)) {
+            next();
+            return true;
+        }
+        return false;
+    }
+
+    private boolean symbol(String symbol) {
+        return type == Type.SYMBOL && token.equals(symbol);
+    }
+
+    private void expect(String symbol) {
+        if (!symbol(symbol)) {
+            throw error("expected '" + symbol + "'");
+        }
+        next();
+    }
+
+    private void next() {
+        while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+            pos++;
+        }
+        tokenStart = pos;
+        if (pos == text.length()) {
+            type = Type.END;
+            token = "";
+            return;
+        }
+        char c = text.charAt(pos);
+        if (Character.isDigit(c) || (c == '.' && pos + 1 < text.length() && Character.isDigit(text.charAt(pos + 1)))) {
+            // Digits, then any unit letters
+            while (pos < text.length() && (Character.isDigit(text.charAt(pos)) || text.charAt(pos) == '.')) {
+                pos++;
+            }
+            while (pos < text.length() && Character.isLetter(text.charAt(pos))) {
+                pos++;
+            }
+            type = Type.NUMBER;
+        } else if (Character.isLetter(c) || c == '_') {
+            while (pos < text.length() && (Character.isLetterOrDigit(text.charAt(pos))
+                    || text.charAt(pos) == '_' || text.charAt(pos) == '.')) {
+                pos++;
+            }
+            type = Type.NAME;
+        } else {
+            pos++;
+            if (pos < text.length() && text.charAt(pos) == '=' && "<>=!".indexOf(c) >= 0) {
+                pos++;
+            }
+            type = Type.SYMBOL;
+        }
+        token = text.substring(tokenStart, pos);
+    }
+
+    private IllegalArgumentException error(String message) {
+        return error(message, tokenStart);
+    }
+
+    private IllegalArgumentException error(String message, int at) {
+        return new IllegalArgumentException(message + " at " + (at + 1) + " in: " + text);
+    }
+}
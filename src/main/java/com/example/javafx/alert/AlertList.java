@@ -0,0 +1,162 @@
+package com.example.javafx.alert;
+
+import com.example.javafx.frame.Blink;
+import com.example.javafx.frame.FrameScheduler;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.scene.control.Label;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.util.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+// The SYSTEM ALERTS list, kept in step with AlertEngine transitions: a raise
+// adds one label and a clear removes it, warnings above cautions. Every
+// warning's opacity is bound to one shared blink that only runs while a
+// warning is on screen. At most MAX_SHOWN alerts get a label; the rest are
+// counted and take a freed slot when one clears. FX thread only.
+public final class AlertList extends VBox {
+
+    private static final int MAX_SHOWN = 100;
+
+    private final Font font;
+    private final Color warning;
+    private final Color caution;
+    private final IntFunction<String> nodeName;
+    private final Label nominal;
+    private final Label more;
+
+    // Active alerts in raise order; the label is null while not shown
+    private final Map<Long, Entry> active = new LinkedHashMap<>();
+    private int shown;
+    private int shownWarnings;
+
+    private final DoubleProperty blinkOpacity = new SimpleDoubleProperty(1);
+    private final Blink blink;
+
+    // nodeName gives the suffix shown after the alert name; null or empty for none
+    public AlertList(FrameScheduler frames, Font font, Color warning, Color caution, Color nominalColor,
+                     IntFunction<String> nodeName) {
+        super(5);
+        this.blink = new Blink(frames, blinkOpacity, 0.3, Duration.seconds(0.5));
+        this.font = font;
+        this.warning = warning;
+        this.caution = caution;
+        this.nodeName = nodeName;
+        this.nominal = label("ALL SYSTEMS NOMINAL", nominalColor);
+        this.more = label("", caution);
+        getChildren().add(nominal);
+    }
+
+    public void apply(AlertEvent event) {
+        if (event.active()) {
+            Entry entry = new Entry(event);
+            if (active.putIfAbsent(event.key(), entry) == null && shown < MAX_SHOWN) {
+                show(entry);
+            }
+        } else {
+            Entry entry = active.remove(event.key());
+            if (entry != null && entry.label != null) {
+                hide(entry);
+                promote();
+            }
+        }
+        refresh();
+    }
+
+    // Drops every alert, e.g. before rebuilding from a fresh engine
+    public void clear() {
+        for (Entry entry : active.values()) {
+            if (entry.label != null) {
+                hide(entry);
+            }
+        }
+        active.clear();
+        refresh();
+    }
+
+    public int activeCount() {
+        return active.size();
+    }
+
+    private void show(Entry entry) {
+        boolean isWarning = entry.event.rule().severity() == AlertRule.Severity.WARNING;
+        String node = nodeName.apply(entry.event.node());
+        entry.label = label("• " + entry.event.rule().name() + (node == null || node.isEmpty() ? "" : "  " + node),
+            isWarning ? warning : caution);
+        // Below the nominal label's slot, which is only there while nothing is active
+        int at = getChildren().indexOf(nominal) + 1;
+        if (isWarning) {
+            entry.label.opacityProperty().bind(blinkOpacity);
+            getChildren().add(at + shownWarnings++, entry.label);
+        } else {
+            getChildren().add(at + shown, entry.label);
+        }
+        shown++;
+    }
+
+    private void hide(Entry entry) {
+        if (entry.label.opacityProperty().isBound()) {
+            entry.label.opacityProperty().unbind();
+            shownWarnings--;
+        }
+        getChildren().remove(entry.label);
+        entry.label = null;
+        shown--;
+    }
+
+    private void promote() {
+        for (Iterator<Entry> it = active.values().iterator(); it.hasNext() && shown < MAX_SHOWN; ) {
+            Entry entry = it.next();
+            if (entry.label == null) {
+                show(entry);
+            }
+        }
+    }
+
+    private void refresh() {
+        boolean empty = active.isEmpty();
+        if (empty != getChildren().contains(nominal)) {
+            if (empty) {
+                getChildren().add(0, nominal);
+            } else {
+                getChildren().remove(nominal);
+            }
+        }
+        int hidden = active.size() - shown;
+        more.setText("+ " + hidden + " MORE");
+        if ((hidden > 0) != getChildren().contains(more)) {
+            if (hidden > 0) {
+                getChildren().add(more);
+            } else {
+                getChildren().remove(more);
+            }
+        }
+        if (shownWarnings > 0) {
+            blink.start();
+        } else {
+            blink.stop();
+        }
+    }
+
+    private Label label(String text, Color color) {
+        Label label = new Label(text);
+        label.setFont(font);
+        label.setTextFill(color);
+        return label;
+    }
+
+    private static final class Entry {
+
+        final AlertEvent event;
+        Label label;
+
+        Entry(AlertEvent event) {
+            this.event = event;
+        }
+    }
+}
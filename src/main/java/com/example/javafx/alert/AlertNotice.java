@@ -0,0 +1,41 @@
+package com.example.javafx.alert;
+
+import java.time.Instant;
+
+// An alert transition as it leaves the dashboard, with the node named;
+// key identifies the alert across its raise and clear
+public record AlertNotice(long key, long timeMillis, String alert, AlertRule.Severity severity, String node,
+                          boolean active, double value) {
+
+    static AlertNotice of(AlertEvent event, String node) {
+        return new AlertNotice(event.key(), event.timeMillis(), event.rule().name(), event.rule().severity(),
+            node == null || node.isEmpty() ? "local" : node, event.active(), event.value());
+    }
+
+    // 2026-01-01T12:00:00Z RAISED WARNING CPU OVERLOAD on NODE3 (92.4)
+    public String text() {
+        return Instant.ofEpochMilli(timeMillis) + (active ? " RAISED " : " CLEARED ") + severity + " " + alert
+            + " on " + node + (Double.isNaN(value) ? "" : String.format(" (%.1f)", value));
+    }
+
+    public String json() {
+        return "{\"time\":\"" + Instant.ofEpochMilli(timeMillis) + "\",\"alert\":\"" + escape(alert)
+            + "\",\"severity\":\"" + severity + "\",\"node\":\"" + escape(node) + "\",\"active\":" + active
+            + ",\"value\":" + (Double.isFinite(value) ? Double.toString(value) : "null") + "}";
+    }
+
+    private static String escape(String text) {
+        StringBuilder out = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.append('\\').append(c);
+            } else if (c < ' ') {
+                out.append(String.format("\\u%04x", (int) c));
+            } else {
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.javafx.alert;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// One alert condition, evaluated per node (see AlertExpression for the
+// language). The alert raises once `when` has held for raiseAfter samples in
+// a row and clears once `clearWhen` has held for clearAfter samples; without
+// a clearWhen it clears when `when` stops holding. A clear condition looser
+// than the raise condition gives hysteresis, so a value hovering at the
+// threshold neither flaps nor fires on a single spike.
+public record AlertRule(String name, Severity severity, String when, String clearWhen,
+                        int raiseAfter, int clearAfter) {
+
+    public enum Severity {
+        // ECAM order: warnings (red) above cautions (amber)
+        WARNING, CAUTION
+    }
+
+    private static final int RAISE_AFTER = 2;
+    private static final int CLEAR_AFTER = 3;
+
+    public static final List<AlertRule> DEFAULTS = List.of(
+        new AlertRule("CPU OVERLOAD", Severity.WARNING, "cpu > 80", "cpu < 75", RAISE_AFTER, CLEAR_AFTER),
+        new AlertRule("MEMORY CRITICAL", Severity.CAUTION, "mem > 85", "mem < 80", RAISE_AFTER, CLEAR_AFTER),
+        new AlertRule("TEMP WARNING", Severity.CAUTION, "temp > 75", "temp < 72", RAISE_AFTER, CLEAR_AFTER),
+        new AlertRule("DISK SATURATED", Severity.CAUTION, "disk > 90", "disk < 85", RAISE_AFTER, CLEAR_AFTER));
+
+    // Reads "warning|caution NAME: CONDITION [clear CONDITION]" lines, e.g.
+    //   warning CPU HOT: avg_over(cpu, 1m) > 80 and mem > 85 clear avg_over(cpu, 1m) < 70
+    // Blank lines and # comments are skipped; conditions are checked when the engine compiles them.
+    public static List<AlertRule> load(Path file) throws IOException {
+        List<AlertRule> rules = new ArrayList<>();
+        for (String line : Files.readAllLines(file)) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            int space = line.indexOf(' ');
+            int colon = line.indexOf(':');
+            Severity severity = space < 0 ? null : switch (line.substring(0, space).toLowerCase(Locale.ROOT)) {
+                case "warning" -> Severity.WARNING;
+                case "caution" -> Severity.CAUTION;
+                default -> null;
+            };
+            if (severity == null || colon < space || line.substring(space, colon).isBlank()) {
+                throw new IOException("Expected warning|caution NAME: CONDITION in " + file + ": " + line);
+            }
+            String name = line.substring(space + 1, colon).trim();
+            String[] conditions = line.substring(colon + 1).split("(?i)\\bclear\\b", 2);
+            rules.add(new AlertRule(name, severity, conditions[0].trim(),
+                conditions.length > 1 ? conditions[1].trim() : null, RAISE_AFTER, CLEAR_AFTER));
+        }
+        return rules;
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.javafx.alert;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Sliding windows behind the *_over() functions of alert conditions. There is
+// one window per (metric, span), however many rules use it, and it is fed
+// once per sample. Each node's window is a ring of up to MAX_BUCKETS time
+// buckets holding sum, count, min and max; the window sum and count are
+// kept as buckets fill and recounted from the buckets as they expire, so
+// avg, sum and count cost nothing to read and min and max a pass over the
+// buckets.
+final class AlertWindows {
+
+    private static final int MAX_BUCKETS = 60;
+
+    private final int nodes;
+    private final List<Window> windows = new ArrayList<>();
+
+    AlertWindows(int nodes) {
+        this.nodes = nodes;
+    }
+
+    // The shared window for this metric column and span
+    Window window(int column, long spanMillis) {
+        for (Window window : windows) {
+            if (window.column == column && window.spanMillis == spanMillis) {
+                return window;
+            }
+        }
+        Window window = new Window(column, spanMillis, nodes);
+        windows.add(window);
+        return window;
+    }
+
+    int size() {
+        return windows.size();
+    }
+
+    void add(int node, double[] values, long nowMillis) {
+        for (int i = 0; i < windows.size(); i++) {
+            Window window = windows.get(i);
+            window.add(node, values[window.column], nowMillis);
+        }
+    }
+
+    // Forgets the node's samples, e.g. when time jumps backwards during playback
+    void reset(int node) {
+        for (Window window : windows) {
+            window.reset(node);
+        }
+    }
+
+    static final class Window {
+
+        final int column;
+        final long spanMillis;
+        private final int buckets;
+        private final long bucketMillis;
+
+        // Index node * buckets + bucket
+        private final double[] sum;
+        private final int[] count;
+        private final double[] min;
+        private final double[] max;
+        // Per node: newest bucket number (time / bucketMillis) and the totals over the ring
+        private final long[] newest;
+        private final double[] windowSum;
+        private final int[] windowCount;
+
+        Window(int column, long spanMillis, int nodes) {
+            this.column = column;
+            this.spanMillis = spanMillis;
+            this.buckets = (int) Math.max(1, Math.min(MAX_BUCKETS, spanMillis / 1000));
+            this.bucketMillis = Math.max(1, spanMillis / buckets);
+            this.sum = new double[nodes * buckets];
+            this.count = new int[nodes * buckets];
+            this.min = new double[nodes * buckets];
+            this.max = new double[nodes * buckets];
+            this.newest = new long[nodes];
+            this.windowSum = new double[nodes];
+            this.windowCount = new int[nodes];
+            Arrays.fill(newest, Long.MIN_VALUE);
+        }
+
+        void add(int node, double value, long nowMillis) {
+            long bucket = Math.floorDiv(nowMillis, bucketMillis);
+            advance(node, bucket);
+            if (Double.isNaN(value)) {
+                return;
+            }
+            int i = node * buckets + (int) Math.floorMod(bucket, (long) buckets);
+            if (count[i] == 0) {
+                min[i] = value;
+                max[i] = value;
+            } else {
+                min[i] = Math.min(min[i], value);
+                max[i] = Math.max(max[i], value);
+            }
+            sum[i] += value;
+            count[i]++;
+            windowSum[node] += value;
+            windowCount[node]++;
+        }
+
+        // Empties the buckets that fell out of the window on the way to this one
+        private void advance(int node, long bucket) {
+            long last = newest[node];
+            if (bucket == last) {
+                return;
+            }
+            if (bucket < last) {
+                reset(node);
+            } else if (last != Long.MIN_VALUE) {
+                long steps = Math.min(buckets, bucket - last);
+                for (long s = 1; s <= steps; s++) {
+                    int i = node * buckets + (int) Math.floorMod(last + s, (long) buckets);
+                    sum[i] = 0;
+                    count[i] = 0;
+                }
+                // Recount rather than subtract, so rounding never accumulates
+                double total = 0;
+                int n = 0;
+                for (int i = node * buckets, end = i + buckets; i < end; i++) {
+                    total += sum[i];
+                    n += count[i];
+                }
+                windowSum[node] = total;
+                windowCount[node] = n;
+            }
+            newest[node] = bucket;
+        }
+
+        void reset(int node) {
+            int from = node * buckets;
+            Arrays.fill(sum, from, from + buckets, 0);
+            Arrays.fill(count, from, from + buckets, 0);
+            windowSum[node] = 0;
+            windowCount[node] = 0;
+            newest[node] = Long.MIN_VALUE;
+        }
+
+        double avg(int node) {
+            return windowCount[node] == 0 ? Double.NaN : windowSum[node] / windowCount[node];
+        }
+
+        double sum(int node) {
+            return windowCount[node] == 0 ? Double.NaN : windowSum[node];
+        }
+
+        double count(int node) {
+            return windowCount[node];
+        }
+
+        double min(int node) {
+            double result = Double.NaN;
+            for (int i = node * buckets, end = i + buckets; i < end; i++) {
+                if (count[i] > 0 && !(min[i] >= result)) {
+                    result = min[i];
+                }
+            }
+            return result;
+        }
+
+        double max(int node) {
+            double result = Double.NaN;
+            for (int i = node * buckets, end = i + buckets; i < end; i++) {
+                if (count[i] > 0 && !(max[i] <= result)) {
+                    result = max[i];
+                }
+            }
+            return result;
+        }
+    }
+}
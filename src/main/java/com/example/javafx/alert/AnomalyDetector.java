@@ -0,0 +1,194 @@
+package com.example.javafx.alert;
+
+import com.example.javafx.cluster.NodeMetricStore;
+import java.util.Arrays;
+import java.util.Locale;
+
+// Streaming anomaly detection for every metric of every node. Each series
+// keeps two models, both updated in O(1) per sample:
+//
+//  - EWMA mean and variance, which know what the series has done lately;
+//  - additive Holt-Winters with a slow level, a trend and a time-of-day
+//    season of SEASON_SLOTS slots, which knows what it usually does at this
+//    hour. A slot's seasonal term is the mean offset from the level seen
+//    while it lasted, folded in by SEASON_GAMMA when the slot ends, so it
+//    learns day over day without tiny per-sample steps.
+//
+// A sample is anomalous when it is more than THRESHOLD deviations off both
+// models' expectations, which leaves out a busy hour that always happens
+// (Holt-Winters expects it) and a slow drift (the EWMA follows it). After
+// RAISE_AFTER anomalous samples in a row the series raises an anomaly alert,
+// which clears after CLEAR_AFTER normal ones. Samples update the models
+// clamped to the threshold, so one wild value does not blow up the variance.
+//
+// Smoothing constants are per sample, sized for about one sample a second.
+// State is 53 bytes per series in flat arrays, with the season held as
+// half-precision floats: 5,000 nodes x 20 metrics is about 5 MB.
+public final class AnomalyDetector {
+
+    private static final int SEASON_SLOTS = 12;
+    private static final long SLOT_MILLIS = 86_400_000L / SEASON_SLOTS;
+    private static final double EWMA_ALPHA = 0.02;
+    private static final double LEVEL_ALPHA = 0.001;
+    private static final double TREND_BETA = 0.01;
+    // Per slot and day
+    private static final double SEASON_GAMMA = 0.3;
+    private static final double THRESHOLD = 4;
+    private static final int WARM_UP = 60;
+    private static final int RAISE_AFTER = 3;
+    private static final int CLEAR_AFTER = 10;
+    private static final float HALF_MAX = 65504;
+
+    private final AlertRule[] rules;
+    private final int firstRuleId;
+    private final AlertEngine.Listener listener;
+    private final int metrics;
+
+    // Index node * metrics + metric
+    private final float[] mean;
+    private final float[] variance;
+    private final float[] level;
+    private final float[] trend;
+    private final float[] residualVariance;
+    private final short[] season;
+    // The slot being learned, and the mean offset from the level so far
+    private final byte[] slotNow;
+    private final float[] slotMean;
+    private final short[] slotSamples;
+    private final byte[] warm;
+    private final byte[] streak;
+    private final long[] active;
+    private final long[] observedVersion;
+    private final double[] values;
+
+    // Alerts carry rule ids from firstRuleId on, one per column, so they can share a list with AlertEngine's
+    public AnomalyDetector(String[] columns, int nodes, int firstRuleId, AlertEngine.Listener listener) {
+        this.metrics = columns.length;
+        this.rules = new AlertRule[metrics];
+        for (int m = 0; m < metrics; m++) {
+            rules[m] = new AlertRule(columns[m].toUpperCase(Locale.ROOT) + " ANOMALY", AlertRule.Severity.CAUTION,
+                columns[m], null, RAISE_AFTER, CLEAR_AFTER);
+        }
+        this.firstRuleId = firstRuleId;
+        this.listener = listener;
+        int series = nodes * metrics;
+        this.mean = new float[series];
+        this.variance = new float[series];
+        this.level = new float[series];
+        this.trend = new float[series];
+        this.residualVariance = new float[series];
+        this.season = new short[series * SEASON_SLOTS];
+        this.slotNow = new byte[series];
+        this.slotMean = new float[series];
+        this.slotSamples = new short[series];
+        this.warm = new byte[series];
+        this.streak = new byte[series];
+        this.active = new long[(series + 63) >>> 6];
+        this.observedVersion = new long[nodes];
+        Arrays.fill(observedVersion, -1);
+        this.values = new double[metrics];
+    }
+
+    // Whether an alert came from this detector rather than a rule
+    public boolean owns(AlertEvent event) {
+        return event.ruleId() >= firstRuleId && event.ruleId() < firstRuleId + metrics;
+    }
+
+    // Bytes of model state, for sizing
+    public long stateBytes() {
+        return mean.length * (6L * Float.BYTES + 5) + season.length * 2L + active.length * 8L;
+    }
+
+    // One sample of a node, values in column order; NaN skips that metric
+    public synchronized void observe(int node, double[] values, long nowMillis) {
+        int slot = (int) Math.floorMod(Math.floorDiv(nowMillis, SLOT_MILLIS), (long) SEASON_SLOTS);
+        int base = node * metrics;
+        for (int m = 0; m < metrics; m++) {
+            double x = values[m];
+            if (!Double.isNaN(x)) {
+                update(base + m, m, node, x, slot, nowMillis);
+            }
+        }
+    }
+
+    // Nodes of the store that changed since the last call; store node i is detector node i + offset
+    public synchronized void observe(NodeMetricStore store, int offset, long nowMillis) {
+        int count = Math.min(metrics, store.metricCount());
+        for (int i = 0; i < store.nodeCount(); i++) {
+            long version = store.version(i);
+            int node = i + offset;
+            if (version == observedVersion[node]) {
+                continue;
+            }
+            observedVersion[node] = version;
+            for (int m = 0; m < count; m++) {
+                values[m] = store.get(i, m);
+            }
+            observe(node, values, nowMillis);
+        }
+    }
+
+    private void update(int s, int m, int node, double x, int slot, long nowMillis) {
+        if (warm[s] == 0) {
+            mean[s] = (float) x;
+            level[s] = (float) x;
+            slotNow[s] = (byte) slot;
+            warm[s] = 1;
+            return;
+        }
+        if (slot != slotNow[s]) {
+            closeSlot(s);
+            slotNow[s] = (byte) slot;
+        }
+        double seasonal = Float.float16ToFloat(season[s * SEASON_SLOTS + slot]);
+        double ewmaSd = Math.sqrt(variance[s]);
+        double forecast = level[s] + trend[s] + seasonal;
+        double hwSd = Math.sqrt(residualVariance[s]);
+        boolean warmedUp = warm[s] >= WARM_UP;
+        // A flat series has no variance; any change at all is then not an anomaly by itself
+        boolean anomalous = warmedUp && ewmaSd > 0 && hwSd > 0
+            && Math.abs(x - mean[s]) > THRESHOLD * ewmaSd && Math.abs(x - forecast) > THRESHOLD * hwSd;
+        if (!warmedUp) {
+            warm[s]++;
+        }
+
+        // EWMA, fed a clamped sample
+        double limit = THRESHOLD * ewmaSd;
+        double d = warmedUp ? Math.max(-limit, Math.min(limit, x - mean[s])) : x - mean[s];
+        mean[s] += (float) (EWMA_ALPHA * d);
+        variance[s] = (float) ((1 - EWMA_ALPHA) * (variance[s] + EWMA_ALPHA * d * d));
+
+        // Holt-Winters, fed the forecast plus a clamped residual
+        double hwLimit = THRESHOLD * hwSd;
+        double residual = warmedUp ? Math.max(-hwLimit, Math.min(hwLimit, x - forecast)) : x - forecast;
+        double y = forecast + residual;
+        double previousLevel = level[s];
+        double newLevel = LEVEL_ALPHA * (y - seasonal) + (1 - LEVEL_ALPHA) * (previousLevel + trend[s]);
+        level[s] = (float) newLevel;
+        trend[s] = (float) (TREND_BETA * (newLevel - previousLevel) + (1 - TREND_BETA) * trend[s]);
+        residualVariance[s] = (float) ((1 - EWMA_ALPHA) * (residualVariance[s] + EWMA_ALPHA * residual * residual));
+        int n = slotSamples[s] < Short.MAX_VALUE ? ++slotSamples[s] : Short.MAX_VALUE;
+        slotMean[s] += (float) ((y - newLevel - slotMean[s]) / n);
+
+        boolean on = (active[s >>> 6] & 1L << s) != 0;
+        if (anomalous == on) {
+            streak[s] = 0;
+        } else if (++streak[s] >= (on ? CLEAR_AFTER : RAISE_AFTER)) {
+            streak[s] = 0;
+            active[s >>> 6] ^= 1L << s;
+            listener.onTransition(new AlertEvent(nowMillis, firstRuleId + m, rules[m], node, !on, x));
+        }
+    }
+
+    // Folds what the ending slot saw into its seasonal term
+    private void closeSlot(int s) {
+        if (slotSamples[s] > 0) {
+            int i = s * SEASON_SLOTS + slotNow[s];
+            double seasonal = Float.float16ToFloat(season[i]);
+            seasonal += SEASON_GAMMA * (slotMean[s] - seasonal);
+            season[i] = Float.floatToFloat16((float) Math.max(-HALF_MAX, Math.min(HALF_MAX, seasonal)));
+        }
+        slotMean[s] = 0;
+        slotSamples[s] = 0;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.javafx.alert;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// Appends one line per notice to a file
+public final class FileAlertChannel implements AlertChannel {
+
+    private final Path file;
+
+    public FileAlertChannel(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public String name() {
+        return "file " + file;
+    }
+
+    @Override
+    public void send(List<AlertNotice> batch) throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (AlertNotice notice : batch) {
+            text.append(notice.text()).append('\n');
+        }
+        Files.writeString(file, text, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+}
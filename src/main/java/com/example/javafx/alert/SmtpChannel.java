@@ -0,0 +1,80 @@
+package com.example.javafx.alert;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+// Mails each batch through a plain SMTP relay (no TLS or auth), e.g. a local
+// test mail server; one message per batch
+public final class SmtpChannel implements AlertChannel {
+
+    private static final int TIMEOUT_MILLIS = 5_000;
+    private static final String FROM = "skywatch@localhost";
+
+    private final String host;
+    private final int port;
+    private final String to;
+
+    public SmtpChannel(String host, int port, String to) {
+        this.host = host;
+        this.port = port;
+        this.to = to;
+    }
+
+    @Override
+    public String name() {
+        return "smtp " + host + ":" + port + " to " + to;
+    }
+
+    @Override
+    public void send(List<AlertNotice> batch) throws IOException {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(host, port), TIMEOUT_MILLIS);
+            socket.setSoTimeout(TIMEOUT_MILLIS);
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            OutputStream out = socket.getOutputStream();
+            expect(in, 220);
+            command(out, in, "HELO skywatch", 250);
+            command(out, in, "MAIL FROM:<" + FROM + ">", 250);
+            command(out, in, "RCPT TO:<" + to + ">", 250);
+            command(out, in, "DATA", 354);
+            StringBuilder message = new StringBuilder()
+                .append("From: ").append(FROM).append("\r\n")
+                .append("To: ").append(to).append("\r\n")
+                .append("Subject: SKYWATCH ").append(batch.size()).append(batch.size() == 1 ? " alert" : " alerts")
+                .append("\r\n\r\n");
+            for (AlertNotice notice : batch) {
+                // Dot-stuffing is never needed: every line starts with a timestamp
+                message.append(notice.text()).append("\r\n");
+            }
+            message.append('.');
+            command(out, in, message.toString(), 250);
+            command(out, in, "QUIT", 221);
+        }
+    }
+
+    private static void command(OutputStream out, BufferedReader in, String line, int expected) throws IOException {
+        out.write((line + "\r\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+        expect(in, expected);
+    }
+
+    // Reads a reply, following "250-" continuation lines
+    private static void expect(BufferedReader in, int expected) throws IOException {
+        String line;
+        do {
+            line = in.readLine();
+            if (line == null) {
+                throw new IOException("SMTP connection closed");
+            }
+        } while (line.length() > 3 && line.charAt(3) == '-');
+        if (!line.startsWith(Integer.toString(expected))) {
+            throw new IOException("SMTP: " + line);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.javafx.alert;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+// POSTs each batch as {"alerts":[...]} JSON; any status but 2xx is a failure
+public final class WebhookChannel implements AlertChannel {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final URI uri;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(TIMEOUT).build();
+
+    public WebhookChannel(URI uri) {
+        this.uri = uri;
+    }
+
+    @Override
+    public String name() {
+        return "webhook " + uri;
+    }
+
+    @Override
+    public void send(List<AlertNotice> batch) throws IOException {
+        StringBuilder body = new StringBuilder("{\"alerts\":[");
+        for (int i = 0; i < batch.size(); i++) {
+            body.append(i == 0 ? "" : ",").append(batch.get(i).json());
+        }
+        body.append("]}");
+        HttpRequest request = HttpRequest.newBuilder(uri)
+            .timeout(TIMEOUT)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+            .build();
+        try {
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status / 100 != 2) {
+                throw new IOException("HTTP " + status);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted", e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.javafx.cluster;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public record ClusterNode(String name, URI endpoint) {
+
+    // Reads "NAME URL" lines; blank lines and # comments are skipped
+    public static List<ClusterNode> load(Path file) throws IOException {
+        List<ClusterNode> nodes = new ArrayList<>();
+        for (String line : Files.readAllLines(file)) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split("\\s+", 2);
+            if (parts.length != 2) {
+                throw new IOException("Expected NAME URL in " + file + ": " + line);
+            }
+            nodes.add(new ClusterNode(parts[0], URI.create(parts[1])));
+        }
+        return nodes;
+    }
+}
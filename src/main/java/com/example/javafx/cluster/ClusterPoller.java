@@ -0,0 +1,254 @@
+package com.example.javafx.cluster;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Consumer;
+
+// Polls every node's metrics endpoint once per interval. Each poll runs on a
+// virtual thread and a shared HttpClient keeps connections alive between
+// rounds. A semaphore caps requests in flight, and a node whose previous poll
+// has not finished is skipped rather than queued, so a slow cluster cannot
+// build up a backlog.
+//
+// Nodes answer with plain-text "metric value" lines; metrics are matched
+// against a fixed column list and reported by (node, column) index.
+public final class ClusterPoller implements AutoCloseable {
+
+    public interface Listener {
+        void onMetric(int node, int column, double value);
+    }
+
+    private static final int LEAD_NODES = 3;
+
+    private final List<ClusterNode> nodes;
+    private final byte[][] columns;
+    private final Duration interval;
+    private final Listener listener;
+    private final Consumer<ClusterSummary> summarySink;
+
+    private final HttpClient client;
+    private final HttpRequest[] requests;
+    private final Semaphore budget;
+    private final AtomicIntegerArray inFlight;
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService ticker;
+
+    // Written by the node's worker, read by the ticker; a stale read only
+    // delays a status change by one round
+    private final NodeStatus[] status;
+    private final long[] latencyNanos;
+    private int skipped;
+
+    public ClusterPoller(List<ClusterNode> nodes, String[] columns, Duration interval, Duration timeout,
+                         int maxInFlight, Listener listener, Consumer<ClusterSummary> summarySink) {
+        this.nodes = List.copyOf(nodes);
+        this.columns = new byte[columns.length][];
+        for (int i = 0; i < columns.length; i++) {
+            this.columns[i] = columns[i].getBytes(StandardCharsets.US_ASCII);
+        }
+        this.interval = interval;
+        this.listener = listener;
+        this.summarySink = summarySink;
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(timeout)
+            .executor(workers)
+            .build();
+        this.requests = new HttpRequest[nodes.size()];
+        for (int i = 0; i < requests.length; i++) {
+            requests[i] = HttpRequest.newBuilder(nodes.get(i).endpoint()).timeout(timeout).GET().build();
+        }
+        this.budget = new Semaphore(maxInFlight);
+        this.inFlight = new AtomicIntegerArray(nodes.size());
+        this.status = new NodeStatus[nodes.size()];
+        this.latencyNanos = new long[nodes.size()];
+        Arrays.fill(status, NodeStatus.UNKNOWN);
+        this.ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "skywatch-cluster-poller");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    public ClusterNode node(int index) {
+        return nodes.get(index);
+    }
+
+    public void start() {
+        ticker.scheduleAtFixedRate(this::round, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void round() {
+        summarySink.accept(summarize());
+        int skippedThisRound = 0;
+        for (int i = 0; i < requests.length; i++) {
+            if (inFlight.compareAndSet(i, 0, 1)) {
+                int node = i;
+                workers.execute(() -> pollNode(node));
+            } else {
+                skippedThisRound++;
+            }
+        }
+        skipped = skippedThisRound;
+    }
+
+    private void pollNode(int node) {
+        try {
+            budget.acquire();
+        } catch (InterruptedException e) {
+            inFlight.set(node, 0);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = client.send(requests[node], HttpResponse.BodyHandlers.ofByteArray());
+            latencyNanos[node] = System.nanoTime() - start;
+            if (response.statusCode() == 200) {
+                parse(node, response.body());
+                status[node] = NodeStatus.UP;
+            } else {
+                status[node] = NodeStatus.DOWN;
+            }
+        } catch (HttpTimeoutException e) {
+            status[node] = NodeStatus.TIMEOUT;
+        } catch (IOException e) {
+            status[node] = NodeStatus.DOWN;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            budget.release();
+            inFlight.set(node, 0);
+        }
+    }
+
+    // "metric value\n" lines; unknown metrics are ignored
+    private void parse(int node, byte[] body) {
+        int pos = 0;
+        while (pos < body.length) {
+            int keyEnd = pos;
+            while (keyEnd < body.length && body[keyEnd] != ' ' && body[keyEnd] != '\n') {
+                keyEnd++;
+            }
+            int column = column(body, pos, keyEnd);
+            int lineEnd = keyEnd;
+            while (lineEnd < body.length && body[lineEnd] != '\n') {
+                lineEnd++;
+            }
+            if (column >= 0 && keyEnd < lineEnd) {
+                double value = parseDouble(body, keyEnd + 1, lineEnd);
+                if (!Double.isNaN(value)) {
+                    listener.onMetric(node, column, value);
+                }
+            }
+            pos = lineEnd + 1;
+        }
+    }
+
+    private int column(byte[] body, int from, int to) {
+        outer:
+        for (int c = 0; c < columns.length; c++) {
+            byte[] name = columns[c];
+            if (name.length != to - from) {
+                continue;
+            }
+            for (int i = 0; i < name.length; i++) {
+                if (body[from + i] != name[i]) {
+                    continue outer;
+                }
+            }
+            return c;
+        }
+        return -1;
+    }
+
+    // Plain decimals are parsed in place; anything else (an exponent, NaN) goes
+    // through Double.parseDouble, and text that is not a number gives NaN
+    static double parseDouble(byte[] data, int from, int to) {
+        while (from < to && data[from] == ' ') {
+            from++;
+        }
+        int start = from;
+        boolean negative = from < to && data[from] == '-';
+        if (negative) {
+            from++;
+        }
+        double value = 0;
+        boolean digits = false;
+        while (from < to && data[from] >= '0' && data[from] <= '9') {
+            value = value * 10 + (data[from++] - '0');
+            digits = true;
+        }
+        if (from < to && data[from] == '.') {
+            from++;
+            double scale = 0.1;
+            while (from < to && data[from] >= '0' && data[from] <= '9') {
+                value += (data[from++] - '0') * scale;
+                scale /= 10;
+                digits = true;
+            }
+        }
+        int end = from;
+        while (end < to && (data[end] == ' ' || data[end] == '\r')) {
+            end++;
+        }
+        if (end < to) {
+            try {
+                return Double.parseDouble(new String(data, start, to - start, StandardCharsets.US_ASCII).trim());
+            } catch (NumberFormatException e) {
+                return Double.NaN;
+            }
+        }
+        if (!digits) {
+            return Double.NaN;
+        }
+        return negative ? -value : value;
+    }
+
+    private ClusterSummary summarize() {
+        int up = 0;
+        int timedOut = 0;
+        long latencySum = 0;
+        for (int i = 0; i < status.length; i++) {
+            if (status[i] == NodeStatus.UP) {
+                up++;
+                latencySum += latencyNanos[i];
+            } else if (status[i] == NodeStatus.TIMEOUT) {
+                timedOut++;
+            }
+        }
+        int lead = Math.min(LEAD_NODES, nodes.size());
+        String[] names = new String[lead];
+        NodeStatus[] leadStatus = new NodeStatus[lead];
+        double[] leadLatency = new double[lead];
+        for (int i = 0; i < lead; i++) {
+            names[i] = nodes.get(i).name();
+            leadStatus[i] = status[i];
+            leadLatency[i] = status[i] == NodeStatus.UP ? latencyNanos[i] / 1e6 : Double.NaN;
+        }
+        double mean = up > 0 ? latencySum / 1e6 / up : Double.NaN;
+        return new ClusterSummary(nodes.size(), up, timedOut, skipped, mean, names, leadStatus, leadLatency);
+    }
+
+    @Override
+    public void close() {
+        ticker.shutdownNow();
+        workers.shutdownNow();
+    }
+}
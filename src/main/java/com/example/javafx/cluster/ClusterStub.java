@@ -0,0 +1,94 @@
+package com.example.javafx.cluster;
+
+import com.example.javafx.metrics.MetricNames;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Local HTTP stand-in for a cluster: /node/<n> serves a random-walk metric
+// payload in the format ClusterPoller expects. Used for demos and load tests
+// when no real nodes are available.
+public final class ClusterStub implements AutoCloseable {
+
+    private final HttpServer server;
+    private final int nodeCount;
+    private final double[][] state;
+
+    public ClusterStub(int nodeCount) throws IOException {
+        this.nodeCount = nodeCount;
+        this.state = new double[nodeCount][];
+        for (int i = 0; i < nodeCount; i++) {
+            state[i] = new double[] {45, 62, 30, 250, 180, 65, 1247, 23};
+        }
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        server.createContext("/node/", this::handle);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+    }
+
+    public List<ClusterNode> nodes() {
+        List<ClusterNode> nodes = new ArrayList<>(nodeCount);
+        InetSocketAddress address = server.getAddress();
+        for (int i = 0; i < nodeCount; i++) {
+            URI uri = URI.create("http://" + address.getHostString() + ":" + address.getPort() + "/node/" + i);
+            nodes.add(new ClusterNode("NODE" + (i + 1), uri));
+        }
+        return nodes;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        int node;
+        try {
+            node = Integer.parseInt(path.substring(path.lastIndexOf('/') + 1));
+        } catch (NumberFormatException e) {
+            node = -1;
+        }
+        if (node < 0 || node >= nodeCount) {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+        byte[] body = payload(node).getBytes(StandardCharsets.US_ASCII);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private String payload(int node) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double[] v = state[node];
+        synchronized (v) {
+            v[0] = Math.max(0, Math.min(100, v[0] + (random.nextDouble() - 0.5) * 10));
+            v[1] = Math.max(0, Math.min(100, v[1] + (random.nextDouble() - 0.5) * 5));
+            v[2] = Math.max(0, Math.min(100, v[2] + (random.nextDouble() - 0.5) * 15));
+            v[3] = Math.max(0, Math.min(500, v[3] + (random.nextDouble() - 0.5) * 50));
+            v[4] = Math.max(0, Math.min(500, v[4] + (random.nextDouble() - 0.5) * 40));
+            v[5] = Math.max(40, Math.min(95, v[5] + (random.nextDouble() - 0.5) * 3));
+            v[6] = Math.max(0, Math.min(5000, v[6] + random.nextInt(100) - 50));
+            v[7] = Math.max(1, Math.min(200, v[7] + (random.nextDouble() - 0.5) * 10));
+            StringBuilder sb = new StringBuilder(128);
+            String[] names = MetricNames.NODE_METRICS;
+            for (int i = 0; i < names.length; i++) {
+                sb.append(names[i]).append(' ').append(String.format("%.2f", v[i])).append('\n');
+            }
+            return sb.toString();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
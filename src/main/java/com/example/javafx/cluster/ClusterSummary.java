@@ -0,0 +1,15 @@
+package com.example.javafx.cluster;
+
+// Cluster-wide view after one polling round, plus the first few nodes for the
+// CLUSTER COMM readouts. Latencies are in milliseconds, NaN when unknown.
+public record ClusterSummary(
+    int nodes,
+    int up,
+    int timedOut,
+    int skipped,
+    double meanLatency,
+    String[] leadNames,
+    NodeStatus[] leadStatus,
+    double[] leadLatency
+) {
+}
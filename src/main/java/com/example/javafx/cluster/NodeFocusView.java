@@ -0,0 +1,65 @@
+package com.example.javafx.cluster;
+
+import javafx.beans.property.DoubleProperty;
+
+// Projects one node of a NodeMetricStore onto a fixed set of on-screen
+// properties. Only the properties passed in exist - there is no per-node
+// observable state - and switching the focused node is a field write, so it
+// is O(1) and allocation-free. FX thread only.
+public final class NodeFocusView {
+
+    private final NodeMetricStore store;
+    private final DoubleProperty[] targets;
+    private int node = -1;
+    private long appliedVersion = -1;
+
+    // targets[metric] may be null for metrics that are not on screen
+    public NodeFocusView(NodeMetricStore store, DoubleProperty[] targets) {
+        this.store = store;
+        this.targets = targets;
+    }
+
+    public int focusedNode() {
+        return node;
+    }
+
+    // Whether the property currently shows the focused node, so nothing else should write it
+    public boolean holds(DoubleProperty property) {
+        if (node < 0) {
+            return false;
+        }
+        for (DoubleProperty target : targets) {
+            if (target == property) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // -1 releases the targets
+    public void focus(int node) {
+        this.node = node;
+        appliedVersion = -1;
+        refresh();
+    }
+
+    // Pushes the focused node's values if they changed since the last call
+    public void refresh() {
+        if (node < 0) {
+            return;
+        }
+        long version = store.version(node);
+        if (version == appliedVersion) {
+            return;
+        }
+        appliedVersion = version;
+        for (int metric = 0; metric < targets.length; metric++) {
+            if (targets[metric] != null) {
+                double value = store.get(node, metric);
+                if (!Double.isNaN(value)) {
+                    targets[metric].set(value);
+                }
+            }
+        }
+    }
+}
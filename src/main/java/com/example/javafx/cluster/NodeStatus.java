@@ -0,0 +1,8 @@
+package com.example.javafx.cluster;
+
+public enum NodeStatus {
+    UNKNOWN,
+    UP,
+    DOWN,
+    TIMEOUT
+}
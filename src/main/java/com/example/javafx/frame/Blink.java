@@ -0,0 +1,58 @@
+package com.example.javafx.frame;
+
+import javafx.beans.property.DoubleProperty;
+import javafx.util.Duration;
+
+// Flashes an opacity between 1 and a dim level while started, switching
+// every half period like an annunciator rather than fading, so a flashing
+// light costs two frames a second instead of every frame. FX thread only.
+public final class Blink implements FrameTask {
+
+    private final FrameScheduler frames;
+    private final DoubleProperty opacity;
+    private final double dim;
+    private final long halfPeriodNanos;
+    private boolean running;
+    private boolean dimmed;
+    private long next;
+
+    public Blink(FrameScheduler frames, DoubleProperty opacity, double dim, Duration halfPeriod) {
+        this.frames = frames;
+        this.opacity = opacity;
+        this.dim = dim;
+        this.halfPeriodNanos = (long) (halfPeriod.toMillis() * 1_000_000);
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public void start() {
+        if (!running) {
+            running = true;
+            dimmed = true;
+            next = NEXT_FRAME;
+            frames.add(this);
+        }
+    }
+
+    // Leaves the opacity at 1
+    public void stop() {
+        if (running) {
+            running = false;
+            frames.remove(this);
+            opacity.set(1);
+        }
+    }
+
+    @Override
+    public long frame(long now) {
+        if (now < next) {
+            return next;
+        }
+        dimmed = !dimmed;
+        opacity.set(dimmed ? dim : 1);
+        next = now + halfPeriodNanos;
+        return next;
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.javafx.frame;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.util.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// The one AnimationTimer behind every instrument. A wake (requestFrame(),
+// from any thread, e.g. when a value arrives) runs every task on the next
+// frame; a task also runs by the time it returned, and frames keep coming
+// only while some task asks for the next one. Otherwise the timer is
+// stopped, so JavaFX does no pulses at all until the next wake, and a task
+// due later gets a timed wake instead. Tasks run in turn until the frame
+// budget is spent and the rest go first on the next frame. Nothing runs
+// while the window is hidden; everything runs once it is shown again.
+public final class FrameScheduler implements AutoCloseable {
+
+    private static final long FRAME_BUDGET_NANOS = 6_000_000;
+    // Due before the next frame is as good as due on it
+    private static final long FRAME_NANOS = 16_000_000;
+
+    private static final class Entry {
+
+        final FrameTask task;
+        long due = FrameTask.NEXT_FRAME;
+        boolean removed;
+
+        Entry(FrameTask task) {
+            this.task = task;
+        }
+    }
+
+    private final List<Entry> entries = new ArrayList<>();
+    // What the current frame walks; rebuilt on the next frame after a change
+    private Entry[] order = new Entry[0];
+    private boolean entriesChanged;
+    private int cursor;
+
+    private final AtomicBoolean pending = new AtomicBoolean();
+    private volatile boolean running;
+    private boolean visible = true;
+    private long wakeAt = FrameTask.IDLE;
+    private ScheduledFuture<?> timedWake;
+    private long frameCount;
+    // Frame time counts from here, so it is always positive
+    private final long origin = System.nanoTime() - 1;
+
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            frame();
+        }
+    };
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "skywatch-frames");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // FX thread only; the task first runs on the next frame
+    public void add(FrameTask task) {
+        entries.add(new Entry(task));
+        entriesChanged = true;
+        requestFrame();
+    }
+
+    // FX thread only
+    public void remove(FrameTask task) {
+        for (int i = 0; i < entries.size(); i++) {
+            if (entries.get(i).task == task) {
+                entries.remove(i).removed = true;
+                entriesChanged = true;
+                return;
+            }
+        }
+    }
+
+    // Any thread. Cheap enough to call on every value: while a wake is pending it is one volatile read.
+    public void requestFrame() {
+        if (pending.get() || pending.getAndSet(true) || running) {
+            return;
+        }
+        if (Platform.isFxApplicationThread()) {
+            resume();
+        } else {
+            Platform.runLater(this::resume);
+        }
+    }
+
+    // Background work on the FX thread at a fixed rate, hidden or not. It costs no pulse
+    // unless it changes what is on screen.
+    public void every(Duration period, Runnable action) {
+        long millis = (long) period.toMillis();
+        ticker.scheduleAtFixedRate(() -> Platform.runLater(action), millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    // FX thread only, e.g. from the stage's iconified and showing properties
+    public void setVisible(boolean visible) {
+        if (this.visible == visible) {
+            return;
+        }
+        this.visible = visible;
+        if (!visible) {
+            sleep();
+            scheduleWake(FrameTask.IDLE);
+        } else {
+            pending.set(true);
+            resume();
+        }
+    }
+
+    // Frames run so far, for checking that an idle dashboard stays idle
+    public long frameCount() {
+        return frameCount;
+    }
+
+    // The clock tasks are given; nanoseconds since the scheduler was made
+    public long now() {
+        return System.nanoTime() - origin;
+    }
+
+    private void resume() {
+        if (!visible || running) {
+            return;
+        }
+        running = true;
+        timer.start();
+    }
+
+    private void sleep() {
+        running = false;
+        timer.stop();
+    }
+
+    private void frame() {
+        if (entriesChanged) {
+            entriesChanged = false;
+            order = entries.toArray(new Entry[0]);
+            cursor = 0;
+        }
+        frameCount++;
+        boolean wake = pending.getAndSet(false);
+        long start = now();
+        long next = FrameTask.IDLE;
+        int n = order.length;
+        for (int k = 0; k < n; k++) {
+            int i = (cursor + k) % n;
+            Entry entry = order[i];
+            if (entry.removed) {
+                continue;
+            }
+            if (!wake && entry.due > start) {
+                next = Math.min(next, entry.due);
+                continue;
+            }
+            if (k > 0 && now() - start > FRAME_BUDGET_NANOS) {
+                // Out of time: whatever was to run here goes first next frame
+                for (int rest = k; rest < n; rest++) {
+                    Entry late = order[(cursor + rest) % n];
+                    if (wake || late.due <= start) {
+                        late.due = FrameTask.NEXT_FRAME;
+                    }
+                }
+                cursor = i;
+                return;
+            }
+            entry.due = entry.task.frame(start);
+            next = Math.min(next, entry.due);
+        }
+        if (next - start <= FRAME_NANOS) {
+            return;
+        }
+        sleep();
+        // A wake that came in while we were stopping
+        if (pending.get()) {
+            resume();
+            return;
+        }
+        scheduleWake(next);
+    }
+
+    private void scheduleWake(long due) {
+        if (due == wakeAt) {
+            return;
+        }
+        if (timedWake != null) {
+            timedWake.cancel(false);
+            timedWake = null;
+        }
+        wakeAt = due;
+        if (due != FrameTask.IDLE) {
+            timedWake = ticker.schedule(() -> Platform.runLater(() -> {
+                wakeAt = FrameTask.IDLE;
+                timedWake = null;
+                resume();
+            }), due - now(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void close() {
+        sleep();
+        ticker.shutdownNow();
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.javafx.frame;
+
+// Work done on the FX thread in a FrameScheduler frame. A task runs on every
+// wake and again by the time it returned, so it must cope with running early.
+@FunctionalInterface
+public interface FrameTask {
+
+    // Run again on the very next frame, e.g. while a needle is still moving
+    long NEXT_FRAME = 0;
+    // Nothing to do until the next wake
+    long IDLE = Long.MAX_VALUE;
+
+    // now is FrameScheduler.now() at the start of the frame; returns the time
+    // on that clock by which to run again, NEXT_FRAME or IDLE
+    long frame(long now);
+}
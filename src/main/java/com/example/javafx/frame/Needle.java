@@ -0,0 +1,75 @@
+package com.example.javafx.frame;
+
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableDoubleValue;
+import java.util.function.DoubleUnaryOperator;
+
+// Eases an angle toward where a value says it should point, closing most of
+// the gap within TIME_CONSTANT_NANOS whatever the frame rate. A needle only
+// asks for frames while it is moving, so a static value costs none, and a
+// new value mid-swing just moves the target. FX thread only.
+public final class Needle implements FrameTask {
+
+    private static final double TIME_CONSTANT_NANOS = 120e6;
+    // Close enough to snap to the target and stop
+    private static final double SETTLED_DEGREES = 0.05;
+    // The first step after resting, and the largest one after a long frame
+    private static final long FIRST_STEP_NANOS = 16_000_000;
+    private static final long MAX_STEP_NANOS = 100_000_000;
+
+    private final FrameScheduler frames;
+    private final ObservableDoubleValue value;
+    private final ChangeListener<Number> onChange;
+    private final DoubleProperty angle;
+    private double target;
+    private long lastFrame = -1;
+
+    public Needle(FrameScheduler frames, ObservableDoubleValue value, DoubleUnaryOperator toAngle, DoubleProperty angle) {
+        this.frames = frames;
+        this.value = value;
+        this.angle = angle;
+        this.target = toAngle.applyAsDouble(value.get());
+        if (Double.isFinite(target)) {
+            angle.set(target);
+        }
+        onChange = (obs, old, now) -> {
+            target = toAngle.applyAsDouble(now.doubleValue());
+            frames.requestFrame();
+        };
+        value.addListener(onChange);
+        frames.add(this);
+    }
+
+    // Stops following the value and leaves the angle where it is
+    public void dispose() {
+        value.removeListener(onChange);
+        frames.remove(this);
+    }
+
+    @Override
+    public long frame(long now) {
+        double current = angle.get();
+        // A NaN or infinite target has nowhere to ease to: stay put rather than chase it.
+        // From a NaN angle there is no easing either, only a jump.
+        if (!Double.isFinite(target) || !Double.isFinite(current)) {
+            if (Double.isFinite(target)) {
+                angle.set(target);
+            }
+            lastFrame = -1;
+            return IDLE;
+        }
+        double gap = target - current;
+        if (Math.abs(gap) < SETTLED_DEGREES) {
+            if (gap != 0) {
+                angle.set(target);
+            }
+            lastFrame = -1;
+            return IDLE;
+        }
+        long step = lastFrame < 0 ? FIRST_STEP_NANOS : Math.min(now - lastFrame, MAX_STEP_NANOS);
+        lastFrame = now;
+        angle.set(current + gap * (1 - Math.exp(-step / TIME_CONSTANT_NANOS)));
+        return NEXT_FRAME;
+    }
+}
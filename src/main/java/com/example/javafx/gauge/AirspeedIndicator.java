@@ -0,0 +1,33 @@
+package com.example.javafx.gauge;
+
+import com.example.javafx.frame.FrameScheduler;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.scene.control.Skin;
+
+// Two rates in Mb/s over the speed arcs: value is traffic in, outValue traffic out
+public final class AirspeedIndicator extends Gauge {
+
+    private final DoubleProperty outValue = new SimpleDoubleProperty(this, "outValue");
+
+    public AirspeedIndicator(FrameScheduler frames, String title) {
+        super(frames, title);
+    }
+
+    public DoubleProperty outValueProperty() {
+        return outValue;
+    }
+
+    public double getOutValue() {
+        return outValue.get();
+    }
+
+    public void setOutValue(double outValue) {
+        this.outValue.set(outValue);
+    }
+
+    @Override
+    protected Skin<?> createDefaultSkin() {
+        return new AirspeedIndicatorSkin(this);
+    }
+}
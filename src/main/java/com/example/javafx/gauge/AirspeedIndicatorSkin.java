@@ -0,0 +1,45 @@
+package com.example.javafx.gauge;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.ArcType;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+
+final class AirspeedIndicatorSkin extends GaugeSkin<AirspeedIndicator> {
+
+    private static final GaugePainter FACE = AirspeedIndicatorSkin::paintFace;
+    private static final Font LABELS = Font.font("Monospaced", FontWeight.BOLD, 12);
+    private static final Font READOUT = Font.font("Monospaced", FontWeight.BOLD, 16);
+
+    AirspeedIndicatorSkin(AirspeedIndicator control) {
+        super(control, FACE);
+        // IN/OUT readings under their labels on the face
+        gauge.setOverlay(g -> {
+            g.setFont(READOUT);
+            g.setFill(GREEN);
+            g.fillText(String.format("%.0f Mb/s", control.getValue()), 0, -10);
+            g.setFill(AMBER);
+            g.fillText(String.format("%.0f Mb/s", control.getOutValue()), 0, 40);
+        });
+        gauge.watch(control.valueProperty(), control.outValueProperty());
+    }
+
+    private static void paintFace(GraphicsContext g) {
+        paintBezel(g);
+        // Speed arc segments
+        g.setLineWidth(15);
+        g.setStroke(Color.LIGHTGREEN);
+        g.strokeArc(-95, -95, 190, 190, -90, -120, ArcType.OPEN);
+        g.setStroke(AMBER);
+        g.strokeArc(-95, -95, 190, 190, -210, -60, ArcType.OPEN);
+        g.setStroke(RED);
+        g.strokeArc(-95, -95, 190, 190, -270, -30, ArcType.OPEN);
+
+        g.setFont(LABELS);
+        g.setFill(GREEN);
+        g.fillText("IN", 0, -30);
+        g.setFill(AMBER);
+        g.fillText("OUT", 0, 20);
+    }
+}
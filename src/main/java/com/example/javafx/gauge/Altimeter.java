@@ -0,0 +1,17 @@
+package com.example.javafx.gauge;
+
+import com.example.javafx.frame.FrameScheduler;
+import javafx.scene.control.Skin;
+
+// One needle turn per 100, with the value as a percentage
+public final class Altimeter extends Gauge {
+
+    public Altimeter(FrameScheduler frames, String title) {
+        super(frames, title);
+    }
+
+    @Override
+    protected Skin<?> createDefaultSkin() {
+        return new AltimeterSkin(this);
+    }
+}
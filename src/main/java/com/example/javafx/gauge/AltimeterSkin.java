@@ -0,0 +1,41 @@
+package com.example.javafx.gauge;
+
+import javafx.beans.property.DoubleProperty;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+
+final class AltimeterSkin extends GaugeSkin<Altimeter> {
+
+    private static final GaugePainter FACE = AltimeterSkin::paintFace;
+    private static final Font NUMERALS = Font.font("Monospaced", 14);
+    private static final Font READOUT = Font.font("Monospaced", FontWeight.BOLD, 18);
+
+    AltimeterSkin(Altimeter control) {
+        super(control, FACE);
+        DoubleProperty angle = needle(control.valueProperty(), v -> v * 3.6);
+        gauge.setOverlay(g -> {
+            g.save();
+            g.rotate(angle.get());
+            g.setFill(AMBER);
+            g.fillPolygon(new double[] {0, -5, 0, 5}, new double[] {-80, 0, 10, 0}, 4);
+            g.restore();
+
+            g.setFill(GREEN);
+            g.setFont(READOUT);
+            g.fillText(String.format("%.0f%%", control.getValue()), 0, 40);
+        });
+        gauge.watch(control.valueProperty());
+    }
+
+    private static void paintFace(GraphicsContext g) {
+        paintBezel(g);
+        g.setFont(NUMERALS);
+        g.setFill(GREEN);
+        for (int i = 0; i < 10; i++) {
+            paintTick(g, i * 36, 85, 95);
+            double angle = Math.toRadians(i * 36 - 90);
+            g.fillText(String.valueOf(i * 10), Math.cos(angle) * 70, Math.sin(angle) * 70);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.javafx.gauge;
+
+import com.example.javafx.frame.FrameScheduler;
+import javafx.scene.control.Skin;
+
+// A horizon that banks with the value, level at 50, with the value as a percentage
+public final class AttitudeIndicator extends Gauge {
+
+    public AttitudeIndicator(FrameScheduler frames, String title) {
+        super(frames, title);
+    }
+
+    @Override
+    protected Skin<?> createDefaultSkin() {
+        return new AttitudeIndicatorSkin(this);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.javafx.gauge;
+
+import javafx.beans.property.DoubleProperty;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.CycleMethod;
+import javafx.scene.paint.LinearGradient;
+import javafx.scene.paint.Stop;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+
+final class AttitudeIndicatorSkin extends GaugeSkin<AttitudeIndicator> {
+
+    private static final GaugePainter FACE = AttitudeIndicatorSkin::paintFace;
+    private static final GaugePainter PITCH_LADDER = AttitudeIndicatorSkin::paintPitchLadder;
+    private static final LinearGradient SKY = new LinearGradient(0, 0, 0, 1, true, CycleMethod.NO_CYCLE,
+        new Stop(0, Color.rgb(0, 50, 100)),
+        new Stop(1, Color.rgb(0, 30, 60)));
+    private static final LinearGradient GROUND = new LinearGradient(0, 0, 0, 1, true, CycleMethod.NO_CYCLE,
+        new Stop(0, Color.rgb(80, 50, 20)),
+        new Stop(1, Color.rgb(60, 40, 15)));
+    private static final Font LADDER_FONT = Font.font("Monospaced", 10);
+    private static final Font READOUT = Font.font("Monospaced", FontWeight.BOLD, 24);
+
+    AttitudeIndicatorSkin(AttitudeIndicator control) {
+        super(control, FACE);
+        // Level at 50%
+        DoubleProperty bank = needle(control.valueProperty(), load -> (load - 50) * 0.6);
+        gauge.setOverlay(g -> {
+            g.save();
+            g.rotate(bank.get());
+            gauge.drawLayer(g, PITCH_LADDER);
+            g.restore();
+
+            g.setFill(GREEN);
+            g.setFont(READOUT);
+            g.fillText(String.format("%.0f%%", control.getValue()), 0, 0);
+        });
+        gauge.watch(control.valueProperty());
+    }
+
+    private static void paintFace(GraphicsContext g) {
+        paintBezel(g);
+        g.setFill(SKY);
+        g.fillRect(-90, -90, 180, 90);
+        g.setFill(GROUND);
+        g.fillRect(-90, 0, 180, 90);
+        // Horizon line
+        g.setFill(GREEN);
+        g.fillRect(-90, -1, 180, 2);
+    }
+
+    private static void paintPitchLadder(GraphicsContext g) {
+        g.setStroke(GREEN);
+        g.setLineWidth(1);
+        g.setFill(GREEN);
+        g.setFont(LADDER_FONT);
+        for (int i = -40; i <= 40; i += 10) {
+            if (i != 0) {
+                g.strokeLine(-30, i * 2, 30, i * 2);
+                g.fillText(String.valueOf(Math.abs(i)), 41, i * 2);
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.javafx.gauge;
+
+import com.example.javafx.frame.FrameScheduler;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.scene.control.Skin;
+
+// A needle sweeping three quarters of a turn from 0 to maxValue over the
+// temperature zones, with the value in °C turning amber at 70 and red at 85
+public final class EngineGauge extends Gauge {
+
+    private final DoubleProperty maxValue = new SimpleDoubleProperty(this, "maxValue", 100);
+
+    public EngineGauge(FrameScheduler frames, String title) {
+        super(frames, title);
+    }
+
+    public DoubleProperty maxValueProperty() {
+        return maxValue;
+    }
+
+    public double getMaxValue() {
+        return maxValue.get();
+    }
+
+    public void setMaxValue(double maxValue) {
+        this.maxValue.set(maxValue);
+    }
+
+    @Override
+    protected Skin<?> createDefaultSkin() {
+        return new EngineGaugeSkin(this);
+    }
+}
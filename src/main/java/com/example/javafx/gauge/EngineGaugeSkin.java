@@ -0,0 +1,51 @@
+package com.example.javafx.gauge;
+
+import javafx.beans.binding.Bindings;
+import javafx.beans.property.DoubleProperty;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.ArcType;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+
+final class EngineGaugeSkin extends GaugeSkin<EngineGauge> {
+
+    private static final GaugePainter FACE = EngineGaugeSkin::paintFace;
+    private static final Font READOUT = Font.font("Monospaced", FontWeight.BOLD, 24);
+
+    EngineGaugeSkin(EngineGauge control) {
+        super(control, FACE);
+        // A new maximum moves the needle as well as a new value; without a usable one it rests at 0
+        DoubleProperty angle = needle(Bindings.createDoubleBinding(() -> {
+            double max = control.getMaxValue();
+            return max > 0 ? control.getValue() / max : 0;
+        }, control.valueProperty(), control.maxValueProperty()), f -> -135 + f * 270);
+        gauge.setOverlay(g -> {
+            g.save();
+            g.rotate(angle.get());
+            g.setStroke(Color.WHITE);
+            g.setLineWidth(3);
+            g.strokeLine(0, 0, 0, -75);
+            g.restore();
+
+            // Colored by temperature
+            double temp = control.getValue();
+            g.setFill(temp < 70 ? GREEN : temp < 85 ? AMBER : RED);
+            g.setFont(READOUT);
+            g.fillText(String.format("%.0f°C", temp), 0, 40);
+        });
+        gauge.watch(control.valueProperty());
+    }
+
+    private static void paintFace(GraphicsContext g) {
+        paintBezel(g);
+        // Temperature zones
+        g.setLineWidth(20);
+        g.setStroke(GREEN);
+        g.strokeArc(-90, -90, 180, 180, 45, -180, ArcType.OPEN);
+        g.setStroke(AMBER);
+        g.strokeArc(-90, -90, 180, 180, -135, -45, ArcType.OPEN);
+        g.setStroke(RED);
+        g.strokeArc(-90, -90, 180, 180, -180, -45, ArcType.OPEN);
+    }
+}
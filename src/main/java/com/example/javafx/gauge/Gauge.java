@@ -0,0 +1,56 @@
+package com.example.javafx.gauge;
+
+import com.example.javafx.frame.FrameScheduler;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.scene.control.Control;
+
+// A titled cockpit instrument showing one value. The skin draws it on a
+// single canvas over face images shared by every gauge of the same kind and
+// size, so a new value repaints the canvas without a layout pass, and a grid
+// of hundreds costs a node and a canvas each. Bind value to a metric; the
+// needle eases toward it on the frame scheduler. FX thread only.
+public abstract class Gauge extends Control {
+
+    private final FrameScheduler frames;
+    private final StringProperty title = new SimpleStringProperty(this, "title", "");
+    private final DoubleProperty value = new SimpleDoubleProperty(this, "value");
+
+    protected Gauge(FrameScheduler frames, String title) {
+        this.frames = frames;
+        this.title.set(title);
+        getStyleClass().add("gauge");
+        // Instruments are read, not operated
+        setFocusTraversable(false);
+    }
+
+    public final FrameScheduler getFrames() {
+        return frames;
+    }
+
+    public final StringProperty titleProperty() {
+        return title;
+    }
+
+    public final String getTitle() {
+        return title.get();
+    }
+
+    public final void setTitle(String title) {
+        this.title.set(title);
+    }
+
+    public final DoubleProperty valueProperty() {
+        return value;
+    }
+
+    public final double getValue() {
+        return value.get();
+    }
+
+    public final void setValue(double value) {
+        this.value.set(value);
+    }
+}
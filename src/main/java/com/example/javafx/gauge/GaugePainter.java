@@ -0,0 +1,12 @@
+package com.example.javafx.gauge;
+
+import javafx.scene.canvas.GraphicsContext;
+
+// Draws part of a gauge in gauge units: the origin at the centre and
+// GaugeView.RADIUS to the edge, whatever size it ends up on screen. Text is
+// centred on the point it is drawn at.
+@FunctionalInterface
+public interface GaugePainter {
+
+    void paint(GraphicsContext g);
+}
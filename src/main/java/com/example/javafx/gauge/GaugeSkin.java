@@ -0,0 +1,85 @@
+package com.example.javafx.gauge;
+
+import com.example.javafx.frame.Needle;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.value.ObservableDoubleValue;
+import javafx.geometry.Pos;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Label;
+import javafx.scene.control.SkinBase;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleUnaryOperator;
+
+// The title over a GaugeView. Subclasses pass a face painter that is a
+// constant, so every gauge of the kind shares its images, and draw the
+// moving parts in the overlay.
+abstract class GaugeSkin<C extends Gauge> extends SkinBase<C> {
+
+    static final Color GREEN = Color.rgb(0, 255, 0);
+    static final Color AMBER = Color.rgb(255, 191, 0);
+    static final Color RED = Color.rgb(255, 0, 0);
+    static final Color CYAN = Color.rgb(0, 255, 255);
+    static final Color PANEL = Color.rgb(30, 30, 35);
+
+    static final GaugePainter BEZEL = GaugeSkin::paintBezel;
+
+    private static final Font TITLE_FONT = Font.font("Arial", FontWeight.BOLD, 12);
+    private static final double SIZE = 200;
+
+    private final Label title = new Label();
+    protected final GaugeView gauge;
+    private final List<Needle> needles = new ArrayList<>();
+
+    protected GaugeSkin(C control, GaugePainter face) {
+        super(control);
+        title.setFont(TITLE_FONT);
+        title.setTextFill(CYAN);
+        title.textProperty().bind(control.titleProperty());
+
+        gauge = new GaugeView(control.getFrames(), face);
+        gauge.setPrefSize(SIZE, SIZE);
+
+        VBox container = new VBox(5, title, gauge);
+        container.setAlignment(Pos.CENTER);
+        getChildren().add(container);
+    }
+
+    // An angle that eases toward toAngle(value) and repaints the gauge as it moves
+    protected DoubleProperty needle(ObservableDoubleValue value, DoubleUnaryOperator toAngle) {
+        DoubleProperty angle = new SimpleDoubleProperty();
+        needles.add(new Needle(getSkinnable().getFrames(), value, toAngle, angle));
+        gauge.watch(angle);
+        return angle;
+    }
+
+    @Override
+    public void dispose() {
+        for (Needle needle : needles) {
+            needle.dispose();
+        }
+        needles.clear();
+        gauge.dispose();
+        title.textProperty().unbind();
+        super.dispose();
+    }
+
+    static void paintBezel(GraphicsContext g) {
+        g.setFill(PANEL);
+        g.fillOval(-100, -100, 200, 200);
+        g.setStroke(GREEN);
+        g.setLineWidth(2);
+        g.strokeOval(-99, -99, 198, 198);
+    }
+
+    // A tick along the radius at the given angle, clockwise from 12 o'clock
+    static void paintTick(GraphicsContext g, double degrees, double from, double to) {
+        double angle = Math.toRadians(degrees - 90);
+        g.strokeLine(Math.cos(angle) * from, Math.sin(angle) * from, Math.cos(angle) * to, Math.sin(angle) * to);
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.javafx.gauge;
+
+import com.example.javafx.frame.FrameScheduler;
+import com.example.javafx.frame.FrameTask;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.geometry.VPos;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.text.TextAlignment;
+import javafx.stage.Window;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// A gauge drawn on one Canvas rather than dozens of shape nodes, so CSS and
+// layout see a single node. The face, and any layer that only ever moves as
+// a whole such as a compass rose, is drawn once per pixel size into an image
+// shared by every gauge with the same painter; the output scale is read at
+// layout. Repainting costs an image draw per layer plus the overlay (needle
+// and readouts), and happens on the frame after a watched value changed.
+// FX thread only.
+public final class GaugeView extends Region implements FrameTask {
+
+    // Gauge units from the centre to the edge
+    public static final double RADIUS = 100;
+    // A wallboard needs a handful of faces at a size or two each
+    private static final int MAX_CACHED = 64;
+    private static final Map<LayerKey, Image> CACHE = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<LayerKey, Image> eldest) {
+            return size() > MAX_CACHED;
+        }
+    };
+
+    private record LayerKey(GaugePainter layer, int pixels) {
+    }
+
+    private final FrameScheduler frames;
+    private final Canvas canvas = new Canvas();
+    private final GaugePainter face;
+    private GaugePainter overlay = g -> { };
+    private final List<ObservableValue<?>> watched = new ArrayList<>();
+    private final ChangeListener<Object> onChange = (obs, old, now) -> invalidate();
+    private boolean dirty = true;
+    // Side of the square gauge, in layout units and in device pixels
+    private double side;
+    private int pixels;
+
+    // face must be the same instance for every gauge that looks alike, e.g. a constant
+    public GaugeView(FrameScheduler frames, GaugePainter face) {
+        this.frames = frames;
+        this.face = face;
+        getChildren().add(canvas);
+        frames.add(this);
+    }
+
+    // Drawn over the face on every repaint
+    public void setOverlay(GaugePainter overlay) {
+        this.overlay = overlay;
+        invalidate();
+    }
+
+    // Repaints whenever any of these change
+    public void watch(ObservableValue<?>... values) {
+        for (ObservableValue<?> value : values) {
+            value.addListener(onChange);
+            watched.add(value);
+        }
+    }
+
+    // Stops watching and leaves the frame scheduler; the cached layers stay for other gauges
+    public void dispose() {
+        for (ObservableValue<?> value : watched) {
+            value.removeListener(onChange);
+        }
+        watched.clear();
+        frames.remove(this);
+    }
+
+    public void invalidate() {
+        if (!dirty) {
+            dirty = true;
+            frames.requestFrame();
+        }
+    }
+
+    // For overlays: draws a cached layer under the current transform, e.g. rotated
+    public void drawLayer(GraphicsContext g, GaugePainter layer) {
+        g.drawImage(image(layer, pixels), -RADIUS, -RADIUS, 2 * RADIUS, 2 * RADIUS);
+    }
+
+    @Override
+    protected void layoutChildren() {
+        double width = getWidth();
+        double height = getHeight();
+        double newSide = Math.min(width, height);
+        int newPixels = (int) Math.ceil(newSide * outputScale());
+        if (canvas.getWidth() != width || canvas.getHeight() != height || newPixels != pixels) {
+            canvas.setWidth(width);
+            canvas.setHeight(height);
+            side = newSide;
+            pixels = newPixels;
+            dirty = true;
+            frames.requestFrame();
+        }
+    }
+
+    private double outputScale() {
+        Window window = getScene() == null ? null : getScene().getWindow();
+        return window == null ? 1 : window.getRenderScaleX();
+    }
+
+    @Override
+    public long frame(long now) {
+        if (dirty) {
+            dirty = false;
+            if (pixels > 0) {
+                paint();
+            }
+        }
+        return IDLE;
+    }
+
+    private void paint() {
+        GraphicsContext g = canvas.getGraphicsContext2D();
+        g.setTransform(1, 0, 0, 1, 0, 0);
+        g.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        double unit = side / (2 * RADIUS);
+        g.setTransform(unit, 0, 0, unit, canvas.getWidth() / 2, canvas.getHeight() / 2);
+        centreText(g);
+        drawLayer(g, face);
+        g.save();
+        overlay.paint(g);
+        g.restore();
+    }
+
+    private static void centreText(GraphicsContext g) {
+        g.setTextAlign(TextAlignment.CENTER);
+        g.setTextBaseline(VPos.CENTER);
+    }
+
+    private static Image image(GaugePainter layer, int pixels) {
+        LayerKey key = new LayerKey(layer, pixels);
+        Image image = CACHE.get(key);
+        if (image == null) {
+            Canvas scratch = new Canvas(pixels, pixels);
+            GraphicsContext g = scratch.getGraphicsContext2D();
+            double unit = pixels / (2 * RADIUS);
+            g.setTransform(unit, 0, 0, unit, pixels / 2.0, pixels / 2.0);
+            centreText(g);
+            layer.paint(g);
+            SnapshotParameters params = new SnapshotParameters();
+            params.setFill(Color.TRANSPARENT);
+            image = scratch.snapshot(params, null);
+            CACHE.put(key, image);
+        }
+        return image;
+    }
+}
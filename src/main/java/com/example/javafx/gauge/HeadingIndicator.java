@@ -0,0 +1,17 @@
+package com.example.javafx.gauge;
+
+import com.example.javafx.frame.FrameScheduler;
+import javafx.scene.control.Skin;
+
+// A compass rose turning a full circle per 200 of value under a fixed aircraft, with the value in ms
+public final class HeadingIndicator extends Gauge {
+
+    public HeadingIndicator(FrameScheduler frames, String title) {
+        super(frames, title);
+    }
+
+    @Override
+    protected Skin<?> createDefaultSkin() {
+        return new HeadingIndicatorSkin(this);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.javafx.gauge;
+
+import javafx.beans.property.DoubleProperty;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+
+final class HeadingIndicatorSkin extends GaugeSkin<HeadingIndicator> {
+
+    private static final GaugePainter COMPASS_ROSE = HeadingIndicatorSkin::paintCompassRose;
+    private static final String[] DIRECTIONS = {"N", "030", "060", "E", "120", "150",
+                                                "S", "210", "240", "W", "300", "330"};
+    private static final Font DIRECTION_FONT = Font.font("Monospaced", FontWeight.BOLD, 14);
+    private static final Font READOUT = Font.font("Monospaced", FontWeight.BOLD, 20);
+
+    HeadingIndicatorSkin(HeadingIndicator control) {
+        super(control, BEZEL);
+        DoubleProperty heading = needle(control.valueProperty(), v -> -v * 1.8);
+        gauge.setOverlay(g -> {
+            // The rose turns as one cached layer under the fixed aircraft symbol
+            g.save();
+            g.rotate(heading.get());
+            gauge.drawLayer(g, COMPASS_ROSE);
+            g.restore();
+            g.setFill(AMBER);
+            g.fillPolygon(new double[] {0, -10, 0, 10}, new double[] {-20, 10, 5, 10}, 4);
+
+            g.setFill(GREEN);
+            g.setFont(READOUT);
+            g.fillText(String.format("%.0f ms", control.getValue()), 0, 50);
+        });
+        gauge.watch(control.valueProperty());
+    }
+
+    private static void paintCompassRose(GraphicsContext g) {
+        g.setFont(DIRECTION_FONT);
+        g.setFill(GREEN);
+        g.setStroke(GREEN);
+        g.setLineWidth(2);
+        for (int i = 0; i < 12; i++) {
+            double angle = Math.toRadians(i * 30 - 90);
+            g.fillText(DIRECTIONS[i], Math.cos(angle) * 75, Math.sin(angle) * 75);
+            paintTick(g, i * 30, 85, 95);
+        }
+    }
+}
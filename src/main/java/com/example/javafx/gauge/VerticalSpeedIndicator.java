@@ -0,0 +1,17 @@
+package com.example.javafx.gauge;
+
+import com.example.javafx.frame.FrameScheduler;
+import javafx.scene.control.Skin;
+
+// A needle pointing up at 50 and a quarter turn either way at 0 and 100, with the value in MB/s
+public final class VerticalSpeedIndicator extends Gauge {
+
+    public VerticalSpeedIndicator(FrameScheduler frames, String title) {
+        super(frames, title);
+    }
+
+    @Override
+    protected Skin<?> createDefaultSkin() {
+        return new VerticalSpeedIndicatorSkin(this);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.javafx.gauge;
+
+import javafx.beans.property.DoubleProperty;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+
+final class VerticalSpeedIndicatorSkin extends GaugeSkin<VerticalSpeedIndicator> {
+
+    private static final GaugePainter FACE = VerticalSpeedIndicatorSkin::paintFace;
+    private static final Font NUMERALS = Font.font("Monospaced", 12);
+    private static final Font READOUT = Font.font("Monospaced", FontWeight.BOLD, 14);
+
+    VerticalSpeedIndicatorSkin(VerticalSpeedIndicator control) {
+        super(control, FACE);
+        // 0-100 maps to -90 to +90
+        DoubleProperty angle = needle(control.valueProperty(), v -> (v - 50) * 1.8);
+        gauge.setOverlay(g -> {
+            g.save();
+            g.rotate(angle.get());
+            g.setFill(GREEN);
+            g.fillPolygon(new double[] {0, -4, 0, 4}, new double[] {-70, 0, 8, 0}, 4);
+            g.restore();
+
+            g.setFill(GREEN);
+            g.setFont(READOUT);
+            g.fillText(String.format("%.0f MB/s", control.getValue()), 0, 50);
+        });
+        gauge.watch(control.valueProperty());
+    }
+
+    private static void paintFace(GraphicsContext g) {
+        paintBezel(g);
+        g.setFont(NUMERALS);
+        g.setFill(GREEN);
+        for (int i = -3; i <= 3; i++) {
+            if (i != 0) {
+                paintTick(g, i * 30 - 90, 80, 90);
+                double angle = Math.toRadians(i * 30 - 90);
+                g.fillText(String.valueOf(Math.abs(i)), Math.cos(angle) * 65, Math.sin(angle) * 65);
+            }
+        }
+        // Zero line
+        g.setStroke(AMBER);
+        g.setLineWidth(3);
+        g.strokeLine(-95, 0, -85, 0);
+    }
+}
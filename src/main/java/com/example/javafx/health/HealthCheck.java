@@ -0,0 +1,88 @@
+package com.example.javafx.health;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// One probe behind a status light. limit is the deadline for TCP, HTTP and
+// PROCESS checks and the largest allowed age for FILE checks.
+//
+//   TCP      host:port accepts a connection
+//   HTTP     URL answers GET with 2xx or 3xx
+//   PROCESS  a pid, or a command name, is running
+//   FILE     path was modified within limit
+public record HealthCheck(String group, Kind kind, String target, Duration limit) {
+
+    public enum Kind {
+        TCP, HTTP, PROCESS, FILE
+    }
+
+    public static final Duration DEFAULT_DEADLINE = Duration.ofSeconds(2);
+    public static final Duration DEFAULT_MAX_AGE = Duration.ofMinutes(1);
+
+    public String name() {
+        return kind.name().toLowerCase(Locale.ROOT) + " " + target;
+    }
+
+    // How long the probe itself may take
+    public Duration deadline() {
+        return kind == Kind.TCP || kind == Kind.HTTP ? limit : DEFAULT_DEADLINE;
+    }
+
+    // Reads "GROUP tcp|http|process|file TARGET [LIMIT]" lines, LIMIT as 500ms, 2s or 5m;
+    // blank lines and # comments are skipped
+    public static List<HealthCheck> load(Path file) throws IOException {
+        List<HealthCheck> checks = new ArrayList<>();
+        for (String line : Files.readAllLines(file)) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split("\\s+");
+            Kind kind = null;
+            if (parts.length == 3 || parts.length == 4) {
+                kind = switch (parts[1].toLowerCase(Locale.ROOT)) {
+                    case "tcp" -> Kind.TCP;
+                    case "http" -> Kind.HTTP;
+                    case "process" -> Kind.PROCESS;
+                    case "file" -> Kind.FILE;
+                    default -> null;
+                };
+            }
+            if (kind == null) {
+                throw new IOException("Expected GROUP tcp|http|process|file TARGET [LIMIT] in " + file + ": " + line);
+            }
+            Duration limit = kind == Kind.FILE ? DEFAULT_MAX_AGE : DEFAULT_DEADLINE;
+            if (parts.length == 4) {
+                limit = parseDuration(parts[3]);
+                if (limit == null) {
+                    throw new IOException("Bad limit " + parts[3] + " in " + file + ": " + line);
+                }
+            }
+            checks.add(new HealthCheck(parts[0].toUpperCase(Locale.ROOT), kind, parts[2], limit));
+        }
+        return checks;
+    }
+
+    private static Duration parseDuration(String text) {
+        int unitAt = 0;
+        while (unitAt < text.length() && Character.isDigit(text.charAt(unitAt))) {
+            unitAt++;
+        }
+        if (unitAt == 0) {
+            return null;
+        }
+        long amount = Long.parseLong(text.substring(0, unitAt));
+        return switch (text.substring(unitAt).toLowerCase(Locale.ROOT)) {
+            case "ms" -> Duration.ofMillis(amount);
+            case "s" -> Duration.ofSeconds(amount);
+            case "m" -> Duration.ofMinutes(amount);
+            case "h" -> Duration.ofHours(amount);
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,323 @@
+package com.example.javafx.health;
+
+import com.example.javafx.metrics.MetricNames;
+import com.example.javafx.metrics.MetricSink;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+// Runs every health check once per interval, each on its own virtual thread,
+// so a thousand slow endpoints cost a thousand parked virtual threads rather
+// than platform threads. Probes use their deadline as connect and request
+// timeout, and a probe still running at its deadline is cancelled and counts
+// as FAILED right then; one that has not finished by the next round is not
+// started again. File and process lookups can block in the kernel where an
+// interrupt does not reach, so they run on a thread of their own that the
+// probe abandons at the deadline; while one is stuck its check is not
+// probed again. A probe that succeeds in over half its deadline is SLOW.
+// Each probe's latency goes to the sink as MetricNames.health(group, check)
+// in milliseconds; the groups' worst states go to the summary sink whenever
+// a check's state changes.
+public final class HealthProber implements AutoCloseable {
+
+    // Detail of a group without any checks
+    public static final String NO_CHECKS = "no checks configured";
+
+    private final HealthCheck[] checks;
+    private final String[] groups;
+    private final int[] groupOf;
+    private final String[] metrics;
+    private final Duration interval;
+    private final MetricSink latencySink;
+    private final Consumer<HealthSummary> summarySink;
+
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpClient client;
+    private final ScheduledExecutorService ticker;
+    private final AtomicBoolean publishQueued = new AtomicBoolean();
+
+    // Guarded by this: a probe's result only counts if its attempt is current and unsettled
+    private final HealthState[] state;
+    private final String[] detail;
+    private final int[] attempt;
+    private final boolean[] settled;
+    // Ticker thread only
+    private final Future<?>[] running;
+    // Written by probes: the lookup a probe gave up on, still blocked
+    private final Future<?>[] detached;
+    private final boolean byCommand;
+    private Future<Set<String>> commands;
+
+    // groups fixes the summary order; checks in other groups are ignored
+    public HealthProber(List<String> groups, List<HealthCheck> checks, Duration interval, MetricSink latencySink,
+                        Consumer<HealthSummary> summarySink) {
+        this.groups = groups.toArray(new String[0]);
+        List<HealthCheck> kept = new ArrayList<>();
+        for (HealthCheck check : checks) {
+            if (groups.contains(check.group())) {
+                kept.add(check);
+            }
+        }
+        this.checks = kept.toArray(new HealthCheck[0]);
+        this.groupOf = new int[this.checks.length];
+        this.metrics = new String[this.checks.length];
+        boolean byCommand = false;
+        for (int i = 0; i < this.checks.length; i++) {
+            groupOf[i] = groups.indexOf(this.checks[i].group());
+            metrics[i] = MetricNames.health(this.checks[i].group(), this.checks[i].name());
+            byCommand |= this.checks[i].kind() == HealthCheck.Kind.PROCESS && !isPid(this.checks[i].target());
+        }
+        this.byCommand = byCommand;
+        this.interval = interval;
+        this.latencySink = latencySink;
+        this.summarySink = summarySink;
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(HealthCheck.DEFAULT_DEADLINE)
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .executor(workers)
+            .build();
+        this.state = new HealthState[this.checks.length];
+        this.detail = new String[this.checks.length];
+        this.attempt = new int[this.checks.length];
+        this.settled = new boolean[this.checks.length];
+        this.running = new Future<?>[this.checks.length];
+        this.detached = new Future<?>[this.checks.length];
+        Arrays.fill(state, HealthState.UNKNOWN);
+        this.ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "skywatch-health");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public int size() {
+        return checks.length;
+    }
+
+    public void start() {
+        publish();
+        ticker.scheduleAtFixedRate(this::round, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void round() {
+        if (byCommand && (commands == null || commands.isDone())) {
+            commands = workers.submit(HealthProber::runningCommands);
+        }
+        for (int i = 0; i < checks.length; i++) {
+            Future<?> stuck = detached[i];
+            if ((running[i] != null && !running[i].isDone()) || (stuck != null && !stuck.isDone())) {
+                continue;
+            }
+            int check = i;
+            int current;
+            synchronized (this) {
+                current = ++attempt[i];
+                settled[i] = false;
+            }
+            running[i] = workers.submit(() -> probe(check, current));
+            ticker.schedule(() -> expire(check, current), checks[i].deadline().toNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // At the probe's deadline: FAILED now unless its answer came in
+    private void expire(int i, int current) {
+        synchronized (this) {
+            if (attempt[i] != current || settled[i]) {
+                return;
+            }
+            settled[i] = true;
+            record(i, HealthState.FAILED, "no answer within " + checks[i].deadline().toMillis() + " ms");
+        }
+        running[i].cancel(true);
+    }
+
+    private void probe(int i, int current) {
+        HealthCheck check = checks[i];
+        long start = System.nanoTime();
+        HealthState result;
+        String why;
+        try {
+            why = run(i, check);
+            result = why == null ? HealthState.OK : HealthState.FAILED;
+        } catch (IOException e) {
+            result = HealthState.FAILED;
+            why = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        } catch (InterruptedException e) {
+            // Cancelled at its deadline
+            return;
+        }
+        long nanos = System.nanoTime() - start;
+        if (result == HealthState.OK && nanos * 2 > check.deadline().toNanos()) {
+            result = HealthState.SLOW;
+            why = String.format("%.0f ms", nanos / 1e6);
+        }
+        synchronized (this) {
+            if (attempt[i] != current || settled[i]) {
+                return;
+            }
+            settled[i] = true;
+            record(i, result, why);
+        }
+        latencySink.put(metrics[i], nanos / 1e6);
+    }
+
+    // Under this; publishes when the light or its line would change
+    private void record(int i, HealthState result, String why) {
+        boolean changed = state[i] != result || !Objects.equals(detail[i], why);
+        state[i] = result;
+        detail[i] = why;
+        if (changed) {
+            publish();
+        }
+    }
+
+    // A burst of results costs one summary
+    private void publish() {
+        if (publishQueued.compareAndSet(false, true)) {
+            ticker.execute(() -> {
+                publishQueued.set(false);
+                summarySink.accept(summarize());
+            });
+        }
+    }
+
+    // Null when healthy, otherwise what is wrong
+    private String run(int i, HealthCheck check) throws IOException, InterruptedException {
+        int deadline = (int) check.deadline().toMillis();
+        switch (check.kind()) {
+            case TCP -> {
+                int colon = check.target().lastIndexOf(':');
+                if (colon < 0) {
+                    return "expected host:port";
+                }
+                try (Socket socket = new Socket()) {
+                    socket.connect(new InetSocketAddress(check.target().substring(0, colon),
+                        Integer.parseInt(check.target().substring(colon + 1))), deadline);
+                } catch (NumberFormatException e) {
+                    return "expected host:port";
+                }
+                return null;
+            }
+            case HTTP -> {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(check.target()))
+                    .timeout(check.deadline())
+                    .GET()
+                    .build();
+                int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                return status < 400 ? null : "HTTP " + status;
+            }
+            case PROCESS -> {
+                if (isPid(check.target())) {
+                    long pid = Long.parseLong(check.target());
+                    boolean alive = detached(i, () -> ProcessHandle.of(pid).map(ProcessHandle::isAlive).orElse(false));
+                    return alive ? null : "not running";
+                }
+                return await(commands).contains(check.target()) ? null : "not running";
+            }
+            default -> {
+                Path path = Path.of(check.target());
+                Long modified = detached(i, () -> {
+                    try {
+                        return Files.getLastModifiedTime(path).toMillis();
+                    } catch (NoSuchFileException e) {
+                        return null;
+                    }
+                });
+                if (modified == null) {
+                    return "missing";
+                }
+                long age = System.currentTimeMillis() - modified;
+                return age <= check.limit().toMillis() ? null : "unchanged for " + age / 1000 + " s";
+            }
+        }
+    }
+
+    // Runs a lookup on a thread of its own and waits for it interruptibly, so the
+    // deadline can cancel the probe even if the lookup never returns
+    private <T> T detached(int i, Callable<T> lookup) throws IOException, InterruptedException {
+        Future<T> future = workers.submit(lookup);
+        detached[i] = future;
+        return await(future);
+    }
+
+    private static <T> T await(Future<T> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private static boolean isPid(String target) {
+        return !target.isEmpty() && target.chars().allMatch(Character::isDigit);
+    }
+
+    // Command names (last path element) of every running process
+    private static Set<String> runningCommands() {
+        Set<String> names = new HashSet<>();
+        ProcessHandle.allProcesses().forEach(process -> process.info().command().ifPresent(command -> {
+            names.add(command.substring(command.lastIndexOf('/') + 1));
+        }));
+        return names;
+    }
+
+    // Each group takes the state of its worst check, the first of equals
+    private synchronized HealthSummary summarize() {
+        HealthState[] now = state.clone();
+        int[] decider = new int[groups.length];
+        Arrays.fill(decider, -1);
+        for (int i = 0; i < checks.length; i++) {
+            int g = groupOf[i];
+            if (decider[g] < 0 || now[i].compareTo(now[decider[g]]) > 0) {
+                decider[g] = i;
+            }
+        }
+        HealthState[] worst = new HealthState[groups.length];
+        String[] details = new String[groups.length];
+        for (int g = 0; g < groups.length; g++) {
+            int i = decider[g];
+            if (i < 0) {
+                worst[g] = HealthState.UNKNOWN;
+                details[g] = NO_CHECKS;
+            } else {
+                worst[g] = now[i];
+                details[g] = checks[i].name() + ": "
+                    + (now[i] == HealthState.OK ? "ok" : now[i] == HealthState.UNKNOWN ? "pending" : detail[i]);
+            }
+        }
+        return new HealthSummary(groups.clone(), worst, details);
+    }
+
+    @Override
+    public void close() {
+        ticker.shutdownNow();
+        workers.shutdownNow();
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.javafx.health;
+
+// Worst last: a status light shows the highest state among its checks
+public enum HealthState {
+    OK,
+    UNKNOWN,
+    SLOW,
+    FAILED
+}
@@ -0,0 +1,10 @@
+package com.example.javafx.health;
+
+// Every group's worst state after one probing round, in the order the
+// groups were given, with a line about the check that decided it
+public record HealthSummary(
+    String[] groups,
+    HealthState[] states,
+    String[] details
+) {
+}
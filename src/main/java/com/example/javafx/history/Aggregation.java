@@ -0,0 +1,10 @@
+package com.example.javafx.history;
+
+public enum Aggregation {
+    AVG,
+    MIN,
+    MAX,
+    // Per-second change, summed across the nodes in a group
+    RATE,
+    PERCENTILE
+}
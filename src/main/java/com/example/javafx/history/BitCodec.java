@@ -0,0 +1,167 @@
+package com.example.javafx.history;
+
+import java.nio.ByteBuffer;
+
+// Gorilla-style encoding of (timestamp, value) points into a bit stream:
+// timestamps as delta-of-delta in 1 to 36 bits, values as the XOR with the
+// previous value, storing only the meaningful bits. Steady series at a fixed
+// interval cost about two bits per point.
+//
+// The stream lives at an absolute offset in a (mapped) ByteBuffer. State is
+// kept in the instance so the same object can encode or decode.
+final class BitCodec {
+
+    // Bits needed for one point in the worst case, and for the first point
+    static final int MAX_POINT_BITS = 36 + 77;
+    static final int FIRST_POINT_BITS = 128;
+
+    private ByteBuffer buffer;
+    private int base;
+    long bitPos;
+    int count;
+    long prevTs;
+    long prevDelta;
+    long prevBits;
+    int prevLeading = -1;
+    int prevTrailing;
+
+    void reset(ByteBuffer buffer, int base) {
+        this.buffer = buffer;
+        this.base = base;
+        bitPos = 0;
+        count = 0;
+        prevTs = 0;
+        prevDelta = 0;
+        prevBits = 0;
+        prevLeading = -1;
+        prevTrailing = 0;
+    }
+
+    void append(long ts, double value) {
+        long bits = Double.doubleToRawLongBits(value);
+        if (count == 0) {
+            write(ts, 64);
+            write(bits, 64);
+        } else {
+            long delta = ts - prevTs;
+            long dod = delta - prevDelta;
+            if (dod == 0) {
+                write(0, 1);
+            } else if (dod >= -63 && dod <= 64) {
+                write(0b10, 2);
+                write(dod + 63, 7);
+            } else if (dod >= -255 && dod <= 256) {
+                write(0b110, 3);
+                write(dod + 255, 9);
+            } else if (dod >= -2047 && dod <= 2048) {
+                write(0b1110, 4);
+                write(dod + 2047, 12);
+            } else {
+                write(0b1111, 4);
+                write(dod & 0xFFFFFFFFL, 32);
+            }
+            prevDelta = delta;
+
+            long xor = bits ^ prevBits;
+            if (xor == 0) {
+                write(0, 1);
+            } else {
+                int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+                int trailing = Long.numberOfTrailingZeros(xor);
+                if (prevLeading >= 0 && leading >= prevLeading && trailing >= prevTrailing) {
+                    write(0b10, 2);
+                    write(xor >>> prevTrailing, 64 - prevLeading - prevTrailing);
+                } else {
+                    int significant = 64 - leading - trailing;
+                    write(0b11, 2);
+                    write(leading, 5);
+                    write(significant - 1, 6);
+                    write(xor >>> trailing, significant);
+                    prevLeading = leading;
+                    prevTrailing = trailing;
+                }
+            }
+        }
+        prevTs = ts;
+        prevBits = bits;
+        count++;
+    }
+
+    // Decodes the next point; the caller tracks how many points the stream holds
+    long nextTimestamp() {
+        if (count == 0) {
+            prevTs = read(64);
+            prevBits = read(64);
+            count++;
+            return prevTs;
+        }
+        long dod;
+        if (read(1) == 0) {
+            dod = 0;
+        } else if (read(1) == 0) {
+            dod = read(7) - 63;
+        } else if (read(1) == 0) {
+            dod = read(9) - 255;
+        } else if (read(1) == 0) {
+            dod = read(12) - 2047;
+        } else {
+            dod = (int) read(32);
+        }
+        prevDelta += dod;
+        prevTs += prevDelta;
+
+        if (read(1) != 0) {
+            long xor;
+            if (read(1) == 0) {
+                xor = read(64 - prevLeading - prevTrailing) << prevTrailing;
+            } else {
+                int leading = (int) read(5);
+                int significant = (int) read(6) + 1;
+                prevLeading = leading;
+                prevTrailing = 64 - leading - significant;
+                xor = read(significant) << prevTrailing;
+            }
+            prevBits ^= xor;
+        }
+        count++;
+        return prevTs;
+    }
+
+    double value() {
+        return Double.longBitsToDouble(prevBits);
+    }
+
+    // Writes the low n bits of value, most significant first. Bits are
+    // masked in rather than OR-ed so stale bytes past a crash are overwritten.
+    private void write(long value, int n) {
+        while (n > 0) {
+            int index = base + (int) (bitPos >>> 3);
+            int offset = (int) (bitPos & 7);
+            int free = 8 - offset;
+            int take = Math.min(free, n);
+            int chunk = (int) ((value >>> (n - take)) & ((1 << take) - 1));
+            int shift = free - take;
+            int mask = ((1 << take) - 1) << shift;
+            int current = offset == 0 ? 0 : buffer.get(index);
+            buffer.put(index, (byte) ((current & ~mask) | (chunk << shift)));
+            n -= take;
+            bitPos += take;
+        }
+    }
+
+    private long read(int n) {
+        long result = 0;
+        while (n > 0) {
+            int index = base + (int) (bitPos >>> 3);
+            int offset = (int) (bitPos & 7);
+            int free = 8 - offset;
+            int take = Math.min(free, n);
+            int current = buffer.get(index) & 0xFF;
+            int chunk = (current >>> (free - take)) & ((1 << take) - 1);
+            result = (result << take) | chunk;
+            n -= take;
+            bitPos += take;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.javafx.history;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// One time window of one tier, stored as a memory-mapped file with a fixed
+// slot per series. Slots are sized for the worst case but the file is sparse,
+// so disk is only used for pages a series actually wrote. Each slot is
+//
+//   count:int  bitLength:int  firstTs:long  lastTs:long  bits...
+//
+// The single writer of a slot publishes count with release semantics after
+// the bits and lastTs, so concurrent readers decode only complete points.
+final class Chunk implements AutoCloseable {
+
+    private static final int MAGIC = 0x534B5948; // "SKYH"
+    private static final int FILE_HEADER = 64;
+    private static final int SLOT_HEADER = 24;
+    private static final long MAX_SEGMENT = 1L << 30;
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    final Path path;
+    final long start;
+    final long end;
+    final int seriesCount;
+    final int slotBytes;
+    private final FileChannel channel;
+    private final MappedByteBuffer[] segments;
+    private final int slotsPerSegment;
+
+    private Chunk(Path path, long start, long end, int seriesCount, int slotBytes, FileChannel channel) throws IOException {
+        this.path = path;
+        this.start = start;
+        this.end = end;
+        this.seriesCount = seriesCount;
+        this.slotBytes = slotBytes;
+        this.channel = channel;
+        this.slotsPerSegment = (int) Math.max(1, MAX_SEGMENT / slotBytes);
+        int segmentCount = (seriesCount + slotsPerSegment - 1) / slotsPerSegment;
+        this.segments = new MappedByteBuffer[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            int slots = Math.min(slotsPerSegment, seriesCount - i * slotsPerSegment);
+            long offset = FILE_HEADER + (long) i * slotsPerSegment * slotBytes;
+            segments[i] = channel.map(FileChannel.MapMode.READ_WRITE, offset, (long) slots * slotBytes);
+        }
+    }
+
+    static int slotBytesFor(long pointsPerChunk) {
+        long bits = BitCodec.FIRST_POINT_BITS + (pointsPerChunk - 1) * BitCodec.MAX_POINT_BITS;
+        long bytes = SLOT_HEADER + (bits + 7) / 8;
+        return (int) ((bytes + 7) & ~7L);
+    }
+
+    // Creates the file, or reopens it if its layout matches
+    static Chunk open(Path path, long start, long end, int seriesCount, int slotBytes) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER);
+        if (channel.size() >= FILE_HEADER) {
+            channel.read(header, 0);
+            header.flip();
+            if (header.getInt() != MAGIC || header.getLong() != start || header.getLong() != end
+                    || header.getInt() != seriesCount || header.getInt() != slotBytes) {
+                channel.close();
+                throw new IOException("Layout mismatch in " + path);
+            }
+        } else {
+            header.putInt(MAGIC).putLong(start).putLong(end).putInt(seriesCount).putInt(slotBytes).flip();
+            channel.write(header, 0);
+        }
+        return new Chunk(path, start, end, seriesCount, slotBytes, channel);
+    }
+
+    // Reads only the header to find a file's window; null if it is not a chunk
+    static long[] peekWindow(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER);
+            channel.read(header, 0);
+            header.flip();
+            if (header.remaining() < 20 || header.getInt() != MAGIC) {
+                return null;
+            }
+            return new long[] {header.getLong(), header.getLong()};
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    ByteBuffer segment(int series) {
+        return segments[series / slotsPerSegment];
+    }
+
+    int slotOffset(int series) {
+        return (series % slotsPerSegment) * slotBytes;
+    }
+
+    int dataOffset(int series) {
+        return slotOffset(series) + SLOT_HEADER;
+    }
+
+    int count(int series) {
+        return (int) INT.getAcquire(segment(series), slotOffset(series));
+    }
+
+    long firstTimestamp(int series) {
+        return (long) LONG.getOpaque(segment(series), slotOffset(series) + 8);
+    }
+
+    long lastTimestamp(int series) {
+        return (long) LONG.getOpaque(segment(series), slotOffset(series) + 16);
+    }
+
+    // Publishes the codec's progress for a slot; writer only
+    void commit(int series, BitCodec codec) {
+        ByteBuffer segment = segment(series);
+        int offset = slotOffset(series);
+        INT.setOpaque(segment, offset + 4, (int) codec.bitPos);
+        if (codec.count == 1) {
+            LONG.setOpaque(segment, offset + 8, codec.prevTs);
+        }
+        LONG.setOpaque(segment, offset + 16, codec.prevTs);
+        INT.setRelease(segment, offset, codec.count);
+    }
+
+    // Positions a codec after the last committed point of a slot
+    void resume(int series, BitCodec codec) {
+        int count = count(series);
+        codec.reset(segment(series), dataOffset(series));
+        for (int i = 0; i < count; i++) {
+            codec.nextTimestamp();
+        }
+    }
+
+    // Decodes a slot, visiting points in [from, to)
+    void scan(int series, long from, long to, PointVisitor visitor) {
+        int count = count(series);
+        if (count == 0 || lastTimestamp(series) < from || firstTimestamp(series) >= to) {
+            return;
+        }
+        BitCodec codec = new BitCodec();
+        codec.reset(segment(series), dataOffset(series));
+        for (int i = 0; i < count; i++) {
+            long ts = codec.nextTimestamp();
+            if (ts >= to) {
+                break;
+            }
+            if (ts >= from) {
+                visitor.visit(ts, codec.value());
+            }
+        }
+    }
+
+    boolean covers(long ts) {
+        return ts >= start && ts < end;
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.javafx.history;
+
+public enum GroupBy {
+    // One value per time bucket, across all selected nodes
+    TIME,
+    // One value per node, across the whole range
+    NODE,
+    // One value per node and time bucket (a downsampled line per node)
+    NODE_AND_TIME
+}
@@ -0,0 +1,58 @@
+package com.example.javafx.history;
+
+// A range aggregation over one metric of a set of nodes. Buckets are
+// stepMillis wide, starting at from; percentile is in [0, 1] and only used
+// with Aggregation.PERCENTILE.
+public record HistoryQuery(
+    int metric,
+    int[] nodes,
+    long from,
+    long to,
+    long stepMillis,
+    Aggregation aggregation,
+    double percentile,
+    GroupBy groupBy
+) {
+
+    public HistoryQuery {
+        if (to <= from || stepMillis <= 0) {
+            throw new IllegalArgumentException("Empty range or step");
+        }
+        if (aggregation == Aggregation.PERCENTILE && (percentile < 0 || percentile > 1)) {
+            throw new IllegalArgumentException("Percentile must be in [0, 1]: " + percentile);
+        }
+    }
+
+    // Splits [from, to) into about the given number of buckets
+    public static HistoryQuery chart(int metric, int[] nodes, long from, long to, int buckets,
+                                     Aggregation aggregation, GroupBy groupBy) {
+        long step = Math.max(1, (to - from + buckets - 1) / buckets);
+        return new HistoryQuery(metric, nodes, from, to, step, aggregation, 0.5, groupBy);
+    }
+
+    public int buckets() {
+        return (int) ((to - from + stepMillis - 1) / stepMillis);
+    }
+
+    public int cells() {
+        return switch (groupBy) {
+            case TIME -> buckets();
+            case NODE -> nodes.length;
+            case NODE_AND_TIME -> nodes.length * buckets();
+        };
+    }
+
+    // Cell for a point of the node at position nodeIndex in nodes()
+    int cell(int nodeIndex, long ts) {
+        return switch (groupBy) {
+            case TIME -> (int) ((ts - from) / stepMillis);
+            case NODE -> nodeIndex;
+            case NODE_AND_TIME -> nodeIndex * buckets() + (int) ((ts - from) / stepMillis);
+        };
+    }
+
+    // Width in milliseconds of the time span one cell covers
+    long cellMillis() {
+        return groupBy == GroupBy.NODE ? to - from : stepMillis;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.javafx.history;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Time-series history for a fixed number of series, kept in memory-mapped
+// chunk files under one directory per retention tier. Every sample feeds all
+// tiers; each tier averages it into its own resolution, so the 1 s, 10 s and
+// 1 min series are written side by side rather than rolled up later.
+//
+// A series id is node * metricsPerNode + metric. append() may be called from
+// any thread, but each series should have a single writer.
+public final class HistoryStore implements AutoCloseable {
+
+    private final int metricsPerNode;
+    private final int seriesCount;
+    private final List<Tier> tiers = new ArrayList<>();
+    private final ScheduledExecutorService maintenance;
+
+    public HistoryStore(Path dir, List<TierSpec> specs, int nodes, int metricsPerNode) throws IOException {
+        this.metricsPerNode = metricsPerNode;
+        this.seriesCount = nodes * metricsPerNode;
+        for (int i = 0; i < specs.size(); i++) {
+            tiers.add(new Tier(dir.resolve("tier" + i), specs.get(i), seriesCount));
+        }
+        maintenance = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "skywatch-history");
+            t.setDaemon(true);
+            return t;
+        });
+        maintenance.scheduleAtFixedRate(this::maintain, 1, 1, TimeUnit.SECONDS);
+    }
+
+    public int series(int node, int metric) {
+        return node * metricsPerNode + metric;
+    }
+
+    public int seriesCount() {
+        return seriesCount;
+    }
+
+    public int metricsPerNode() {
+        return metricsPerNode;
+    }
+
+    public void append(int series, long timestampMillis, double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        try {
+            for (Tier tier : tiers) {
+                tier.add(series, timestampMillis, value);
+            }
+        } catch (IOException e) {
+            System.err.println("History append failed: " + e.getMessage());
+        }
+    }
+
+    public List<TierSpec> tiers() {
+        List<TierSpec> specs = new ArrayList<>();
+        for (Tier tier : tiers) {
+            specs.add(tier.spec);
+        }
+        return Collections.unmodifiableList(specs);
+    }
+
+    // Visits the stored points of one series in [from, to), oldest first
+    public void scan(int tier, int series, long from, long to, PointVisitor visitor) {
+        for (Chunk chunk : tiers.get(tier).chunks(from, to)) {
+            chunk.scan(series, from, to, visitor);
+        }
+    }
+
+    // Chunks a range spans in one tier, for splitting work across them
+    List<Chunk> chunks(int tier, long from, long to) {
+        return tiers.get(tier).chunks(from, to);
+    }
+
+    private void maintain() {
+        long now = System.currentTimeMillis();
+        for (Tier tier : tiers) {
+            try {
+                tier.flush(now);
+                tier.expire(now);
+            } catch (IOException e) {
+                System.err.println("History maintenance failed: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        maintenance.shutdownNow();
+        try {
+            maintenance.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Tier tier : tiers) {
+            tier.close();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.javafx.history;
+
+import java.util.Arrays;
+
+// Log-linear histogram: 32 sub-buckets per power of two, so any reported
+// percentile is within about 3% of an observed value. Sketches merge by
+// adding counts, which is what lets percentile queries run in parallel.
+// Counts start sparse, as sorted (bucket, count) pairs, because a query cell
+// of a few dozen points touches a handful of buckets; a sketch only grows the
+// full 16 KB table once it has seen more buckets than that is worth.
+public final class PercentileSketch {
+
+    private static final int SUB_BUCKETS = 32;
+    private static final int MIN_EXPONENT = -16;
+    private static final int EXPONENTS = 64;
+    private static final int HALF = EXPONENTS * SUB_BUCKETS;
+    private static final int SIZE = 2 * HALF + 1;
+    // Past this many distinct buckets the sparse pairs cost more than the table
+    private static final int MAX_SPARSE = 256;
+
+    // [0, HALF) negatives by magnitude descending, HALF zero, (HALF, 2 * HALF] positives ascending
+    private int[] counts;
+    // Used until counts exists: the first used entries, ordered by bucket
+    private int[] sparseBuckets = new int[4];
+    private int[] sparseCounts = new int[4];
+    private int used;
+    private long total;
+
+    public void add(double value) {
+        add(index(value), 1);
+        total++;
+    }
+
+    public void merge(PercentileSketch other) {
+        if (other.counts != null) {
+            for (int i = 0; i < SIZE; i++) {
+                if (other.counts[i] != 0) {
+                    add(i, other.counts[i]);
+                }
+            }
+        } else {
+            for (int k = 0; k < other.used; k++) {
+                add(other.sparseBuckets[k], other.sparseCounts[k]);
+            }
+        }
+        total += other.total;
+    }
+
+    public long total() {
+        return total;
+    }
+
+    public void clear() {
+        if (total > 0) {
+            if (counts != null) {
+                Arrays.fill(counts, 0);
+            }
+            used = 0;
+            total = 0;
+        }
+    }
+
+    public double quantile(double q) {
+        if (total == 0) {
+            return Double.NaN;
+        }
+        long rank = Math.min(total - 1, (long) Math.floor(q * total));
+        long seen = 0;
+        if (counts == null) {
+            for (int k = 0; k < used; k++) {
+                seen += sparseCounts[k];
+                if (seen > rank) {
+                    return value(sparseBuckets[k]);
+                }
+            }
+            return value(sparseBuckets[used - 1]);
+        }
+        for (int i = 0; i < SIZE; i++) {
+            seen += counts[i];
+            if (seen > rank) {
+                return value(i);
+            }
+        }
+        return value(SIZE - 1);
+    }
+
+    private void add(int bucket, int count) {
+        if (counts != null) {
+            counts[bucket] += count;
+            return;
+        }
+        int k = Arrays.binarySearch(sparseBuckets, 0, used, bucket);
+        if (k >= 0) {
+            sparseCounts[k] += count;
+            return;
+        }
+        if (used == MAX_SPARSE) {
+            counts = new int[SIZE];
+            for (int j = 0; j < used; j++) {
+                counts[sparseBuckets[j]] = sparseCounts[j];
+            }
+            counts[bucket] += count;
+            sparseBuckets = null;
+            sparseCounts = null;
+            return;
+        }
+        if (used == sparseBuckets.length) {
+            sparseBuckets = Arrays.copyOf(sparseBuckets, used * 2);
+            sparseCounts = Arrays.copyOf(sparseCounts, used * 2);
+        }
+        int at = -k - 1;
+        System.arraycopy(sparseBuckets, at, sparseBuckets, at + 1, used - at);
+        System.arraycopy(sparseCounts, at, sparseCounts, at + 1, used - at);
+        sparseBuckets[at] = bucket;
+        sparseCounts[at] = count;
+        used++;
+    }
+
+    private static int index(double value) {
+        if (value == 0 || Double.isNaN(value)) {
+            return HALF;
+        }
+        double magnitude = Math.abs(value);
+        int exponent = Math.getExponent(magnitude);
+        int bucket;
+        if (exponent < MIN_EXPONENT) {
+            bucket = 0;
+        } else if (exponent >= MIN_EXPONENT + EXPONENTS) {
+            bucket = HALF - 1;
+        } else {
+            long mantissa = Double.doubleToRawLongBits(magnitude) & 0x000FFFFFFFFFFFFFL;
+            int sub = (int) (mantissa >>> (52 - 5));
+            bucket = (exponent - MIN_EXPONENT) * SUB_BUCKETS + sub;
+        }
+        return value > 0 ? HALF + 1 + bucket : HALF - 1 - bucket;
+    }
+
+    // Midpoint of a bucket
+    private static double value(int index) {
+        if (index == HALF) {
+            return 0;
+        }
+        int bucket = index > HALF ? index - HALF - 1 : HALF - 1 - index;
+        int exponent = bucket / SUB_BUCKETS + MIN_EXPONENT;
+        int sub = bucket % SUB_BUCKETS;
+        double magnitude = Math.scalb(1.0 + (sub + 0.5) / SUB_BUCKETS, exponent);
+        return index > HALF ? magnitude : -magnitude;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.javafx.history;
+
+@FunctionalInterface
+public interface PointVisitor {
+
+    void visit(long timestampMillis, double value);
+}
@@ -0,0 +1,189 @@
+package com.example.javafx.history;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+// Bounded LRU cache of bucketed query results in front of a QueryEngine.
+// Queries are widened to whole steps so that repeated views of a window land
+// on the same bucket grid. For each grid (metric, nodes, aggregation, step,
+// tier resolution) the cache keeps one contiguous run of sealed buckets, ones
+// that ended long enough ago that no more points can land in them. A query
+// takes the part of its sealed range the run already holds, computes the rest
+// and extends the run; the live tail is always recomputed.
+//
+// Cells of a bucketed query are independent, so stitching buckets computed
+// at different times gives the same answer as one scan. GroupBy.NODE queries
+// have a single cell per node over the whole range and bypass the cache.
+public final class QueryCache {
+
+    // Tier buckets are written when the next sample arrives; allow for late cluster samples
+    private static final long SEAL_GRACE_MILLIS = 5_000;
+    private static final int RUN_SPANS = 2;
+    private static final int BYTES_PER_CELL = Double.BYTES + Long.BYTES;
+
+    private record Key(int metric, int[] nodes, Aggregation aggregation, double percentile,
+                       GroupBy groupBy, long stepMillis, long resolutionMillis) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key k && metric == k.metric && Arrays.equals(nodes, k.nodes)
+                && aggregation == k.aggregation && Double.compare(percentile, k.percentile) == 0
+                && groupBy == k.groupBy && stepMillis == k.stepMillis && resolutionMillis == k.resolutionMillis;
+        }
+
+        @Override
+        public int hashCode() {
+            int h = metric;
+            h = 31 * h + Arrays.hashCode(nodes);
+            h = 31 * h + aggregation.hashCode();
+            h = 31 * h + Double.hashCode(percentile);
+            h = 31 * h + groupBy.hashCode();
+            h = 31 * h + Long.hashCode(stepMillis);
+            return 31 * h + Long.hashCode(resolutionMillis);
+        }
+    }
+
+    // Buckets [from, to) of every row, row-major like QueryResult.values()
+    private record Run(long from, long to, int buckets, double[] values, long[] counts) {
+
+        int bytes() {
+            return values.length * BYTES_PER_CELL;
+        }
+    }
+
+    private final QueryEngine engine;
+    private final long maxBytes;
+    private final LinkedHashMap<Key, Run> runs = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    private long hits;
+    private long misses;
+
+    public QueryCache(QueryEngine engine, long maxBytes) {
+        this.engine = engine;
+        this.maxBytes = maxBytes;
+    }
+
+    public CompletableFuture<QueryResult> submit(HistoryQuery query) {
+        return CompletableFuture.supplyAsync(() -> run(query), engine.pool());
+    }
+
+    // The answer is for the query widened to whole steps; see QueryResult.query()
+    public QueryResult run(HistoryQuery query) {
+        if (query.groupBy() == GroupBy.NODE) {
+            return engine.run(query);
+        }
+        long step = query.stepMillis();
+        long from = Math.floorDiv(query.from(), step) * step;
+        long to = from + Math.ceilDiv(query.to() - from, step) * step;
+        HistoryQuery aligned = new HistoryQuery(query.metric(), query.nodes(), from, to, step,
+            query.aggregation(), query.percentile(), query.groupBy());
+        int tier = engine.tierFor(aligned);
+        long resolution = engine.resolutionMillis(tier);
+        long sealedBefore = System.currentTimeMillis() - 2 * resolution - SEAL_GRACE_MILLIS;
+        long sealedTo = Math.max(from, Math.min(to, Math.floorDiv(sealedBefore, step) * step));
+
+        Key key = new Key(query.metric(), query.nodes().clone(), query.aggregation(), query.percentile(),
+            query.groupBy(), step, resolution);
+        Run cached;
+        synchronized (this) {
+            cached = runs.get(key);
+        }
+
+        Run sealed = null;
+        long reused = 0;
+        if (sealedTo > from) {
+            if (cached == null || cached.to < from || cached.from > sealedTo) {
+                sealed = compute(aligned, tier, from, sealedTo);
+            } else {
+                // Overlaps or adjoins: compute only the sealed gaps on either side
+                Run left = cached.from > from ? compute(aligned, tier, from, cached.from) : null;
+                Run right = cached.to < sealedTo ? compute(aligned, tier, cached.to, sealedTo) : null;
+                reused = (Math.min(sealedTo, cached.to) - Math.max(from, cached.from)) / step;
+                // Keep a few spans either side for scrubbing, not everything a sliding window ever saw
+                long keep = RUN_SPANS * (to - from);
+                sealed = left == null && right == null ? cached
+                    : stitch(aligned, Math.max(Math.min(from, cached.from), from - keep),
+                             Math.min(Math.max(sealedTo, cached.to), sealedTo + keep), left, cached, right);
+            }
+            store(key, sealed, cached, reused, (sealedTo - from) / step - reused);
+        }
+        Run tail = sealedTo < to ? compute(aligned, tier, sealedTo, to) : null;
+        Run whole = stitch(aligned, from, to, sealed, tail);
+        return new QueryResult(aligned, whole.values, whole.counts, resolution);
+    }
+
+    // Share of sealed buckets served from the cache so far
+    public synchronized double hitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    public synchronized long sizeBytes() {
+        return bytes;
+    }
+
+    public synchronized void clear() {
+        runs.clear();
+        bytes = 0;
+    }
+
+    private synchronized void store(Key key, Run run, Run replaced, long reusedBuckets, long computedBuckets) {
+        hits += reusedBuckets;
+        misses += computedBuckets;
+        if (run == replaced) {
+            return;
+        }
+        Run old = runs.remove(key);
+        if (old != null) {
+            bytes -= old.bytes();
+        }
+        if (run.bytes() > maxBytes) {
+            return;
+        }
+        runs.put(key, run);
+        bytes += run.bytes();
+        Iterator<Map.Entry<Key, Run>> eldest = runs.entrySet().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            bytes -= eldest.next().getValue().bytes();
+            eldest.remove();
+        }
+    }
+
+    private Run compute(HistoryQuery aligned, int tier, long from, long to) {
+        HistoryQuery piece = new HistoryQuery(aligned.metric(), aligned.nodes(), from, to, aligned.stepMillis(),
+            aligned.aggregation(), aligned.percentile(), aligned.groupBy());
+        QueryResult result = engine.run(piece, tier);
+        return new Run(from, to, piece.buckets(), result.values(), result.counts());
+    }
+
+    // Copies the given runs (any may be null) into one run over [from, to); later runs win on overlap
+    private static Run stitch(HistoryQuery aligned, long from, long to, Run... parts) {
+        long step = aligned.stepMillis();
+        int rows = aligned.groupBy() == GroupBy.TIME ? 1 : aligned.nodes().length;
+        int buckets = (int) ((to - from) / step);
+        double[] values = new double[rows * buckets];
+        long[] counts = new long[rows * buckets];
+        Arrays.fill(values, Double.NaN);
+        for (Run part : parts) {
+            if (part == null) {
+                continue;
+            }
+            long start = Math.max(from, part.from);
+            long end = Math.min(to, part.to);
+            if (end <= start) {
+                continue;
+            }
+            int length = (int) ((end - start) / step);
+            int src = (int) ((start - part.from) / step);
+            int dst = (int) ((start - from) / step);
+            for (int row = 0; row < rows; row++) {
+                System.arraycopy(part.values, row * part.buckets + src, values, row * buckets + dst, length);
+                System.arraycopy(part.counts, row * part.buckets + src, counts, row * buckets + dst, length);
+            }
+        }
+        return new Run(from, to, buckets, values, counts);
+    }
+}
@@ -0,0 +1,304 @@
+package com.example.javafx.history;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Runs HistoryQuery aggregations over a HistoryStore. The work is every
+// (series, chunk) pair the query touches; a fork-join task splits that list
+// until each leaf decodes a run of chunk slots into its own partial
+// aggregate, which it then folds into the shared result. Units are ordered so
+// that each leaf only touches a contiguous range of cells: chunk-major when
+// grouping by time, node-major otherwise. A rate also needs the step across
+// each chunk boundary, which no single unit sees; units leave their first and
+// last points behind and the steps are stitched in once the scan is done.
+public final class QueryEngine {
+
+    private static final int LEAF_UNITS = 8;
+    private static final int MIN_POINTS_PER_BUCKET = 4;
+    private static final int MAX_PERCENTILE_CELLS = 8192;
+
+    private final HistoryStore store;
+    private final ForkJoinPool pool;
+
+    public QueryEngine(HistoryStore store) {
+        this(store, ForkJoinPool.commonPool());
+    }
+
+    public QueryEngine(HistoryStore store, ForkJoinPool pool) {
+        this.store = store;
+        this.pool = pool;
+    }
+
+    public CompletableFuture<QueryResult> submit(HistoryQuery query) {
+        return CompletableFuture.supplyAsync(() -> run(query), pool);
+    }
+
+    public QueryResult run(HistoryQuery query) {
+        return run(query, tierFor(query));
+    }
+
+    QueryResult run(HistoryQuery query, int tier) {
+        if (query.aggregation() == Aggregation.PERCENTILE && query.cells() > MAX_PERCENTILE_CELLS) {
+            throw new IllegalArgumentException("Too many cells for a percentile query: " + query.cells());
+        }
+        List<Chunk> chunks = store.chunks(tier, query.from(), query.to());
+        int units = query.nodes().length * chunks.size();
+        Partial result = new Partial(query, 0, query.cells());
+        if (units > 0) {
+            Edges edges = query.aggregation() == Aggregation.RATE ? new Edges(units) : null;
+            // A few leaves per worker: enough to balance, few enough that merging stays cheap
+            int leafUnits = Math.max(LEAF_UNITS, units / (pool.getParallelism() * 4));
+            pool.invoke(new ScanTask(query, tier, chunks, leafUnits, 0, units, result, edges));
+            if (edges != null) {
+                edges.stitch(result, query.nodes().length, chunks.size());
+            }
+        }
+        return result.finish(resolutionMillis(tier));
+    }
+
+    ForkJoinPool pool() {
+        return pool;
+    }
+
+    long resolutionMillis(int tier) {
+        return store.tiers().get(tier).resolutionMillis();
+    }
+
+    // The coarsest tier that still gives each bucket a few points
+    int tierFor(HistoryQuery query) {
+        List<TierSpec> tiers = store.tiers();
+        long step = query.groupBy() == GroupBy.NODE ? query.to() - query.from() : query.stepMillis();
+        long oldest = System.currentTimeMillis() - query.from();
+        for (int i = tiers.size() - 1; i > 0; i--) {
+            TierSpec spec = tiers.get(i);
+            boolean fineEnough = spec.resolutionMillis() * MIN_POINTS_PER_BUCKET <= step;
+            // A finer tier may not reach back far enough; keep the coarser one then
+            boolean finerCovers = tiers.get(i - 1).retentionMillis() >= oldest;
+            if (fineEnough || !finerCovers) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private final class ScanTask extends RecursiveAction {
+
+        // Fork-join tasks are never serialized, whatever RecursiveAction allows
+        private static final long serialVersionUID = 1L;
+
+        private final transient HistoryQuery query;
+        private final int tier;
+        private final transient List<Chunk> chunks;
+        private final int leafUnits;
+        private final int lo;
+        private final int hi;
+        private final transient Partial result;
+        private final transient Edges edges;
+
+        ScanTask(HistoryQuery query, int tier, List<Chunk> chunks, int leafUnits, int lo, int hi, Partial result, Edges edges) {
+            this.query = query;
+            this.tier = tier;
+            this.chunks = chunks;
+            this.leafUnits = leafUnits;
+            this.lo = lo;
+            this.hi = hi;
+            this.result = result;
+            this.edges = edges;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > leafUnits) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new ScanTask(query, tier, chunks, leafUnits, lo, mid, result, edges),
+                          new ScanTask(query, tier, chunks, leafUnits, mid, hi, result, edges));
+                return;
+            }
+            int cellLo = query.cell(nodeIndex(lo), Math.max(query.from(), chunk(lo).start));
+            int cellHi = query.cell(nodeIndex(hi - 1), Math.min(query.to() - 1, chunk(hi - 1).end - 1)) + 1;
+            Partial partial = new Partial(query, cellLo, cellHi);
+            for (int unit = lo; unit < hi; unit++) {
+                int nodeIndex = nodeIndex(unit);
+                int series = store.series(query.nodes()[nodeIndex], query.metric());
+                partial.beginSeries();
+                chunk(unit).scan(series, query.from(), query.to(), (ts, value) -> partial.add(query.cell(nodeIndex, ts), value));
+                if (edges != null) {
+                    edges.record(nodeIndex * chunks.size() + chunkIndex(unit), partial);
+                }
+            }
+            synchronized (result) {
+                result.merge(partial);
+            }
+        }
+
+        private boolean chunkMajor() {
+            return query.groupBy() == GroupBy.TIME;
+        }
+
+        private int nodeIndex(int unit) {
+            return chunkMajor() ? unit % query.nodes().length : unit / chunks.size();
+        }
+
+        private int chunkIndex(int unit) {
+            return chunkMajor() ? unit / query.nodes().length : unit % chunks.size();
+        }
+
+        private Chunk chunk(int unit) {
+            return chunks.get(chunkIndex(unit));
+        }
+    }
+
+    // Mergeable aggregate state for the cells [lo, hi)
+    private static final class Partial {
+
+        private final HistoryQuery query;
+        private final int lo;
+        private final long[] counts;
+        private final double[] sums;
+        private final double[] mins;
+        private final double[] maxes;
+        private final double[] deltas;
+        private final PercentileSketch[] sketches;
+        private int firstCell = -1;
+        private double firstValue;
+        private int lastCell = -1;
+        private double lastValue;
+
+        Partial(HistoryQuery query, int lo, int hi) {
+            this.query = query;
+            this.lo = lo;
+            int size = Math.max(0, hi - lo);
+            counts = new long[size];
+            sums = new double[size];
+            mins = new double[size];
+            maxes = new double[size];
+            deltas = query.aggregation() == Aggregation.RATE ? new double[size] : null;
+            sketches = query.aggregation() == Aggregation.PERCENTILE ? new PercentileSketch[size] : null;
+            Arrays.fill(mins, Double.POSITIVE_INFINITY);
+            Arrays.fill(maxes, Double.NEGATIVE_INFINITY);
+        }
+
+        void beginSeries() {
+            firstCell = -1;
+            lastCell = -1;
+        }
+
+        void add(int cell, double value) {
+            int i = cell - lo;
+            counts[i]++;
+            sums[i] += value;
+            mins[i] = Math.min(mins[i], value);
+            maxes[i] = Math.max(maxes[i], value);
+            if (deltas != null) {
+                // Consecutive points of one series inside one cell
+                if (cell == lastCell) {
+                    deltas[i] += value - lastValue;
+                } else if (lastCell < 0) {
+                    firstCell = cell;
+                    firstValue = value;
+                }
+                lastCell = cell;
+                lastValue = value;
+            }
+            if (sketches != null) {
+                if (sketches[i] == null) {
+                    sketches[i] = new PercentileSketch();
+                }
+                sketches[i].add(value);
+            }
+        }
+
+        void addDelta(int cell, double delta) {
+            int i = cell - lo;
+            deltas[i] += delta;
+        }
+
+        void merge(Partial other) {
+            for (int j = 0; j < other.counts.length; j++) {
+                if (other.counts[j] == 0) {
+                    continue;
+                }
+                int i = other.lo + j - lo;
+                counts[i] += other.counts[j];
+                sums[i] += other.sums[j];
+                mins[i] = Math.min(mins[i], other.mins[j]);
+                maxes[i] = Math.max(maxes[i], other.maxes[j]);
+                if (deltas != null) {
+                    deltas[i] += other.deltas[j];
+                }
+                if (sketches != null && other.sketches[j] != null) {
+                    if (sketches[i] == null) {
+                        sketches[i] = new PercentileSketch();
+                    }
+                    sketches[i].merge(other.sketches[j]);
+                }
+            }
+        }
+
+        QueryResult finish(long resolutionMillis) {
+            double[] values = new double[counts.length];
+            for (int i = 0; i < values.length; i++) {
+                if (counts[i] == 0) {
+                    values[i] = Double.NaN;
+                    continue;
+                }
+                values[i] = switch (query.aggregation()) {
+                    case AVG -> sums[i] / counts[i];
+                    case MIN -> mins[i];
+                    case MAX -> maxes[i];
+                    case RATE -> deltas[i] * 1000.0 / query.cellMillis();
+                    case PERCENTILE -> sketches[i].quantile(query.percentile());
+                };
+            }
+            return new QueryResult(query, values, counts.clone(), resolutionMillis);
+        }
+    }
+
+    // The first and last point of each (series, chunk) unit, indexed node-major.
+    // Every unit is written by the one leaf that scans it, and read after the
+    // fork-join pool has joined them all.
+    private static final class Edges {
+
+        private final int[] firstCells;
+        private final double[] firstValues;
+        private final int[] lastCells;
+        private final double[] lastValues;
+
+        Edges(int units) {
+            firstCells = new int[units];
+            firstValues = new double[units];
+            lastCells = new int[units];
+            lastValues = new double[units];
+            Arrays.fill(firstCells, -1);
+            Arrays.fill(lastCells, -1);
+        }
+
+        void record(int index, Partial partial) {
+            firstCells[index] = partial.firstCell;
+            firstValues[index] = partial.firstValue;
+            lastCells[index] = partial.lastCell;
+            lastValues[index] = partial.lastValue;
+        }
+
+        // Chunks come in time order, so each series' points continue from the
+        // last non-empty chunk to the next; count the step when both ends share a cell
+        void stitch(Partial result, int nodes, int chunks) {
+            for (int node = 0; node < nodes; node++) {
+                int previous = -1;
+                for (int chunk = 0; chunk < chunks; chunk++) {
+                    int index = node * chunks + chunk;
+                    if (firstCells[index] < 0) {
+                        continue;
+                    }
+                    if (previous >= 0 && lastCells[previous] == firstCells[index]) {
+                        result.addDelta(firstCells[index], firstValues[index] - lastValues[previous]);
+                    }
+                    previous = index;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.javafx.history;
+
+// Aggregated values of a HistoryQuery, one per cell (NaN where a cell saw
+// no points), plus the tier resolution the answer was computed from.
+public record QueryResult(HistoryQuery query, double[] values, long[] counts, long resolutionMillis) {
+
+    public double value(int cell) {
+        return values[cell];
+    }
+
+    // For GroupBy.NODE_AND_TIME
+    public double value(int nodeIndex, int bucket) {
+        return values[nodeIndex * query.buckets() + bucket];
+    }
+
+    public long bucketStart(int bucket) {
+        return query.from() + bucket * query.stepMillis();
+    }
+}
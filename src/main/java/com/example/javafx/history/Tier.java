@@ -0,0 +1,190 @@
+package com.example.javafx.history;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// Buckets incoming samples at one resolution and appends each bucket's mean
+// to the chunk covering it. Per-series state is a few primitives; the points
+// themselves only live in the mapped chunk files. Chunks live in a directory
+// per layout (series count and slot size), so a cluster that grows or shrinks
+// starts a fresh history beside the old one instead of overwriting it, and
+// gets the old one back if it returns to that size.
+final class Tier implements AutoCloseable {
+
+    // Each chunk holds this many points per series
+    private static final long POINTS_PER_CHUNK = 7200;
+    // Mantissa bits kept per stored mean (about six significant digits). The
+    // dropped low bits are noise for a dashboard but would defeat the XOR encoding.
+    private static final int MANTISSA_BITS = 20;
+    private static final long MANTISSA_DROP_MASK = (1L << (52 - MANTISSA_BITS)) - 1;
+
+    final TierSpec spec;
+    final long chunkMillis;
+    private final Path dir;
+    private final int seriesCount;
+    private final int slotBytes;
+    private final ConcurrentSkipListMap<Long, Chunk> chunks = new ConcurrentSkipListMap<>();
+    private final SeriesState[] states;
+
+    private static final class SeriesState {
+        long bucket = Long.MIN_VALUE;
+        double sum;
+        int samples;
+        Chunk chunk;
+        final BitCodec codec = new BitCodec();
+    }
+
+    Tier(Path tierDir, TierSpec spec, int seriesCount) throws IOException {
+        this.spec = spec;
+        this.seriesCount = seriesCount;
+        this.chunkMillis = Math.min(spec.resolutionMillis() * POINTS_PER_CHUNK, spec.retentionMillis());
+        this.slotBytes = Chunk.slotBytesFor(chunkMillis / spec.resolutionMillis());
+        this.dir = tierDir.resolve(seriesCount + "x" + slotBytes);
+        this.states = new SeriesState[seriesCount];
+        for (int i = 0; i < seriesCount; i++) {
+            states[i] = new SeriesState();
+        }
+        Files.createDirectories(dir);
+        loadExisting();
+    }
+
+    private void loadExisting() {
+        long oldest = System.currentTimeMillis() - spec.retentionMillis();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*.chunk")) {
+            for (Path file : files) {
+                long[] header = Chunk.peekWindow(file);
+                if (header == null || header[1] < oldest) {
+                    // Not a chunk at all, or past retention
+                    Files.deleteIfExists(file);
+                    continue;
+                }
+                try {
+                    chunks.put(header[0], Chunk.open(file, header[0], header[1], seriesCount, slotBytes));
+                } catch (IOException e) {
+                    // Readable but not ours to overwrite; leave it for whoever wrote it
+                    System.err.println("Skipping history chunk " + file + ": " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Could not load history from " + dir + ": " + e.getMessage());
+        }
+    }
+
+    void add(int series, long ts, double value) throws IOException {
+        SeriesState state = states[series];
+        synchronized (state) {
+            long bucket = Math.floorDiv(ts, spec.resolutionMillis());
+            if (bucket > state.bucket) {
+                emit(series, state);
+                state.bucket = bucket;
+            }
+            state.sum += value;
+            state.samples++;
+        }
+    }
+
+    // Closes buckets that ended at least one resolution ago, for series that went quiet
+    void flush(long now) throws IOException {
+        long closedBefore = Math.floorDiv(now, spec.resolutionMillis()) - 1;
+        for (int series = 0; series < seriesCount; series++) {
+            SeriesState state = states[series];
+            synchronized (state) {
+                if (state.samples > 0 && state.bucket < closedBefore) {
+                    emit(series, state);
+                }
+            }
+        }
+    }
+
+    private void emit(int series, SeriesState state) throws IOException {
+        if (state.samples == 0) {
+            return;
+        }
+        long ts = state.bucket * spec.resolutionMillis();
+        double mean = quantize(state.sum / state.samples);
+        state.sum = 0;
+        state.samples = 0;
+        Chunk chunk = chunkFor(ts);
+        if (chunk == null) {
+            return;
+        }
+        if (chunk != state.chunk) {
+            state.chunk = chunk;
+            chunk.resume(series, state.codec);
+        }
+        if (state.codec.count > 0 && ts <= state.codec.prevTs) {
+            return;
+        }
+        state.codec.append(ts, mean);
+        chunk.commit(series, state.codec);
+    }
+
+    static double quantize(double value) {
+        long bits = Double.doubleToRawLongBits(value);
+        // Round to nearest by adding half of the dropped range before masking
+        bits += (MANTISSA_DROP_MASK + 1) >>> 1;
+        return Double.longBitsToDouble(bits & ~MANTISSA_DROP_MASK);
+    }
+
+    // Under the tier lock so expire() cannot close the chunk on its way out;
+    // this runs once per bucket per series, not per sample
+    private Chunk chunkFor(long ts) throws IOException {
+        long start = Math.floorDiv(ts, chunkMillis) * chunkMillis;
+        synchronized (this) {
+            Chunk chunk = chunks.get(start);
+            if (chunk == null) {
+                if (start + chunkMillis < System.currentTimeMillis() - spec.retentionMillis()) {
+                    return null;
+                }
+                chunk = Chunk.open(dir.resolve(start + ".chunk"), start, start + chunkMillis, seriesCount, slotBytes);
+                chunks.put(start, chunk);
+                expire(System.currentTimeMillis());
+            }
+            return chunk;
+        }
+    }
+
+    // Drops chunks whose whole window is past retention. A query that already
+    // holds one keeps reading it safely: the mapping outlives the channel.
+    void expire(long now) {
+        long oldest = now - spec.retentionMillis();
+        synchronized (this) {
+            while (!chunks.isEmpty() && chunks.firstEntry().getValue().end <= oldest) {
+                Chunk expired = chunks.pollFirstEntry().getValue();
+                expired.close();
+                try {
+                    Files.deleteIfExists(expired.path);
+                } catch (IOException e) {
+                    System.err.println("Could not delete " + expired.path + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    // Chunks overlapping [from, to), oldest first
+    List<Chunk> chunks(long from, long to) {
+        List<Chunk> result = new ArrayList<>();
+        Map.Entry<Long, Chunk> first = chunks.floorEntry(from);
+        long startKey = first != null ? first.getKey() : from;
+        for (Chunk chunk : chunks.subMap(startKey, true, to, false).values()) {
+            if (chunk.end > from) {
+                result.add(chunk);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void close() {
+        for (Chunk chunk : chunks.values()) {
+            chunk.close();
+        }
+        chunks.clear();
+    }
+}
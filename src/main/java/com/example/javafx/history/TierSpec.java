@@ -0,0 +1,45 @@
+package com.example.javafx.history;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// One retention tier: samples are averaged into buckets of resolutionMillis
+// and kept for retentionMillis.
+public record TierSpec(long resolutionMillis, long retentionMillis) {
+
+    public static final String DEFAULT = "1s:6h,10s:7d,1m:90d";
+
+    // Parses "1s:6h,10s:7d,1m:90d" (units ms, s, m, h, d)
+    public static List<TierSpec> parse(String spec) {
+        List<TierSpec> tiers = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            String[] fields = part.trim().split(":");
+            if (fields.length != 2) {
+                throw new IllegalArgumentException("Expected RESOLUTION:RETENTION, got " + part);
+            }
+            tiers.add(new TierSpec(parseDuration(fields[0]), parseDuration(fields[1])));
+        }
+        tiers.sort((a, b) -> Long.compare(a.resolutionMillis, b.resolutionMillis));
+        return tiers;
+    }
+
+    static long parseDuration(String text) {
+        text = text.trim();
+        int split = 0;
+        while (split < text.length() && Character.isDigit(text.charAt(split))) {
+            split++;
+        }
+        if (split == 0) {
+            throw new IllegalArgumentException("Bad duration: " + text);
+        }
+        long amount = Long.parseLong(text.substring(0, split));
+        return switch (text.substring(split)) {
+            case "ms" -> amount;
+            case "s" -> amount * 1_000L;
+            case "m" -> amount * 60_000L;
+            case "h" -> amount * 3_600_000L;
+            case "d" -> amount * 86_400_000L;
+            default -> throw new IllegalArgumentException("Bad duration unit: " + text);
+        };
+    }
+}
@@ -0,0 +1,354 @@
+package com.example.javafx.log;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+// Token index over the lines of a LogRing, built as lines are appended.
+// Lines are grouped into segments of SEGMENT_LINES consecutive sequence
+// numbers; each segment has its own dictionary of lower-cased tokens and a
+// varint-delta posting list per token. A full segment is sealed and never
+// changes again, and a segment is dropped whole once the ring has evicted
+// all of its lines, so postings leave with the lines they point at.
+public final class LogIndex {
+
+    static final int SEGMENT_LINES = 1 << 16;
+    static final int MAX_TOKEN = 64;
+    // Roughly how many dictionary tokens can be scanned in the time one line is verified
+    private static final int SCAN_PER_LINE = 16;
+
+    private final ArrayDeque<Segment> sealed = new ArrayDeque<>();
+    private volatile Segment[] sealedSnapshot = new Segment[0];
+    private Segment active;
+
+    // Called by the ring under its lock; sequence numbers arrive in order
+    synchronized void add(long seq, String line) {
+        if (active == null || active.lines == SEGMENT_LINES || active.base + active.lines != seq) {
+            if (active != null) {
+                active.seal();
+                sealed.addLast(active);
+                sealedSnapshot = sealed.toArray(new Segment[0]);
+            }
+            active = new Segment(seq);
+        }
+        active.add(line);
+    }
+
+    synchronized void evictBefore(long tail) {
+        boolean dropped = false;
+        while (!sealed.isEmpty() && sealed.peekFirst().base + sealed.peekFirst().lines <= tail) {
+            sealed.pollFirst();
+            dropped = true;
+        }
+        if (active != null && active.base + active.lines <= tail) {
+            active = null;
+        }
+        if (dropped) {
+            sealedSnapshot = sealed.toArray(new Segment[0]);
+        }
+    }
+
+    // Sealed segments, oldest first; safe to read without the lock
+    Segment[] sealed() {
+        return sealedSnapshot;
+    }
+
+    // Candidate lines of the active segment at or after fromSeq; returns the
+    // segment base, or -1 if there is nothing to search
+    synchronized long activeCandidates(LogQuery query, long fromSeq, long[] bits) {
+        if (active == null || active.base + active.lines <= fromSeq) {
+            return -1;
+        }
+        active.candidates(query, bits);
+        return active.base;
+    }
+
+    // Memory held by postings and dictionaries, for sizing
+    public synchronized long sizeBytes() {
+        long bytes = active == null ? 0 : active.sizeBytes();
+        for (Segment segment : sealed) {
+            bytes += segment.sizeBytes();
+        }
+        return bytes;
+    }
+
+    static boolean isTokenChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_'
+            || (c > 127 && Character.isLetterOrDigit(c));
+    }
+
+    static char lower(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + 32) : c > 127 ? Character.toLowerCase(c) : c;
+    }
+
+    static final class Segment {
+
+        final long base;
+        int lines;
+
+        // Open-addressing table of token id + 1
+        private int[] table = new int[4096];
+        private char[] chars = new char[16 * 1024];
+        private int charsUsed;
+        private int[] tokenStart = new int[1024];
+        private int[] tokenLength = new int[1024];
+        private int[] tokenHash = new int[1024];
+        private byte[][] postings = new byte[1024][];
+        private int[] postingBytes = new int[1024];
+        private int[] lastLine = new int[1024];
+        private int tokens;
+
+        // Once sealed, all posting lists back to back; token id's list starts at packedStart[id]
+        private byte[] packed;
+        private int[] packedStart;
+
+        // Lines with a token too long to index; they are always candidates
+        private final long[] unindexed = new long[SEGMENT_LINES / 64];
+
+        Segment(long base) {
+            this.base = base;
+        }
+
+        void add(String line) {
+            int offset = lines++;
+            int length = line.length();
+            int i = 0;
+            while (i < length) {
+                while (i < length && !isTokenChar(line.charAt(i))) {
+                    i++;
+                }
+                int start = i;
+                int hash = 0;
+                while (i < length && isTokenChar(line.charAt(i))) {
+                    hash = 31 * hash + lower(line.charAt(i));
+                    i++;
+                }
+                if (i == start) {
+                    break;
+                }
+                if (i - start > MAX_TOKEN) {
+                    unindexed[offset >>> 6] |= 1L << offset;
+                    continue;
+                }
+                int id = intern(line, start, i - start, hash);
+                if (lastLine[id] != offset) {
+                    post(id, offset - lastLine[id]);
+                    lastLine[id] = offset;
+                }
+            }
+        }
+
+        private int intern(String line, int start, int length, int hash) {
+            int mask = table.length - 1;
+            int slot = mix(hash) & mask;
+            while (table[slot] != 0) {
+                int id = table[slot] - 1;
+                if (tokenHash[id] == hash && tokenLength[id] == length && sameToken(id, line, start)) {
+                    return id;
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (tokens == tokenStart.length) {
+                growTokens();
+            }
+            if (charsUsed + length > chars.length) {
+                chars = Arrays.copyOf(chars, Math.max(chars.length * 2, charsUsed + length));
+            }
+            int id = tokens++;
+            tokenStart[id] = charsUsed;
+            tokenLength[id] = length;
+            tokenHash[id] = hash;
+            lastLine[id] = -1;
+            postings[id] = new byte[4];
+            for (int k = 0; k < length; k++) {
+                chars[charsUsed++] = lower(line.charAt(start + k));
+            }
+            table[slot] = id + 1;
+            if (tokens * 2 > table.length) {
+                rehash();
+            }
+            return id;
+        }
+
+        private boolean sameToken(int id, String line, int start) {
+            int from = tokenStart[id];
+            for (int k = 0; k < tokenLength[id]; k++) {
+                if (chars[from + k] != lower(line.charAt(start + k))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void growTokens() {
+            int capacity = tokens * 2;
+            tokenStart = Arrays.copyOf(tokenStart, capacity);
+            tokenLength = Arrays.copyOf(tokenLength, capacity);
+            tokenHash = Arrays.copyOf(tokenHash, capacity);
+            postings = Arrays.copyOf(postings, capacity);
+            postingBytes = Arrays.copyOf(postingBytes, capacity);
+            lastLine = Arrays.copyOf(lastLine, capacity);
+        }
+
+        private void rehash() {
+            int[] bigger = new int[table.length * 2];
+            int mask = bigger.length - 1;
+            for (int id = 0; id < tokens; id++) {
+                int slot = mix(tokenHash[id]) & mask;
+                while (bigger[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                bigger[slot] = id + 1;
+            }
+            table = bigger;
+        }
+
+        private static int mix(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+
+        private void post(int id, int delta) {
+            byte[] list = postings[id];
+            int used = postingBytes[id];
+            if (used + 3 > list.length) {
+                list = postings[id] = Arrays.copyOf(list, list.length * 2);
+            }
+            while ((delta & ~0x7F) != 0) {
+                list[used++] = (byte) ((delta & 0x7F) | 0x80);
+                delta >>>= 7;
+            }
+            list[used++] = (byte) delta;
+            postingBytes[id] = used;
+        }
+
+        // Packs the postings and trims the growth slack; the segment is read-only afterwards
+        void seal() {
+            packedStart = new int[tokens + 1];
+            for (int id = 0; id < tokens; id++) {
+                packedStart[id + 1] = packedStart[id] + postingBytes[id];
+            }
+            packed = new byte[packedStart[tokens]];
+            for (int id = 0; id < tokens; id++) {
+                System.arraycopy(postings[id], 0, packed, packedStart[id], postingBytes[id]);
+            }
+            postings = null;
+            postingBytes = null;
+            lastLine = null;
+            chars = Arrays.copyOf(chars, charsUsed);
+            tokenStart = Arrays.copyOf(tokenStart, tokens);
+            tokenLength = Arrays.copyOf(tokenLength, tokens);
+            tokenHash = Arrays.copyOf(tokenHash, tokens);
+        }
+
+        // Sets a bit per line that may match every term; callers verify the text.
+        // Whole-word terms go first since a lookup is cheaper than a dictionary
+        // scan; when they leave only a few lines, verifying those beats scanning.
+        void candidates(LogQuery query, long[] bits) {
+            int words = (lines + 63) >>> 6;
+            Arrays.fill(bits, 0, words, -1L);
+            long[] term = new long[words];
+            boolean narrowing = true;
+            for (int pass = 0; pass < 2 && narrowing; pass++) {
+                for (LogQuery.Term t : query.terms()) {
+                    if (t.exact() != (pass == 0)) {
+                        continue;
+                    }
+                    for (String part : t.tokens()) {
+                        Arrays.fill(term, 0L);
+                        if (t.exact()) {
+                            int id = find(part);
+                            if (id >= 0) {
+                                setPostings(id, term);
+                            }
+                        } else {
+                            char[] needle = part.toCharArray();
+                            for (int id = 0; id < tokens; id++) {
+                                if (contains(id, needle)) {
+                                    setPostings(id, term);
+                                }
+                            }
+                        }
+                        int left = 0;
+                        for (int w = 0; w < words; w++) {
+                            bits[w] &= term[w] | unindexed[w];
+                            left += Long.bitCount(bits[w]);
+                        }
+                        narrowing = left * SCAN_PER_LINE >= tokens && left > 0;
+                        if (!narrowing) {
+                            break;
+                        }
+                    }
+                    if (!narrowing) {
+                        break;
+                    }
+                }
+            }
+            // Nothing past the last line
+            if ((lines & 63) != 0) {
+                bits[words - 1] &= (1L << lines) - 1;
+            }
+            Arrays.fill(bits, words, bits.length, 0L);
+        }
+
+        private int find(String token) {
+            int hash = 0;
+            for (int k = 0; k < token.length(); k++) {
+                hash = 31 * hash + token.charAt(k);
+            }
+            int mask = table.length - 1;
+            int slot = mix(hash) & mask;
+            while (table[slot] != 0) {
+                int id = table[slot] - 1;
+                if (tokenHash[id] == hash && tokenLength[id] == token.length() && sameToken(id, token, 0)) {
+                    return id;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private boolean contains(int id, char[] needle) {
+            int from = tokenStart[id];
+            int last = from + tokenLength[id] - needle.length;
+            outer:
+            for (int p = from; p <= last; p++) {
+                for (int k = 0; k < needle.length; k++) {
+                    if (chars[p + k] != needle[k]) {
+                        continue outer;
+                    }
+                }
+                return true;
+            }
+            return false;
+        }
+
+        private void setPostings(int id, long[] bits) {
+            byte[] list = packed != null ? packed : postings[id];
+            int pos = packed != null ? packedStart[id] : 0;
+            int used = packed != null ? packedStart[id + 1] : postingBytes[id];
+            int line = -1;
+            while (pos < used) {
+                int delta = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = list[pos++];
+                    delta |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                line += delta;
+                bits[line >>> 6] |= 1L << line;
+            }
+        }
+
+        long sizeBytes() {
+            long bytes = table.length * 4L + chars.length * 2L + tokenStart.length * 12L + unindexed.length * 8L;
+            if (packed != null) {
+                return bytes + packed.length + packedStart.length * 4L;
+            }
+            for (int id = 0; id < tokens; id++) {
+                bytes += postings[id].length + 32;
+            }
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.javafx.log;
+
+// A window of lines addressed by position, oldest at tail(); what a LogView
+// draws. Positions only move forward at the head; the tail may move either way.
+public interface LogLines {
+
+    // Position just past the newest line
+    long head();
+
+    // Position of the oldest line still available
+    long tail();
+
+    // Copies lines [from, from + count) that are still available; returns how many were copied
+    int copy(long from, String[] into, long[] timestampsInto, int count);
+}
@@ -0,0 +1,86 @@
+package com.example.javafx.log;
+
+import java.util.Arrays;
+
+// The result of a filter: ascending sequence numbers of matching ring lines,
+// presented as LogLines so a LogView can draw it. A search fills it from the
+// newest match backwards (prepend) and then follows new lines (append).
+// Lines the ring has since evicted drop off the tail.
+public final class LogMatches implements LogLines {
+
+    private final LogRing ring;
+    private long[] seqs = new long[1024];
+    private int start = seqs.length / 2;
+    private int end = start;
+    // Position of seqs[start]
+    private long first;
+
+    public LogMatches(LogRing ring) {
+        this.ring = ring;
+    }
+
+    public synchronized int size() {
+        return end - start;
+    }
+
+    // Older matches, ascending
+    synchronized void prepend(long[] older, int count) {
+        if (count > start) {
+            regrow(count);
+        }
+        start -= count;
+        first -= count;
+        System.arraycopy(older, 0, seqs, start, count);
+    }
+
+    // Newer matches, ascending
+    synchronized void append(long[] newer, int count) {
+        if (end + count > seqs.length) {
+            regrow(count);
+        }
+        System.arraycopy(newer, 0, seqs, end, count);
+        end += count;
+    }
+
+    // Re-centres the matches with room for extra more on both sides
+    private void regrow(int extra) {
+        int size = end - start;
+        long[] bigger = new long[Math.max(seqs.length * 2, size + 2 * extra + 2)];
+        int newStart = (bigger.length - size) / 2;
+        System.arraycopy(seqs, start, bigger, newStart, size);
+        seqs = bigger;
+        start = newStart;
+        end = newStart + size;
+    }
+
+    @Override
+    public synchronized long head() {
+        return first + (end - start);
+    }
+
+    // Skips matches the ring no longer holds
+    @Override
+    public synchronized long tail() {
+        int from = Arrays.binarySearch(seqs, start, end, ring.tail());
+        return first + ((from >= 0 ? from : -from - 1) - start);
+    }
+
+    @Override
+    public synchronized int copy(long from, String[] into, long[] timestampsInto, int count) {
+        long lo = Math.max(from, first);
+        long hi = Math.min(from + count, head());
+        int n = 0;
+        String[] one = new String[1];
+        long[] ts = timestampsInto != null ? new long[1] : null;
+        for (long position = lo; position < hi; position++) {
+            if (ring.copy(seqs[start + (int) (position - first)], one, ts, 1) == 1) {
+                into[n] = one[0];
+                if (ts != null) {
+                    timestampsInto[n] = ts[0];
+                }
+                n++;
+            }
+        }
+        return n;
+    }
+}
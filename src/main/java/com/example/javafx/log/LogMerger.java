@@ -0,0 +1,106 @@
+package com.example.javafx.log;
+
+import java.util.Arrays;
+
+// k-way merge of the per-file queues into one timestamp-ordered stream. A
+// binary heap of files is keyed by the timestamp of each file's oldest
+// queued line. A line leaves only once it has waited out the reordering
+// window since it was read, so a file read slightly later can still slot
+// its earlier lines in front. Owned by the tailer thread.
+final class LogMerger {
+
+    private static final int BATCH = 1024;
+
+    private final TailedFile[] heap;
+    private int size;
+    private int pending;
+    private final long[] batchTs = new long[BATCH];
+    private final String[] batchLines = new String[BATCH];
+    private int batched;
+
+    LogMerger(int files) {
+        heap = new TailedFile[files];
+    }
+
+    int pending() {
+        return pending;
+    }
+
+    // Call after a read queued lines; a file already in the heap keeps its key
+    // because its oldest line has not changed
+    void offer(TailedFile file, int added) {
+        pending += added;
+        if (!file.inHeap && file.queued() > 0) {
+            file.inHeap = true;
+            heap[size] = file;
+            siftUp(size++);
+        }
+    }
+
+    // Releases lines read before releaseBefore (System.nanoTime()), and the
+    // oldest ones regardless while more than keep are queued
+    void drain(long releaseBefore, int keep, LogSink sink) {
+        while (size > 0) {
+            TailedFile top = heap[0];
+            if (pending <= keep && top.headArrival() - releaseBefore > 0) {
+                break;
+            }
+            batchTs[batched] = top.headTs();
+            batchLines[batched++] = top.take();
+            pending--;
+            if (top.queued() == 0) {
+                top.inHeap = false;
+                heap[0] = heap[--size];
+                heap[size] = null;
+            }
+            if (size > 0) {
+                siftDown(0);
+            }
+            if (batched == BATCH) {
+                flush(sink);
+            }
+        }
+        flush(sink);
+    }
+
+    private void flush(LogSink sink) {
+        if (batched == 0) {
+            return;
+        }
+        sink.lines(batchTs, batchLines, batched);
+        Arrays.fill(batchLines, 0, batched, null);
+        batched = 0;
+    }
+
+    private void siftUp(int i) {
+        TailedFile file = heap[i];
+        long key = file.headTs();
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent].headTs() <= key) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = file;
+    }
+
+    private void siftDown(int i) {
+        TailedFile file = heap[i];
+        long key = file.headTs();
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && heap[child + 1].headTs() < heap[child].headTs()) {
+                child++;
+            }
+            if (key <= heap[child].headTs()) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = file;
+    }
+}
@@ -0,0 +1,243 @@
+package com.example.javafx.log;
+
+import com.example.javafx.history.PercentileSketch;
+import com.example.javafx.metrics.MetricSink;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Turns log lines into metrics by LogRule. Each rule is compiled once into a
+// scanner: String.indexOf for the literal (an intrinsic that never
+// allocates) and a hand-written number parser after it, so a line costs no
+// garbage whatever the rules. Values land in one histogram or counter per
+// second; publish() reports the last WINDOW_SECONDS of them:
+//
+//   histogram:  METRIC.p50  METRIC.p95  METRIC.p99  METRIC.rate
+//   counter:    METRIC  METRIC.<host>   (per second)
+//
+// Hosts are the "service-2: " labels the tailer puts in front of lines.
+public final class LogMetrics {
+
+    private static final int WINDOW_SECONDS = 10;
+    private static final int MAX_HOSTS = 256;
+
+    private final Scanner[] scanners;
+    private final Hosts hosts = new Hosts();
+    private long currentSecond = Long.MIN_VALUE;
+    private int slot;
+
+    public LogMetrics(List<LogRule> rules) {
+        this.scanners = new Scanner[rules.size()];
+        for (int i = 0; i < scanners.length; i++) {
+            scanners[i] = new Scanner(rules.get(i));
+        }
+    }
+
+    // Histogram series, for picking what an instrument shows
+    public List<String> histogramSeries() {
+        List<String> series = new ArrayList<>();
+        for (Scanner scanner : scanners) {
+            if (scanner.rule.kind() == LogRule.Kind.HISTOGRAM) {
+                String metric = scanner.rule.metric();
+                series.add(metric + ".p50");
+                series.add(metric + ".p95");
+                series.add(metric + ".p99");
+            }
+        }
+        return series;
+    }
+
+    public synchronized void add(String[] lines, int count, long nowMillis) {
+        advance(nowMillis / 1000);
+        for (int i = 0; i < count; i++) {
+            String line = lines[i];
+            for (Scanner scanner : scanners) {
+                scanner.scan(line, slot, hosts);
+            }
+        }
+    }
+
+    // Moves to the given second, clearing the slots it skips over
+    private void advance(long second) {
+        if (second == currentSecond) {
+            return;
+        }
+        long steps = currentSecond == Long.MIN_VALUE ? WINDOW_SECONDS : Math.min(WINDOW_SECONDS, second - currentSecond);
+        for (long s = 0; s < steps; s++) {
+            slot = (slot + 1) % WINDOW_SECONDS;
+            for (Scanner scanner : scanners) {
+                scanner.clear(slot);
+            }
+        }
+        currentSecond = second;
+    }
+
+    // Reports every rule's window to the sink; about once a second
+    public synchronized void publish(MetricSink sink, long nowMillis) {
+        advance(nowMillis / 1000);
+        for (Scanner scanner : scanners) {
+            scanner.publish(sink, hosts);
+        }
+    }
+
+    private static final class Scanner {
+
+        final LogRule rule;
+        final String literal;
+        final PercentileSketch[] sketches;
+        final PercentileSketch merged;
+        final long[] counts = new long[WINDOW_SECONDS];
+        final long[][] hostCounts;
+
+        Scanner(LogRule rule) {
+            this.rule = rule;
+            this.literal = rule.literal();
+            if (rule.kind() == LogRule.Kind.HISTOGRAM) {
+                sketches = new PercentileSketch[WINDOW_SECONDS];
+                for (int i = 0; i < WINDOW_SECONDS; i++) {
+                    sketches[i] = new PercentileSketch();
+                }
+                merged = new PercentileSketch();
+                hostCounts = null;
+            } else {
+                sketches = null;
+                merged = null;
+                hostCounts = new long[WINDOW_SECONDS][MAX_HOSTS];
+            }
+        }
+
+        void scan(String line, int slot, Hosts hosts) {
+            int at = line.indexOf(literal);
+            if (at < 0) {
+                return;
+            }
+            if (sketches != null) {
+                double value = parseNumber(line, at + literal.length());
+                if (!Double.isNaN(value)) {
+                    sketches[slot].add(value);
+                    counts[slot]++;
+                }
+            } else {
+                counts[slot]++;
+                int host = hosts.of(line);
+                if (host >= 0) {
+                    hostCounts[slot][host]++;
+                }
+            }
+        }
+
+        void clear(int slot) {
+            counts[slot] = 0;
+            if (sketches != null) {
+                sketches[slot].clear();
+            } else {
+                Arrays.fill(hostCounts[slot], 0);
+            }
+        }
+
+        void publish(MetricSink sink, Hosts hosts) {
+            long total = 0;
+            for (long c : counts) {
+                total += c;
+            }
+            if (sketches != null) {
+                sink.put(rule.metric() + ".rate", (double) total / WINDOW_SECONDS);
+                if (total == 0) {
+                    return;
+                }
+                merged.clear();
+                for (PercentileSketch sketch : sketches) {
+                    merged.merge(sketch);
+                }
+                sink.put(rule.metric() + ".p50", merged.quantile(0.50));
+                sink.put(rule.metric() + ".p95", merged.quantile(0.95));
+                sink.put(rule.metric() + ".p99", merged.quantile(0.99));
+                return;
+            }
+            sink.put(rule.metric(), (double) total / WINDOW_SECONDS);
+            for (int host = 0; host < hosts.size; host++) {
+                long sum = 0;
+                for (long[] perSecond : hostCounts) {
+                    sum += perSecond[host];
+                }
+                sink.put(hosts.metric(rule.metric(), host), (double) sum / WINDOW_SECONDS);
+            }
+        }
+
+        // Skips blanks, then reads an unsigned decimal such as "42" or "0.57"; NaN if none follows
+        static double parseNumber(String line, int from) {
+            int length = line.length();
+            while (from < length && line.charAt(from) == ' ') {
+                from++;
+            }
+            double value = 0;
+            boolean digits = false;
+            while (from < length && line.charAt(from) >= '0' && line.charAt(from) <= '9') {
+                value = value * 10 + (line.charAt(from++) - '0');
+                digits = true;
+            }
+            if (from < length && line.charAt(from) == '.') {
+                from++;
+                double scale = 0.1;
+                while (from < length && line.charAt(from) >= '0' && line.charAt(from) <= '9') {
+                    value += (line.charAt(from++) - '0') * scale;
+                    scale /= 10;
+                    digits = true;
+                }
+            }
+            return digits ? value : Double.NaN;
+        }
+    }
+
+    // Source labels seen so far; a label is only turned into a String the first time
+    private static final class Hosts {
+
+        final String[] names = new String[MAX_HOSTS];
+        final int[] hashes = new int[MAX_HOSTS];
+        // Metric names per host and rule metric, built on first publish
+        final List<String[]> metricNames = new ArrayList<>();
+        final List<String> metricKeys = new ArrayList<>();
+        int size;
+
+        // Index of the line's "label: " prefix, or -1 if it has none or the table is full
+        int of(String line) {
+            int end = line.indexOf(": ");
+            if (end <= 0) {
+                return -1;
+            }
+            int hash = 0;
+            for (int i = 0; i < end; i++) {
+                char c = line.charAt(i);
+                if (c == ' ') {
+                    return -1;
+                }
+                hash = 31 * hash + c;
+            }
+            for (int h = 0; h < size; h++) {
+                if (hashes[h] == hash && names[h].length() == end && line.startsWith(names[h])) {
+                    return h;
+                }
+            }
+            if (size == MAX_HOSTS) {
+                return -1;
+            }
+            names[size] = line.substring(0, end);
+            hashes[size] = hash;
+            return size++;
+        }
+
+        String metric(String metric, int host) {
+            int key = metricKeys.indexOf(metric);
+            if (key < 0) {
+                metricKeys.add(metric);
+                metricNames.add(new String[MAX_HOSTS]);
+                key = metricKeys.size() - 1;
+            }
+            String[] names = metricNames.get(key);
+            if (names[host] == null) {
+                names[host] = metric + "." + this.names[host];
+            }
+            return names[host];
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.javafx.log;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// A log filter: whitespace-separated terms that must all match, ignoring
+// case. A plain term matches anywhere in the line, "level:warn" matches the
+// whole word, and "host:service-2" matches lines from that source (the
+// "service-2: " label the tailer puts in front).
+public record LogQuery(List<Term> terms) {
+
+    public enum Kind {
+        TEXT, LEVEL, HOST
+    }
+
+    // tokens are the index tokens the term's text is made of
+    public record Term(Kind kind, String text, List<String> tokens) {
+
+        // Level and host terms are whole words, so the index answers them exactly
+        boolean exact() {
+            return kind != Kind.TEXT;
+        }
+    }
+
+    public static LogQuery parse(String filter) {
+        List<Term> terms = new ArrayList<>();
+        for (String word : filter.trim().split("\\s+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            Kind kind = Kind.TEXT;
+            String text = word;
+            if (word.regionMatches(true, 0, "level:", 0, 6) && word.length() > 6) {
+                kind = Kind.LEVEL;
+                text = word.substring(6);
+            } else if (word.regionMatches(true, 0, "host:", 0, 5) && word.length() > 5) {
+                kind = Kind.HOST;
+                text = word.substring(5);
+            }
+            terms.add(new Term(kind, text, tokens(text)));
+        }
+        return new LogQuery(List.copyOf(terms));
+    }
+
+    public boolean isEmpty() {
+        return terms.isEmpty();
+    }
+
+    private static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (LogIndex.isTokenChar(c)) {
+                token.append(LogIndex.lower(c));
+            } else if (!token.isEmpty()) {
+                tokens.add(token.toString());
+                token.setLength(0);
+            }
+        }
+        return List.copyOf(tokens);
+    }
+
+    public boolean matches(String line) {
+        for (Term term : terms) {
+            boolean match = switch (term.kind()) {
+                case TEXT -> indexOfIgnoreCase(line, term.text(), 0) >= 0;
+                case LEVEL -> containsWord(line, term.text());
+                case HOST -> line.regionMatches(true, 0, term.text(), 0, term.text().length())
+                    && line.startsWith(": ", term.text().length());
+            };
+            if (!match) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int indexOfIgnoreCase(String line, String text, int from) {
+        int last = line.length() - text.length();
+        for (int i = from; i <= last; i++) {
+            if (line.regionMatches(true, i, text, 0, text.length())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean containsWord(String line, String word) {
+        int at = indexOfIgnoreCase(line, word, 0);
+        while (at >= 0) {
+            int end = at + word.length();
+            if ((at == 0 || !LogIndex.isTokenChar(line.charAt(at - 1)))
+                    && (end == line.length() || !LogIndex.isTokenChar(line.charAt(end)))) {
+                return true;
+            }
+            at = indexOfIgnoreCase(line, word, at + 1);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.javafx.log;
+
+import java.util.Arrays;
+
+// Fixed-capacity ring of log lines. Every appended line gets the next
+// sequence number; once the ring is full each append evicts the oldest, so
+// memory stays flat however long the dashboard runs. Writers may be any
+// thread; views copy out just the lines they show. An optional LogIndex is
+// kept in step under the same lock.
+public final class LogRing implements LogLines {
+
+    private final String[] lines;
+    private final long[] timestamps;
+    private final int mask;
+    private final LogIndex index;
+    private long head;
+    private long tail;
+
+    public LogRing(int capacity) {
+        this(capacity, null);
+    }
+
+    // Capacity is rounded up to a power of two
+    public LogRing(int capacity, LogIndex index) {
+        this.index = index;
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        lines = new String[size];
+        timestamps = new long[size];
+        mask = size - 1;
+    }
+
+    public int capacity() {
+        return lines.length;
+    }
+
+    public synchronized void append(long timestampMillis, String line) {
+        int slot = (int) (head & mask);
+        lines[slot] = line;
+        timestamps[slot] = timestampMillis;
+        if (index != null) {
+            index.add(head, line);
+        }
+        head++;
+        evict();
+    }
+
+    // One lock for a whole batch, e.g. a chunk read from a tailed file
+    public synchronized void append(long[] timestampsMillis, String[] batch, int count) {
+        for (int i = 0; i < count; i++) {
+            int slot = (int) (head & mask);
+            lines[slot] = batch[i];
+            timestamps[slot] = timestampsMillis[i];
+            if (index != null) {
+                index.add(head, batch[i]);
+            }
+            head++;
+        }
+        evict();
+    }
+
+    private void evict() {
+        if (head - tail > lines.length) {
+            tail = head - lines.length;
+            if (index != null) {
+                index.evictBefore(tail);
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(lines, null);
+        tail = head;
+        if (index != null) {
+            index.evictBefore(tail);
+        }
+    }
+
+    // Sequence number the next line will get
+    @Override
+    public synchronized long head() {
+        return head;
+    }
+
+    // Sequence number of the oldest line still held
+    @Override
+    public synchronized long tail() {
+        return tail;
+    }
+
+    @Override
+    public synchronized int copy(long from, String[] into, long[] timestampsInto, int count) {
+        long start = Math.max(from, tail);
+        long end = Math.min(from + count, head);
+        int n = 0;
+        for (long seq = start; seq < end; seq++) {
+            int slot = (int) (seq & mask);
+            into[n] = lines[slot];
+            if (timestampsInto != null) {
+                timestampsInto[n] = timestamps[slot];
+            }
+            n++;
+        }
+        return n;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.javafx.log;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// A log-to-metric rule. A HISTOGRAM rule reads the number right after its
+// literal ("Database query executed: 42ms" gives 42) into a latency
+// histogram; a COUNTER rule counts the lines containing it, in total and per
+// source host.
+public record LogRule(Kind kind, String metric, String literal) {
+
+    public enum Kind {
+        HISTOGRAM, COUNTER
+    }
+
+    // What the generated service logs carry
+    public static final List<LogRule> DEFAULTS = List.of(
+        new LogRule(Kind.HISTOGRAM, "log.query.ms", "Database query executed:"),
+        new LogRule(Kind.COUNTER, "log.connections", "Connection established"));
+
+    // Reads "histogram|counter METRIC LITERAL..." lines; blank lines and # comments are skipped
+    public static List<LogRule> load(Path file) throws IOException {
+        List<LogRule> rules = new ArrayList<>();
+        for (String line : Files.readAllLines(file)) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split("\\s+", 3);
+            Kind kind = switch (parts[0].toLowerCase()) {
+                case "histogram" -> Kind.HISTOGRAM;
+                case "counter" -> Kind.COUNTER;
+                default -> null;
+            };
+            if (kind == null || parts.length != 3) {
+                throw new IOException("Expected histogram|counter METRIC LITERAL in " + file + ": " + line);
+            }
+            rules.add(new LogRule(kind, parts[1], parts[2]));
+        }
+        return rules;
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.javafx.log;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+// Runs log filters on a background thread. A search walks the index from
+// the newest segment back, verifies each candidate line against the query
+// and streams matches into a LogMatches a segment at a time, so the first
+// screen is there long before the oldest lines are searched. Afterwards it
+// keeps appending matches among newly arrived lines until the next search.
+// onFound runs on the search thread after each batch of matches.
+public final class LogSearch implements AutoCloseable {
+
+    private static final long FOLLOW_MILLIS = 250;
+
+    private final LogRing ring;
+    private final LogIndex index;
+    private final Runnable onFound;
+    private final ScheduledExecutorService worker;
+    private volatile int generation;
+    private ScheduledFuture<?> follow;
+
+    // Worker thread only
+    private final long[] bits = new long[LogIndex.SEGMENT_LINES / 64];
+    private final long[] activeBits = new long[LogIndex.SEGMENT_LINES / 64];
+    private final long[] found = new long[LogIndex.SEGMENT_LINES];
+    private final String[] line = new String[1];
+
+    public LogSearch(LogRing ring, LogIndex index, Runnable onFound) {
+        this.ring = ring;
+        this.index = index;
+        this.onFound = onFound;
+        this.worker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "skywatch-log-search");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // Replaces any running search; FX thread
+    public void start(LogQuery query, LogMatches into) {
+        int run = ++generation;
+        if (follow != null) {
+            follow.cancel(false);
+        }
+        long[] next = new long[1];
+        worker.execute(() -> {
+            next[0] = backfill(query, into, run);
+        });
+        follow = worker.scheduleWithFixedDelay(() -> {
+            if (generation == run) {
+                next[0] = forward(query, into, next[0]);
+            }
+        }, FOLLOW_MILLIS, FOLLOW_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    public void cancel() {
+        generation++;
+        if (follow != null) {
+            follow.cancel(false);
+            follow = null;
+        }
+    }
+
+    // Newest to oldest; returns the sequence number to follow from
+    private long backfill(LogQuery query, LogMatches into, int run) {
+        long head = ring.head();
+        // The active segment first: if it seals meanwhile it shows up below and is skipped
+        long activeBase = index.activeCandidates(query, Long.MIN_VALUE, activeBits);
+        if (activeBase >= 0) {
+            prepend(into, verify(query, activeBase, activeBits, Long.MIN_VALUE, head));
+        } else {
+            activeBase = Long.MAX_VALUE;
+        }
+        LogIndex.Segment[] sealed = index.sealed();
+        for (int s = sealed.length - 1; s >= 0 && generation == run; s--) {
+            LogIndex.Segment segment = sealed[s];
+            if (segment.base >= activeBase) {
+                continue;
+            }
+            if (segment.base + segment.lines <= ring.tail()) {
+                break;
+            }
+            segment.candidates(query, bits);
+            prepend(into, verify(query, segment.base, bits, Long.MIN_VALUE, head));
+        }
+        return head;
+    }
+
+    // Matches among lines appended since the last look, oldest first
+    private long forward(LogQuery query, LogMatches into, long from) {
+        long head = ring.head();
+        long activeBase = index.activeCandidates(query, from, activeBits);
+        LogIndex.Segment[] sealed = index.sealed();
+        int first = sealed.length;
+        while (first > 0 && sealed[first - 1].base + sealed[first - 1].lines > from) {
+            first--;
+        }
+        for (int s = first; s < sealed.length && (activeBase < 0 || sealed[s].base < activeBase); s++) {
+            sealed[s].candidates(query, bits);
+            append(into, verify(query, sealed[s].base, bits, from, head));
+        }
+        if (activeBase >= 0) {
+            append(into, verify(query, activeBase, activeBits, from, head));
+        }
+        return head;
+    }
+
+    private void prepend(LogMatches into, int count) {
+        if (count > 0) {
+            into.prepend(found, count);
+            onFound.run();
+        }
+    }
+
+    private void append(LogMatches into, int count) {
+        if (count > 0) {
+            into.append(found, count);
+            onFound.run();
+        }
+    }
+
+    // Checks candidate lines in [from, to) of one segment; fills found ascending
+    private int verify(LogQuery query, long base, long[] bits, long from, long to) {
+        int n = 0;
+        for (int w = 0; w < bits.length; w++) {
+            long word = bits[w];
+            while (word != 0) {
+                int bit = Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+                long seq = base + (w << 6) + bit;
+                if (seq >= from && seq < to && ring.copy(seq, line, null, 1) == 1 && query.matches(line[0])) {
+                    found[n++] = seq;
+                }
+            }
+        }
+        line[0] = null;
+        return n;
+    }
+
+    @Override
+    public void close() {
+        worker.shutdownNow();
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.javafx.log;
+
+// Receives merged log lines in timestamp order, a batch at a time, on the
+// tailer's thread. The arrays are reused after the call returns.
+@FunctionalInterface
+public interface LogSink {
+
+    void lines(long[] timestampsMillis, String[] lines, int count);
+}
@@ -0,0 +1,141 @@
+package com.example.javafx.log;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Writes service-style log lines into a set of files in a temporary
+// directory, rotating each one (app.log -> app.log.1) once it passes
+// ROTATE_BYTES. Used for demos and load tests when there are no real logs to
+// follow; the directory is deleted on close.
+public final class LogStub implements AutoCloseable {
+
+    private static final long ROTATE_BYTES = 4 * 1024 * 1024;
+    private static final long TICK_MILLIS = 100;
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS");
+
+    private final Path dir;
+    private final List<Path> files = new ArrayList<>();
+    private final FileChannel[] channels;
+    private final long[] written;
+    private final double linesPerTick;
+    private double owed;
+    private final ScheduledExecutorService writer;
+
+    public LogStub(int fileCount, int linesPerSecond) throws IOException {
+        this.dir = Files.createTempDirectory("skywatch-logs");
+        this.channels = new FileChannel[fileCount];
+        this.written = new long[fileCount];
+        for (int i = 0; i < fileCount; i++) {
+            Path file = dir.resolve("service-" + (i + 1) + ".log");
+            files.add(file);
+            channels[i] = openFresh(file);
+        }
+        this.linesPerTick = linesPerSecond * TICK_MILLIS / 1000.0;
+        this.writer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "skywatch-log-stub");
+            t.setDaemon(true);
+            return t;
+        });
+        writer.scheduleAtFixedRate(this::tick, 0, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    public List<Path> files() {
+        return List.copyOf(files);
+    }
+
+    private static FileChannel openFresh(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    private void tick() {
+        owed += linesPerTick;
+        int lines = (int) owed;
+        owed -= lines;
+        if (lines == 0) {
+            return;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String timestamp = TIMESTAMP.format(LocalDateTime.now());
+        StringBuilder[] batches = new StringBuilder[channels.length];
+        for (int i = 0; i < lines; i++) {
+            int file = random.nextInt(channels.length);
+            if (batches[file] == null) {
+                batches[file] = new StringBuilder();
+            }
+            batches[file].append(timestamp).append(' ').append(message(random)).append('\n');
+        }
+        try {
+            for (int i = 0; i < channels.length; i++) {
+                if (batches[i] != null) {
+                    write(i, batches[i].toString().getBytes(StandardCharsets.UTF_8));
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Log stub stopped: " + e.getMessage());
+            writer.shutdown();
+        }
+    }
+
+    private static String message(ThreadLocalRandom random) {
+        return switch (random.nextInt(6)) {
+            case 0 -> "INFO Connection established from 192.168.1." + random.nextInt(255);
+            case 1 -> "INFO Database query executed: " + random.nextInt(100) + "ms";
+            case 2 -> "DEBUG Cache invalidated for key: user_" + random.nextInt(10000);
+            case 3 -> "INFO Background job completed: cleanup_task";
+            case 4 -> "INFO Health check passed: all services operational";
+            default -> "INFO Load balancer: routing to server_" + (random.nextInt(4) + 1);
+        };
+    }
+
+    private void write(int file, byte[] bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            channels[file].write(buffer);
+        }
+        written[file] += bytes.length;
+        if (written[file] >= ROTATE_BYTES) {
+            channels[file].close();
+            Path path = files.get(file);
+            Files.move(path, path.resolveSibling(path.getFileName() + ".1"), StandardCopyOption.REPLACE_EXISTING);
+            channels[file] = openFresh(path);
+            written[file] = 0;
+        }
+    }
+
+    @Override
+    public void close() {
+        writer.shutdownNow();
+        try {
+            writer.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (FileChannel channel : channels) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException ignored) {
+        }
+    }
+}
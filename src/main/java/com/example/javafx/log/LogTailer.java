@@ -0,0 +1,137 @@
+package com.example.javafx.log;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Follows any number of log files on one thread and hands their lines to a
+// LogSink as a single timestamp-ordered stream. Each turn reads up to a few
+// 256 KB chunks per file into one shared buffer, then merges whatever has
+// waited out the reordering window. Lines are split and timestamped by
+// scanning bytes, never with regexes; when nothing was read the thread
+// sleeps for a poll interval.
+public final class LogTailer implements AutoCloseable {
+
+    private static final int CHUNK_BYTES = 256 * 1024;
+    private static final int CHUNKS_PER_TURN = 4;
+    private static final long POLL_MILLIS = 50;
+    private static final int MAX_PENDING = 64 * 1024;
+
+    private final TailedFile[] files;
+    private final long windowNanos;
+    private final LogSink sink;
+    private final LogMerger merger;
+    private final ByteBuffer buffer = ByteBuffer.allocate(CHUNK_BYTES);
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    // Lines are labelled with their file name when following more than one file
+    public LogTailer(List<Path> paths, Duration reorderWindow, LogSink sink) {
+        this.files = new TailedFile[paths.size()];
+        for (int i = 0; i < files.length; i++) {
+            Path path = paths.get(i);
+            files[i] = new TailedFile(path, files.length > 1 ? label(path) : null);
+        }
+        this.windowNanos = reorderWindow.toNanos();
+        this.sink = sink;
+        this.merger = new LogMerger(files.length);
+        this.thread = new Thread(this::run, "skywatch-log-tail");
+        thread.setDaemon(true);
+    }
+
+    // Comma-separated files and directories; a directory stands for the *.log files in it
+    public static List<Path> expand(String spec) throws IOException {
+        Set<Path> paths = new HashSet<>();
+        List<Path> ordered = new ArrayList<>();
+        for (String entry : spec.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            Path path = Path.of(entry.trim());
+            if (Files.isDirectory(path)) {
+                try (DirectoryStream<Path> logs = Files.newDirectoryStream(path, "*.log")) {
+                    for (Path log : logs) {
+                        if (Files.isRegularFile(log) && paths.add(log)) {
+                            ordered.add(log);
+                        }
+                    }
+                }
+            } else if (paths.add(path)) {
+                ordered.add(path);
+            }
+        }
+        return ordered;
+    }
+
+    private static String label(Path path) {
+        String name = path.getFileName().toString();
+        return name.endsWith(".log") ? name.substring(0, name.length() - 4) : name;
+    }
+
+    public int size() {
+        return files.length;
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    private void run() {
+        while (running) {
+            boolean more = false;
+            for (TailedFile file : files) {
+                more |= readTurn(file);
+                if (merger.pending() > MAX_PENDING) {
+                    merger.drain(System.nanoTime() - windowNanos, MAX_PENDING / 2, sink);
+                }
+            }
+            merger.drain(System.nanoTime() - windowNanos, MAX_PENDING, sink);
+            if (!more) {
+                try {
+                    Thread.sleep(POLL_MILLIS);
+                } catch (InterruptedException e) {
+                    break;
+                }
+            }
+        }
+        for (TailedFile file : files) {
+            file.close();
+        }
+    }
+
+    // True if the file may have more to read right away
+    private boolean readTurn(TailedFile file) {
+        long arrival = System.nanoTime();
+        long now = System.currentTimeMillis();
+        try {
+            for (int i = 0; i < CHUNKS_PER_TURN; i++) {
+                int before = file.queued();
+                int n = file.read(buffer, arrival, now);
+                merger.offer(file, file.queued() - before);
+                if (n < CHUNK_BYTES) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            if (running) {
+                System.err.println("Log tail of " + file.path() + " failed, retrying: " + e.getMessage());
+            }
+            file.close();
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        thread.interrupt();
+    }
+}
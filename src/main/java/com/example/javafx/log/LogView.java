@@ -0,0 +1,130 @@
+package com.example.javafx.log;
+
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+
+// Draws the tail of a LogRing, or of filter results, on a Canvas. Only the
+// lines that fit are copied and drawn, and render() does nothing unless the
+// lines, the scroll position or the size changed, so any ingest rate costs at
+// most one redraw per frame. Scrolling and resizing redraw in the layout pass
+// they trigger. The mouse wheel scrolls back; scrolling to the bottom follows
+// the tail again. FX thread only.
+public final class LogView extends Region {
+
+    private static final int WHEEL_LINES = 3;
+    private static final double PADDING = 2;
+
+    private LogLines source;
+    private final Canvas canvas = new Canvas();
+    private final Font font;
+    private final Color textColor;
+    private final Color background;
+    private final double lineHeight;
+    private String[] visible = new String[0];
+
+    // Sequence number just past the bottom line, or -1 to follow the tail
+    private long anchor = -1;
+    private long drawnHead = -1;
+    private long drawnTail = -1;
+    private boolean dirty = true;
+
+    public LogView(LogLines source, Font font, Color textColor, Color background) {
+        this.source = source;
+        this.font = font;
+        this.textColor = textColor;
+        this.background = background;
+        Text probe = new Text("Mg");
+        probe.setFont(font);
+        this.lineHeight = Math.ceil(probe.getLayoutBounds().getHeight());
+        getChildren().add(canvas);
+        setOnScroll(e -> {
+            if (e.getDeltaY() != 0) {
+                scroll(e.getDeltaY() > 0 ? -WHEEL_LINES : WHEEL_LINES);
+            }
+        });
+    }
+
+    // Negative scrolls back in time
+    public void scroll(int lines) {
+        long head = source.head();
+        long tail = source.tail();
+        long bottom = (anchor < 0 ? head : anchor) + lines;
+        long oldestBottom = Math.min(head, tail + rows());
+        anchor = bottom >= head ? -1 : Math.max(bottom, oldestBottom);
+        dirty = true;
+        requestLayout();
+    }
+
+    // Shows other lines, such as filter results, following their tail
+    public void setLines(LogLines lines) {
+        source = lines;
+        followTail();
+    }
+
+    public void followTail() {
+        anchor = -1;
+        dirty = true;
+        requestLayout();
+    }
+
+    @Override
+    protected void layoutChildren() {
+        if (canvas.getWidth() != getWidth() || canvas.getHeight() != getHeight()) {
+            canvas.setWidth(getWidth());
+            canvas.setHeight(getHeight());
+            dirty = true;
+        }
+        render();
+    }
+
+    private int rows() {
+        return Math.max(1, (int) ((canvas.getHeight() - 2 * PADDING) / lineHeight));
+    }
+
+    public void render() {
+        long head = source.head();
+        long tail = source.tail();
+        // Scrolled back, new lines only matter once they evict what is on screen
+        if (!dirty && tail == drawnTail && (head == drawnHead || anchor >= 0)) {
+            return;
+        }
+        dirty = false;
+        drawnHead = head;
+        drawnTail = tail;
+
+        int rows = rows();
+        if (visible.length < rows) {
+            visible = new String[rows];
+        }
+        long bottom = anchor < 0 ? head : Math.max(Math.min(anchor, head), Math.min(head, tail + rows));
+        long first = Math.max(tail, bottom - rows);
+        int count = source.copy(first, visible, null, (int) (bottom - first));
+
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        double width = canvas.getWidth();
+        double height = canvas.getHeight();
+        gc.setFill(background);
+        gc.fillRect(0, 0, width, height);
+        gc.setFont(font);
+        gc.setTextBaseline(VPos.TOP);
+        gc.setFill(textColor);
+        for (int i = 0; i < count; i++) {
+            gc.fillText(visible[i], 2 * PADDING, PADDING + i * lineHeight);
+            visible[i] = null;
+        }
+
+        // Thin position marker while scrolled back
+        long held = head - tail;
+        if (anchor >= 0 && held > rows) {
+            double thumb = Math.max(8, height * rows / held);
+            double y = (height - thumb) * (bottom - tail - rows) / (held - rows);
+            gc.setFill(textColor.deriveColor(0, 1, 1, 0.5));
+            gc.fillRect(width - 3, y, 2, thumb);
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.example.javafx.log;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.ZoneId;
+import java.util.Arrays;
+
+// One followed file: reads appended bytes in chunks at a remembered offset,
+// splits them into lines and queues each with its timestamp for the merge.
+// Timestamps are kept non-decreasing so every file is a sorted run. While
+// idle it checks once a second whether the file was truncated (start again
+// from 0) or replaced by rotation (finish the old file, then open the new
+// one from 0). Owned by the tailer thread.
+final class TailedFile {
+
+    private static final long CHECK_MILLIS = 1000;
+    private static final int BACKFILL_BYTES = 8 * 1024;
+    private static final int MAX_LINE = 16 * 1024;
+
+    private final Path path;
+    private final byte[] prefix;
+    private final TimestampScanner timestamps = new TimestampScanner(ZoneId.systemDefault());
+    private FileChannel channel;
+    private Object fileKey;
+    private long position;
+    private boolean seen;
+    private boolean skipPartial;
+    private long nextCheck;
+    private byte[] carry = new byte[256];
+    private int carryLength;
+    private byte[] text = new byte[256];
+    private long lastTs = Long.MIN_VALUE;
+
+    // Lines waiting for the merge, oldest first
+    private long[] queuedTs = new long[64];
+    private long[] queuedArrival = new long[64];
+    private String[] queuedLines = new String[64];
+    private int queueHead;
+    private int queued;
+    boolean inHeap;
+
+    TailedFile(Path path, String label) {
+        this.path = path;
+        this.prefix = label == null ? new byte[0] : (label + ": ").getBytes(StandardCharsets.UTF_8);
+    }
+
+    Path path() {
+        return path;
+    }
+
+    // Reads one chunk; returns the bytes consumed, 0 when there was nothing new
+    int read(ByteBuffer buffer, long arrivalNanos, long nowMillis) throws IOException {
+        if (channel == null) {
+            if (nowMillis < nextCheck) {
+                return 0;
+            }
+            nextCheck = nowMillis + CHECK_MILLIS;
+            if (!open()) {
+                return 0;
+            }
+        }
+        int n = readChunk(buffer, arrivalNanos, nowMillis);
+        if (n == 0 && nowMillis >= nextCheck) {
+            nextCheck = nowMillis + CHECK_MILLIS;
+            checkReplaced(buffer, arrivalNanos, nowMillis);
+        }
+        return n;
+    }
+
+    private int readChunk(ByteBuffer buffer, long arrivalNanos, long nowMillis) throws IOException {
+        buffer.clear();
+        int n = channel.read(buffer, position);
+        if (n <= 0) {
+            return 0;
+        }
+        position += n;
+        scan(buffer.array(), n, arrivalNanos, nowMillis);
+        return n;
+    }
+
+    // The first open starts near the end like tail(1); files that appear later are read whole
+    private boolean open() throws IOException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            seen = true;
+            return false;
+        }
+        Object key = attributes.fileKey();
+        if (!seen) {
+            position = Math.max(0, attributes.size() - BACKFILL_BYTES);
+            skipPartial = position > 0;
+        } else if (key == null || !key.equals(fileKey) || attributes.size() < position) {
+            position = 0;
+            carryLength = 0;
+        }
+        // else the same file reopened after a read error: carry on where we were
+        fileKey = key;
+        seen = true;
+        return true;
+    }
+
+    private void checkReplaced(ByteBuffer buffer, long arrivalNanos, long nowMillis) throws IOException {
+        if (channel.size() < position) {
+            // Truncated in place (copytruncate); the partial line went with it
+            position = 0;
+            carryLength = 0;
+            return;
+        }
+        Object key;
+        try {
+            key = Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+        } catch (NoSuchFileException e) {
+            // Moved away and not recreated yet; keep following the old file
+            return;
+        }
+        if (key == null || key.equals(fileKey)) {
+            return;
+        }
+        // Rotated: take whatever was written to the old file before the switch
+        while (readChunk(buffer, arrivalNanos, nowMillis) > 0) {
+        }
+        if (carryLength > 0) {
+            emit(carry, 0, carryLength, arrivalNanos, nowMillis);
+            carryLength = 0;
+        }
+        close();
+        open();
+    }
+
+    private void scan(byte[] data, int length, long arrivalNanos, long nowMillis) {
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            if (data[i] != '\n') {
+                continue;
+            }
+            if (skipPartial) {
+                skipPartial = false;
+            } else if (carryLength > 0) {
+                appendCarry(data, start, i);
+                emit(carry, 0, carryLength, arrivalNanos, nowMillis);
+                carryLength = 0;
+            } else {
+                emit(data, start, i, arrivalNanos, nowMillis);
+            }
+            start = i + 1;
+        }
+        if (start < length && !skipPartial) {
+            appendCarry(data, start, length);
+            if (carryLength >= MAX_LINE) {
+                emit(carry, 0, carryLength, arrivalNanos, nowMillis);
+                carryLength = 0;
+            }
+        }
+    }
+
+    private void appendCarry(byte[] data, int from, int to) {
+        int length = Math.min(to - from, MAX_LINE - carryLength);
+        if (carryLength + length > carry.length) {
+            carry = Arrays.copyOf(carry, Math.max(carry.length * 2, carryLength + length));
+        }
+        System.arraycopy(data, from, carry, carryLength, length);
+        carryLength += length;
+    }
+
+    private void emit(byte[] data, int from, int to, long arrivalNanos, long nowMillis) {
+        if (to > from && data[to - 1] == '\r') {
+            to--;
+        }
+        if (to == from) {
+            return;
+        }
+        long ts = timestamps.parse(data, from, to);
+        if (ts == TimestampScanner.NONE) {
+            // A continuation line, e.g. of a stack trace, belongs with the line before it;
+            // the wall clock only stands in for a file's first line
+            ts = lastTs != Long.MIN_VALUE ? lastTs : nowMillis;
+        }
+        ts = Math.max(ts, lastTs);
+        lastTs = ts;
+
+        int length = prefix.length + to - from;
+        if (length > text.length) {
+            text = new byte[Math.max(text.length * 2, length)];
+        }
+        System.arraycopy(prefix, 0, text, 0, prefix.length);
+        System.arraycopy(data, from, text, prefix.length, to - from);
+        enqueue(ts, arrivalNanos, new String(text, 0, length, StandardCharsets.UTF_8));
+    }
+
+    private void enqueue(long ts, long arrivalNanos, String line) {
+        if (queued == queuedLines.length) {
+            int capacity = queued * 2;
+            queuedTs = unwrap(queuedTs, capacity);
+            queuedArrival = unwrap(queuedArrival, capacity);
+            String[] lines = new String[capacity];
+            for (int i = 0; i < queued; i++) {
+                lines[i] = queuedLines[(queueHead + i) & (queuedLines.length - 1)];
+            }
+            queuedLines = lines;
+            queueHead = 0;
+        }
+        int slot = (queueHead + queued) & (queuedLines.length - 1);
+        queuedTs[slot] = ts;
+        queuedArrival[slot] = arrivalNanos;
+        queuedLines[slot] = line;
+        queued++;
+    }
+
+    private long[] unwrap(long[] ring, int capacity) {
+        long[] grown = new long[capacity];
+        for (int i = 0; i < queued; i++) {
+            grown[i] = ring[(queueHead + i) & (ring.length - 1)];
+        }
+        return grown;
+    }
+
+    int queued() {
+        return queued;
+    }
+
+    long headTs() {
+        return queuedTs[queueHead];
+    }
+
+    long headArrival() {
+        return queuedArrival[queueHead];
+    }
+
+    // Removes the oldest queued line
+    String take() {
+        String line = queuedLines[queueHead];
+        queuedLines[queueHead] = null;
+        queueHead = (queueHead + 1) & (queuedLines.length - 1);
+        queued--;
+        return line;
+    }
+
+    void close() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+            channel = null;
+        }
+    }
+}
@@ -0,0 +1,349 @@
+package com.example.javafx.log;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Online log template mining after Drain (He et al., ICWS 2017). Lines are
+// split on whitespace and routed down a fixed-depth tree: first by token
+// count, then by their first PREFIX_TOKENS tokens, with tokens holding digits
+// and overflowing nodes going to a wildcard child. The leaf holds templates
+// of that shape; a line joins the most similar one if at least SIMILARITY of
+// its tokens agree, and the positions that disagree become wildcards. Tokens
+// with digits are masked up front, as numbers, ids and timestamps almost
+// always are parameters, and positions masked on both sides are not counted.
+// Otherwise it starts a new template. At most maxTemplates are kept; the
+// least recently matched one is evicted, and tree nodes left empty go with it.
+// Lines are compared in place, so only a new template allocates.
+public final class TemplateMiner {
+
+    public record TemplateRate(String pattern, double perSecond, long total) {
+    }
+
+    static final String WILDCARD = "<*>";
+    private static final int PREFIX_TOKENS = 2;
+    private static final int MAX_CHILDREN = 100;
+    private static final int MAX_TOKENS = 64;
+    private static final double SIMILARITY = 0.4;
+    private static final double RATE_SMOOTHING = 0.5;
+
+    private final int maxTemplates;
+    private final Node[] byLength = new Node[MAX_TOKENS + 1];
+    private int templates;
+    // Least recently matched at the tail
+    private Template newest;
+    private Template oldest;
+
+    // Token spans of the line being mined
+    private final int[] starts = new int[MAX_TOKENS];
+    private final int[] ends = new int[MAX_TOKENS];
+    private final boolean[] digits = new boolean[MAX_TOKENS];
+
+    private long lastSnapshot;
+
+    public TemplateMiner(int maxTemplates) {
+        this.maxTemplates = Math.max(1, maxTemplates);
+    }
+
+    public synchronized void add(String[] lines, int count) {
+        for (int i = 0; i < count; i++) {
+            mine(lines[i]);
+        }
+    }
+
+    public synchronized int size() {
+        return templates;
+    }
+
+    private void mine(String line) {
+        int length = split(line);
+        if (length == 0) {
+            return;
+        }
+        Node leaf = leaf(line, length);
+        Template best = null;
+        double bestSimilarity = -1;
+        int bestWild = -1;
+        for (Template template : leaf.templates) {
+            int same = 0;
+            int wild = 0;
+            int masked = 0;
+            for (int i = 0; i < length; i++) {
+                String token = template.tokens[i];
+                if (token == WILDCARD) {
+                    wild++;
+                    // Parameters on both sides say nothing about the shape
+                    if (digits[i]) {
+                        masked++;
+                    }
+                } else if (equals(token, line, i)) {
+                    same++;
+                }
+            }
+            double similarity = masked == length ? 1 : (double) same / (length - masked);
+            if (similarity > bestSimilarity || (similarity == bestSimilarity && wild > bestWild)) {
+                best = template;
+                bestSimilarity = similarity;
+                bestWild = wild;
+            }
+        }
+        if (best != null && bestSimilarity >= SIMILARITY) {
+            for (int i = 0; i < length; i++) {
+                if (best.tokens[i] != WILDCARD && !equals(best.tokens[i], line, i)) {
+                    best.tokens[i] = WILDCARD;
+                    best.pattern = null;
+                }
+            }
+            best.count++;
+            touch(best);
+            return;
+        }
+        if (templates == maxTemplates) {
+            evict(oldest);
+            // The eviction may have pruned the leaf we were about to use
+            leaf = leaf(line, length);
+        }
+        Template template = new Template(leaf, new String[length]);
+        for (int i = 0; i < length; i++) {
+            template.tokens[i] = digits[i] ? WILDCARD : line.substring(starts[i], ends[i]);
+        }
+        template.count = 1;
+        leaf.templates.add(template);
+        templates++;
+        touch(template);
+    }
+
+    // Fills the token spans; a line with more than MAX_TOKENS keeps the rest in its last token
+    private int split(String line) {
+        int n = 0;
+        int length = line.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && line.charAt(i) <= ' ') {
+                i++;
+            }
+            if (i == length) {
+                break;
+            }
+            if (n == MAX_TOKENS) {
+                ends[n - 1] = length;
+                while (length > 0 && line.charAt(length - 1) <= ' ') {
+                    ends[n - 1] = --length;
+                }
+                digits[n - 1] = true;
+                break;
+            }
+            starts[n] = i;
+            boolean digit = false;
+            while (i < length && line.charAt(i) > ' ') {
+                char c = line.charAt(i++);
+                digit |= c >= '0' && c <= '9';
+            }
+            ends[n] = i;
+            digits[n++] = digit;
+        }
+        return n;
+    }
+
+    private boolean equals(String token, String line, int i) {
+        int length = ends[i] - starts[i];
+        return token.length() == length && line.regionMatches(starts[i], token, 0, length);
+    }
+
+    private Node leaf(String line, int length) {
+        Node node = byLength[length];
+        if (node == null) {
+            node = byLength[length] = new Node(null, length);
+        }
+        for (int i = 0; i < Math.min(PREFIX_TOKENS, length); i++) {
+            node = node.child(this, line, i);
+        }
+        return node;
+    }
+
+    private void touch(Template template) {
+        if (template == newest) {
+            return;
+        }
+        unlink(template);
+        template.older = newest;
+        if (newest != null) {
+            newest.newer = template;
+        }
+        newest = template;
+        if (oldest == null) {
+            oldest = template;
+        }
+    }
+
+    private void unlink(Template template) {
+        if (template.newer != null) {
+            template.newer.older = template.older;
+        } else if (newest == template) {
+            newest = template.older;
+        }
+        if (template.older != null) {
+            template.older.newer = template.newer;
+        } else if (oldest == template) {
+            oldest = template.newer;
+        }
+        template.newer = null;
+        template.older = null;
+    }
+
+    private void evict(Template template) {
+        unlink(template);
+        templates--;
+        Node leaf = template.leaf;
+        leaf.templates.remove(template);
+        // Prune nodes that no longer lead to any template
+        Node node = leaf;
+        while (node.parent != null && node.templates.isEmpty() && node.size == 0 && node.wildcard == null) {
+            node.parent.remove(node);
+            node = node.parent;
+        }
+        if (node.parent == null && node.size == 0 && node.wildcard == null && node.templates.isEmpty()) {
+            byLength[node.length] = null;
+        }
+    }
+
+    // Templates by smoothed rate since the previous call, highest first; call about once a second
+    public synchronized List<TemplateRate> top(int limit, long nowMillis) {
+        double seconds = lastSnapshot == 0 ? 0 : (nowMillis - lastSnapshot) / 1000.0;
+        lastSnapshot = nowMillis;
+        Template[] best = new Template[limit];
+        int found = 0;
+        for (Template t = newest; t != null; t = t.older) {
+            if (seconds > 0) {
+                double instant = (t.count - t.countAtSnapshot) / seconds;
+                t.rate = t.rated ? t.rate + RATE_SMOOTHING * (instant - t.rate) : instant;
+                t.rated = true;
+            }
+            t.countAtSnapshot = t.count;
+            // Insertion into the small top list
+            int at = found;
+            while (at > 0 && (best[at - 1].rate < t.rate || (best[at - 1].rate == t.rate && best[at - 1].count < t.count))) {
+                at--;
+            }
+            if (at < limit) {
+                System.arraycopy(best, at, best, at + 1, Math.min(found, limit - 1) - at);
+                best[at] = t;
+                found = Math.min(found + 1, limit);
+            }
+        }
+        List<TemplateRate> top = new ArrayList<>(found);
+        for (int i = 0; i < found; i++) {
+            top.add(new TemplateRate(best[i].pattern(), best[i].rate, best[i].count));
+        }
+        return top;
+    }
+
+    private static final class Template {
+
+        final Node leaf;
+        final String[] tokens;
+        String pattern;
+        long count;
+        long countAtSnapshot;
+        double rate;
+        boolean rated;
+        Template newer;
+        Template older;
+
+        Template(Node leaf, String[] tokens) {
+            this.leaf = leaf;
+            this.tokens = tokens;
+        }
+
+        // Leading wildcards (timestamps, source labels) are left out
+        String pattern() {
+            if (pattern == null) {
+                StringBuilder text = new StringBuilder();
+                int i = 0;
+                while (i < tokens.length - 1 && tokens[i] == WILDCARD) {
+                    i++;
+                }
+                for (; i < tokens.length; i++) {
+                    if (!text.isEmpty()) {
+                        text.append(' ');
+                    }
+                    text.append(tokens[i]);
+                }
+                pattern = text.toString();
+            }
+            return pattern;
+        }
+    }
+
+    private static final class Node {
+
+        final Node parent;
+        final int length;
+        String[] keys = new String[4];
+        int[] hashes = new int[4];
+        Node[] children = new Node[4];
+        int size;
+        Node wildcard;
+        final List<Template> templates = new ArrayList<>(2);
+
+        Node(Node parent, int length) {
+            this.parent = parent;
+            this.length = length;
+        }
+
+        Node child(TemplateMiner miner, String line, int i) {
+            if (miner.digits[i]) {
+                return wildcard();
+            }
+            int start = miner.starts[i];
+            int end = miner.ends[i];
+            int hash = 0;
+            for (int k = start; k < end; k++) {
+                hash = 31 * hash + line.charAt(k);
+            }
+            for (int c = 0; c < size; c++) {
+                if (hashes[c] == hash && keys[c].length() == end - start
+                        && line.regionMatches(start, keys[c], 0, end - start)) {
+                    return children[c];
+                }
+            }
+            if (size == MAX_CHILDREN) {
+                return wildcard();
+            }
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                hashes = Arrays.copyOf(hashes, size * 2);
+                children = Arrays.copyOf(children, size * 2);
+            }
+            String key = line.substring(start, end);
+            keys[size] = key;
+            hashes[size] = hash;
+            return children[size++] = new Node(this, length);
+        }
+
+        private Node wildcard() {
+            if (wildcard == null) {
+                wildcard = new Node(this, length);
+            }
+            return wildcard;
+        }
+
+        void remove(Node child) {
+            if (child == wildcard) {
+                wildcard = null;
+                return;
+            }
+            for (int c = 0; c < size; c++) {
+                if (children[c] == child) {
+                    size--;
+                    keys[c] = keys[size];
+                    hashes[c] = hashes[size];
+                    children[c] = children[size];
+                    keys[size] = null;
+                    children[size] = null;
+                    return;
+                }
+            }
+        }
+    }
+}
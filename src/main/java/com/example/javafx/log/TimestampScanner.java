@@ -0,0 +1,111 @@
+package com.example.javafx.log;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+
+// Reads a leading ISO-8601 style timestamp straight from the line bytes:
+// "2024-05-01T12:00:00.123Z", "2024-05-01 12:00:00,123+02:00" and the same
+// inside "[...]". Times without an offset are local; the zone offset is
+// looked up once per hour of log time, so a line costs a few compares and
+// no allocation. One instance per source, single-threaded.
+final class TimestampScanner {
+
+    static final long NONE = Long.MIN_VALUE;
+
+    private final ZoneRules zone;
+    private long offsetHour = Long.MIN_VALUE;
+    private long offsetMillis;
+
+    TimestampScanner(ZoneId zone) {
+        this.zone = zone.getRules();
+    }
+
+    // Epoch millis of the timestamp starting the line, or NONE
+    long parse(byte[] b, int from, int to) {
+        int p = from;
+        if (p < to && b[p] == '[') {
+            p++;
+        }
+        if (p + 19 > to || b[p + 4] != '-' || b[p + 7] != '-' || b[p + 13] != ':' || b[p + 16] != ':'
+                || (b[p + 10] != 'T' && b[p + 10] != ' ')) {
+            return NONE;
+        }
+        int year = digits(b, p, 4);
+        int month = digits(b, p + 5, 2);
+        int day = digits(b, p + 8, 2);
+        int hour = digits(b, p + 11, 2);
+        int minute = digits(b, p + 14, 2);
+        int second = digits(b, p + 17, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31 || hour < 0 || hour > 23
+                || minute < 0 || minute > 59 || second < 0 || second > 60) {
+            return NONE;
+        }
+        p += 19;
+        int millis = 0;
+        if (p < to && (b[p] == '.' || b[p] == ',')) {
+            p++;
+            int scale = 100;
+            while (p < to && b[p] >= '0' && b[p] <= '9') {
+                millis += (b[p++] - '0') * scale;
+                scale /= 10;
+            }
+        }
+        long epochDay = epochDay(year, month, day);
+        long local = ((epochDay * 24 + hour) * 60 + minute) * 60_000L + second * 1000L + millis;
+        // Only a whole "Z" or "+HH:MM"/"+HHMM" token is an offset; anything else,
+        // such as "+05 retries", is message text after a local time
+        if (p < to && b[p] == 'Z' && tokenEnds(b, p + 1, to)) {
+            return local;
+        }
+        if (p < to && (b[p] == '+' || b[p] == '-')) {
+            int q = p + 3 < to && b[p + 3] == ':' ? p + 4 : p + 3;
+            if (q + 2 <= to && tokenEnds(b, q + 2, to)) {
+                int offsetH = digits(b, p + 1, 2);
+                int offsetM = digits(b, q, 2);
+                if (offsetH >= 0 && offsetH <= 18 && offsetM >= 0 && offsetM <= 59) {
+                    long offset = (offsetH * 60L + offsetM) * 60_000L;
+                    return b[p] == '+' ? local - offset : local + offset;
+                }
+            }
+        }
+        long hourKey = epochDay * 24 + hour;
+        if (hourKey != offsetHour) {
+            try {
+                offsetMillis = zone.getOffset(LocalDateTime.of(year, month, day, hour, 0)).getTotalSeconds() * 1000L;
+            } catch (DateTimeException e) {
+                // Such as February 30th
+                return NONE;
+            }
+            offsetHour = hourKey;
+        }
+        return local - offsetMillis;
+    }
+
+    private static boolean tokenEnds(byte[] b, int at, int to) {
+        return at == to || !Character.isLetterOrDigit(b[at]);
+    }
+
+        private static int digits(byte[] b, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            int d = b[i] - '0';
+            if (d < 0 || d > 9) {
+                return -1;
+            }
+            value = value * 10 + d;
+        }
+        return value;
+    }
+
+    // Days since 1970-01-01 in the proleptic Gregorian calendar
+    private static long epochDay(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yoe = y - era * 400;
+        long doy = (153L * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146_097 + doe - 719_468;
+    }
+}
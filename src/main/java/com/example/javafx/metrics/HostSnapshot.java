@@ -0,0 +1,29 @@
+package com.example.javafx.metrics;
+
+// One host sample. Rates are per second over the interval since the previous
+// sample; a value the host cannot provide is NaN (or -1 for connections).
+public record HostSnapshot(
+    long nanoTime,
+    double cpuLoad,
+    double memoryUsage,
+    double diskIO,
+    double networkIn,
+    double networkOut,
+    double serverTemp,
+    int activeConnections
+) {
+
+    // Metric by its index in MetricNames.NODE_METRICS
+    public double metric(int index) {
+        return switch (index) {
+            case 0 -> cpuLoad;
+            case 1 -> memoryUsage;
+            case 2 -> diskIO;
+            case 3 -> networkIn;
+            case 4 -> networkOut;
+            case 5 -> serverTemp;
+            case 6 -> activeConnections < 0 ? Double.NaN : activeConnections;
+            default -> Double.NaN;
+        };
+    }
+}
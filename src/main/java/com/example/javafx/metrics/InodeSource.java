@@ -0,0 +1,62 @@
+package com.example.javafx.metrics;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Inode usage of the root filesystem. The JDK has no statvfs binding, so this
+// runs "df -Pi /" - slow enough to be polled rarely and marked HIGH cost.
+public final class InodeSource implements MetricSource {
+
+    @Override
+    public String name() {
+        return "inodes";
+    }
+
+    @Override
+    public Duration pollInterval() {
+        return Duration.ofSeconds(30);
+    }
+
+    @Override
+    public Duration timeout() {
+        return Duration.ofSeconds(5);
+    }
+
+    @Override
+    public Cost cost() {
+        return Cost.HIGH;
+    }
+
+    @Override
+    public void open() throws IOException {
+        String os = System.getProperty("os.name").toLowerCase();
+        if (os.contains("win")) {
+            throw new IOException("df is not available on " + os);
+        }
+    }
+
+    @Override
+    public void poll(MetricSink sink) throws IOException, InterruptedException {
+        Process df = new ProcessBuilder("df", "-Pi", "/").redirectErrorStream(true).start();
+        try (BufferedReader out = new BufferedReader(new InputStreamReader(df.getInputStream(), StandardCharsets.US_ASCII))) {
+            out.readLine();
+            String line = out.readLine();
+            if (!df.waitFor(timeout().toMillis(), TimeUnit.MILLISECONDS) || line == null) {
+                throw new IOException("df produced no output");
+            }
+            // Filesystem Inodes IUsed IFree IUse% Mounted-on
+            String[] fields = line.trim().split("\\s+");
+            long inodes = Long.parseLong(fields[1]);
+            long used = Long.parseLong(fields[2]);
+            if (inodes > 0) {
+                sink.put(MetricNames.INODE, (double) used / inodes);
+            }
+        } finally {
+            df.destroy();
+        }
+    }
+}
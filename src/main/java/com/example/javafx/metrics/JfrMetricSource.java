@@ -0,0 +1,171 @@
+package com.example.javafx.metrics;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import javax.management.remote.JMXConnector;
+import javax.management.remote.JMXConnectorFactory;
+import javax.management.remote.JMXServiceURL;
+import jdk.jfr.EventSettings;
+import jdk.jfr.consumer.EventStream;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import jdk.management.jfr.RemoteRecordingStream;
+
+// Streams GC, allocation-sample, CPU-load, thread-park and safepoint events
+// from one JVM through JFR. Event handlers run on the stream's own thread and
+// only add to counters; poll() turns the counters into per-second rates.
+// "self" uses an in-process RecordingStream, anything else is reached over
+// JMX with a RemoteRecordingStream.
+public final class JfrMetricSource implements MetricSource {
+
+    private static final Duration PARK_THRESHOLD = Duration.ofMillis(10);
+
+    private final String target;
+
+    private final String allocRateKey;
+    private final String gcPauseKey;
+    private final String gcPauseMaxKey;
+    private final String gcRateKey;
+    private final String cpuJvmKey;
+    private final String cpuMachineKey;
+    private final String parkRateKey;
+    private final String parkTimeKey;
+    private final String safepointRateKey;
+    private final String safepointTimeKey;
+
+    // Written by the JFR stream thread, drained by poll()
+    private final LongAdder allocatedBytes = new LongAdder();
+    private final LongAdder gcCount = new LongAdder();
+    private final LongAdder gcPauseNanos = new LongAdder();
+    private final AtomicLong gcPauseMaxNanos = new AtomicLong();
+    private final LongAdder parkCount = new LongAdder();
+    private final LongAdder parkNanos = new LongAdder();
+    private final LongAdder safepointCount = new LongAdder();
+    private final LongAdder safepointNanos = new LongAdder();
+    private final DoubleAdder cpuJvm = new DoubleAdder();
+    private final DoubleAdder cpuMachine = new DoubleAdder();
+    private final LongAdder cpuSamples = new LongAdder();
+
+    private EventStream stream;
+    private JMXConnector connector;
+    private long lastPollNanos;
+
+    public JfrMetricSource(String target) {
+        this.target = target;
+        allocRateKey = MetricNames.jfr(target, MetricNames.JFR_ALLOC_RATE);
+        gcPauseKey = MetricNames.jfr(target, MetricNames.JFR_GC_PAUSE);
+        gcPauseMaxKey = MetricNames.jfr(target, "gc.pause.max");
+        gcRateKey = MetricNames.jfr(target, "gc.rate");
+        cpuJvmKey = MetricNames.jfr(target, "cpu.jvm");
+        cpuMachineKey = MetricNames.jfr(target, "cpu.machine");
+        parkRateKey = MetricNames.jfr(target, MetricNames.JFR_PARK_RATE);
+        parkTimeKey = MetricNames.jfr(target, "park.time");
+        safepointRateKey = MetricNames.jfr(target, "safepoint.rate");
+        safepointTimeKey = MetricNames.jfr(target, MetricNames.JFR_SAFEPOINT_TIME);
+    }
+
+    @Override
+    public String name() {
+        return "jfr-" + target;
+    }
+
+    @Override
+    public Duration pollInterval() {
+        return Duration.ofSeconds(1);
+    }
+
+    @Override
+    public Duration timeout() {
+        return Duration.ofMillis(200);
+    }
+
+    @Override
+    public void open() throws Exception {
+        if (JvmMetricSource.SELF.equals(target)) {
+            RecordingStream local = new RecordingStream();
+            configure(local::enable);
+            stream = local;
+        } else {
+            connector = JMXConnectorFactory.connect(new JMXServiceURL(JvmMetricSource.serviceUrl(target)));
+            RemoteRecordingStream remote = new RemoteRecordingStream(connector.getMBeanServerConnection());
+            configure(remote::enable);
+            stream = remote;
+        }
+        stream.onEvent("jdk.GarbageCollection", this::onGarbageCollection);
+        stream.onEvent("jdk.ObjectAllocationSample", e -> allocatedBytes.add(e.getLong("weight")));
+        stream.onEvent("jdk.CPULoad", this::onCpuLoad);
+        stream.onEvent("jdk.ThreadPark", e -> {
+            parkCount.increment();
+            parkNanos.add(e.getDuration().toNanos());
+        });
+        stream.onEvent("jdk.SafepointBegin", e -> {
+            safepointCount.increment();
+            safepointNanos.add(e.getDuration().toNanos());
+        });
+        stream.setReuse(true);
+        stream.setOrdered(false);
+        stream.startAsync();
+        lastPollNanos = System.nanoTime();
+    }
+
+    private void configure(Function<String, EventSettings> enable) {
+        enable.apply("jdk.GarbageCollection");
+        enable.apply("jdk.ObjectAllocationSample").with("throttle", "150/s");
+        enable.apply("jdk.CPULoad").withPeriod(Duration.ofSeconds(1));
+        enable.apply("jdk.ThreadPark").withThreshold(PARK_THRESHOLD);
+        enable.apply("jdk.SafepointBegin");
+    }
+
+    private void onGarbageCollection(RecordedEvent event) {
+        long pause = event.getDuration("sumOfPauses").toNanos();
+        gcCount.increment();
+        gcPauseNanos.add(pause);
+        gcPauseMaxNanos.accumulateAndGet(event.getDuration("longestPause").toNanos(), Math::max);
+    }
+
+    private void onCpuLoad(RecordedEvent event) {
+        cpuJvm.add(event.getFloat("jvmUser") + event.getFloat("jvmSystem"));
+        cpuMachine.add(event.getFloat("machineTotal"));
+        cpuSamples.increment();
+    }
+
+    @Override
+    public void poll(MetricSink sink) {
+        long now = System.nanoTime();
+        double seconds = (now - lastPollNanos) / 1e9;
+        lastPollNanos = now;
+        if (seconds <= 0) {
+            return;
+        }
+        sink.put(allocRateKey, allocatedBytes.sumThenReset() / 1e6 / seconds);
+        sink.put(gcRateKey, gcCount.sumThenReset() / seconds);
+        sink.put(gcPauseKey, gcPauseNanos.sumThenReset() / 1e6 / seconds);
+        sink.put(gcPauseMaxKey, gcPauseMaxNanos.getAndSet(0) / 1e6);
+        sink.put(parkRateKey, parkCount.sumThenReset() / seconds);
+        sink.put(parkTimeKey, parkNanos.sumThenReset() / 1e6 / seconds);
+        sink.put(safepointRateKey, safepointCount.sumThenReset() / seconds);
+        sink.put(safepointTimeKey, safepointNanos.sumThenReset() / 1e6 / seconds);
+        long samples = cpuSamples.sumThenReset();
+        if (samples > 0) {
+            sink.put(cpuJvmKey, 100.0 * cpuJvm.sumThenReset() / samples);
+            sink.put(cpuMachineKey, 100.0 * cpuMachine.sumThenReset() / samples);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (stream != null) {
+            stream.close();
+        }
+        if (connector != null) {
+            try {
+                connector.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
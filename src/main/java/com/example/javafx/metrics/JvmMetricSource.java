@@ -0,0 +1,252 @@
+package com.example.javafx.metrics;
+
+import com.sun.tools.attach.VirtualMachine;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.MBeanServerConnection;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.remote.JMXConnector;
+import javax.management.remote.JMXConnectorFactory;
+import javax.management.remote.JMXServiceURL;
+
+// JVM heap, memory pools, GC, threads, class loading and CPU for one JVM:
+// this process ("self"), a local pid reached through the attach API, or a
+// service:jmx URL. ObjectNames and metric keys are resolved once per
+// connection and each MBean is read with a single getAttributes call, so a
+// poll costs one round trip per MBean rather than one per attribute.
+public final class JvmMetricSource implements MetricSource {
+
+    public static final String SELF = "self";
+
+    private static final String[] MEMORY_ATTRS = {"HeapMemoryUsage"};
+    private static final String[] POOL_ATTRS = {"Usage"};
+    private static final String[] GC_ATTRS = {"CollectionTime", "CollectionCount"};
+    private static final String[] THREAD_ATTRS = {"ThreadCount", "DaemonThreadCount"};
+    private static final String[] CLASS_ATTRS = {"LoadedClassCount"};
+    private static final String[] OS_ATTRS = {"ProcessCpuLoad"};
+
+    private final String target;
+    private final int threadCapacity;
+
+    // Keys are built once; poll() only looks them up
+    private final String heapUsedKey;
+    private final String heapUsageKey;
+    private final String gcTimeKey;
+    private final String gcCountKey;
+    private final String threadsKey;
+    private final String daemonThreadsKey;
+    private final String threadsRatioKey;
+    private final String classesKey;
+    private final String cpuKey;
+
+    private JMXConnector connector;
+    private MBeanServerConnection connection;
+    private ObjectName memory;
+    private ObjectName threading;
+    private ObjectName classLoading;
+    private ObjectName operatingSystem;
+    private ObjectName[] heapPools;
+    private String[] heapPoolKeys;
+    private ObjectName[] collectors;
+
+    private long lastGcTime = -1;
+    private long lastGcCount = -1;
+    private long lastPollNanos;
+
+    public JvmMetricSource(String target, int threadCapacity) {
+        this.target = target;
+        this.threadCapacity = threadCapacity;
+        heapUsedKey = MetricNames.jvm(target, "heap.used");
+        heapUsageKey = MetricNames.jvm(target, MetricNames.JVM_HEAP_USAGE);
+        gcTimeKey = MetricNames.jvm(target, "gc.time");
+        gcCountKey = MetricNames.jvm(target, "gc.count");
+        threadsKey = MetricNames.jvm(target, "threads");
+        daemonThreadsKey = MetricNames.jvm(target, "threads.daemon");
+        threadsRatioKey = MetricNames.jvm(target, MetricNames.JVM_THREADS_RATIO);
+        classesKey = MetricNames.jvm(target, "classes.loaded");
+        cpuKey = MetricNames.jvm(target, "cpu");
+    }
+
+    // Parses a comma-separated list of "self", pids or service:jmx URLs
+    public static List<JvmMetricSource> fromTargets(String spec, int threadCapacity) {
+        List<JvmMetricSource> sources = new ArrayList<>();
+        for (String target : spec.split(",")) {
+            if (!target.isBlank()) {
+                sources.add(new JvmMetricSource(target.trim(), threadCapacity));
+            }
+        }
+        return sources;
+    }
+
+    public String target() {
+        return target;
+    }
+
+    @Override
+    public String name() {
+        return "jvm-" + target;
+    }
+
+    @Override
+    public Duration pollInterval() {
+        return Duration.ofSeconds(1);
+    }
+
+    @Override
+    public Duration timeout() {
+        return Duration.ofMillis(800);
+    }
+
+    @Override
+    public Cost cost() {
+        return SELF.equals(target) ? Cost.LOW : Cost.MEDIUM;
+    }
+
+    @Override
+    public void poll(MetricSink sink) throws Exception {
+        if (connection == null) {
+            connect();
+        }
+        try {
+            read(sink);
+        } catch (IOException e) {
+            // The target went away; reconnect on the next (backed-off) poll
+            disconnect();
+            throw e;
+        }
+    }
+
+    private void read(MetricSink sink) throws Exception {
+        long now = System.nanoTime();
+
+        CompositeData heap = (CompositeData) first(connection.getAttributes(memory, MEMORY_ATTRS));
+        if (heap != null) {
+            long used = (Long) heap.get("used");
+            long max = (Long) heap.get("max");
+            long committed = (Long) heap.get("committed");
+            sink.put(heapUsedKey, used);
+            sink.put(heapUsageKey, 100.0 * used / (max > 0 ? max : committed));
+        }
+
+        for (int i = 0; i < heapPools.length; i++) {
+            CompositeData usage = (CompositeData) first(connection.getAttributes(heapPools[i], POOL_ATTRS));
+            if (usage != null) {
+                sink.put(heapPoolKeys[i], (Long) usage.get("used"));
+            }
+        }
+
+        long gcTime = 0;
+        long gcCount = 0;
+        for (ObjectName collector : collectors) {
+            for (Attribute attr : connection.getAttributes(collector, GC_ATTRS).asList()) {
+                long value = ((Number) attr.getValue()).longValue();
+                if ("CollectionTime".equals(attr.getName())) {
+                    gcTime += Math.max(0, value);
+                } else {
+                    gcCount += Math.max(0, value);
+                }
+            }
+        }
+        if (lastGcTime >= 0) {
+            // Share of wall time spent collecting since the last poll, in percent
+            double elapsedMs = (now - lastPollNanos) / 1e6;
+            sink.put(gcTimeKey, 100.0 * (gcTime - lastGcTime) / elapsedMs);
+            sink.put(gcCountKey, gcCount - lastGcCount);
+        }
+        lastGcTime = gcTime;
+        lastGcCount = gcCount;
+        lastPollNanos = now;
+
+        for (Attribute attr : connection.getAttributes(threading, THREAD_ATTRS).asList()) {
+            int count = ((Number) attr.getValue()).intValue();
+            if ("ThreadCount".equals(attr.getName())) {
+                sink.put(threadsKey, count);
+                sink.put(threadsRatioKey, Math.min(1.0, (double) count / threadCapacity));
+            } else {
+                sink.put(daemonThreadsKey, count);
+            }
+        }
+
+        Object classes = first(connection.getAttributes(classLoading, CLASS_ATTRS));
+        if (classes != null) {
+            sink.put(classesKey, ((Number) classes).doubleValue());
+        }
+
+        Object cpu = first(connection.getAttributes(operatingSystem, OS_ATTRS));
+        if (cpu instanceof Number load && load.doubleValue() >= 0) {
+            sink.put(cpuKey, 100.0 * load.doubleValue());
+        }
+    }
+
+    private void connect() throws Exception {
+        if (SELF.equals(target)) {
+            connection = ManagementFactory.getPlatformMBeanServer();
+        } else {
+            connector = JMXConnectorFactory.connect(new JMXServiceURL(serviceUrl(target)));
+            connection = connector.getMBeanServerConnection();
+        }
+        memory = new ObjectName(ManagementFactory.MEMORY_MXBEAN_NAME);
+        threading = new ObjectName(ManagementFactory.THREAD_MXBEAN_NAME);
+        classLoading = new ObjectName(ManagementFactory.CLASS_LOADING_MXBEAN_NAME);
+        operatingSystem = new ObjectName(ManagementFactory.OPERATING_SYSTEM_MXBEAN_NAME);
+
+        // Pool and collector sets are fixed for the life of a JVM
+        List<ObjectName> pools = new ArrayList<>();
+        List<String> poolKeys = new ArrayList<>();
+        Set<ObjectName> poolNames = connection.queryNames(
+            new ObjectName(ManagementFactory.MEMORY_POOL_MXBEAN_DOMAIN_TYPE + ",*"), null);
+        for (ObjectName pool : poolNames) {
+            if ("HEAP".equals(String.valueOf(connection.getAttribute(pool, "Type")))) {
+                pools.add(pool);
+                String poolName = pool.getKeyProperty("name").toLowerCase().replace(' ', '-');
+                poolKeys.add(MetricNames.jvm(target, "pool." + poolName + ".used"));
+            }
+        }
+        heapPools = pools.toArray(new ObjectName[0]);
+        heapPoolKeys = poolKeys.toArray(new String[0]);
+        collectors = connection.queryNames(
+            new ObjectName(ManagementFactory.GARBAGE_COLLECTOR_MXBEAN_DOMAIN_TYPE + ",*"), null)
+            .toArray(new ObjectName[0]);
+        lastGcTime = -1;
+    }
+
+    // A pid is turned into a JMX URL by starting the target's local management agent
+    static String serviceUrl(String target) throws Exception {
+        if (target.startsWith("service:jmx:")) {
+            return target;
+        }
+        VirtualMachine vm = VirtualMachine.attach(target);
+        try {
+            return vm.startLocalManagementAgent();
+        } finally {
+            vm.detach();
+        }
+    }
+
+    private static Object first(AttributeList attributes) {
+        return attributes.isEmpty() ? null : ((Attribute) attributes.get(0)).getValue();
+    }
+
+    private void disconnect() {
+        if (connector != null) {
+            try {
+                connector.close();
+            } catch (IOException ignored) {
+            }
+        }
+        connector = null;
+        connection = null;
+    }
+
+    @Override
+    public void close() {
+        disconnect();
+    }
+}
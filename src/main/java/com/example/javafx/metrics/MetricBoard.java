@@ -0,0 +1,123 @@
+package com.example.javafx.metrics;
+
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+// Latest value of every named metric. Sources write from any thread; the FX
+// thread calls applyChanges() once per frame to push changed values into
+// the properties handed out by property().
+public final class MetricBoard implements MetricSink {
+
+    private static final class Cell {
+        volatile double value = Double.NaN;
+        volatile long version;
+    }
+
+    private static final class Binding {
+        final Cell cell;
+        final DoubleProperty property;
+        long appliedVersion;
+
+        Binding(Cell cell, DoubleProperty property) {
+            this.cell = cell;
+            this.property = property;
+        }
+    }
+
+    private final ConcurrentHashMap<String, Cell> cells = new ConcurrentHashMap<>();
+    private final List<Binding> bindings = new ArrayList<>();
+    private volatile MetricSink tap;
+    private volatile Runnable wake;
+    private Predicate<DoubleProperty> held = property -> false;
+
+    @Override
+    public void put(String metric, double value) {
+        Cell cell = cells.computeIfAbsent(metric, k -> new Cell());
+        cell.value = value;
+        cell.version++;
+        MetricSink t = tap;
+        if (t != null) {
+            t.put(metric, value);
+        }
+        Runnable w = wake;
+        if (w != null) {
+            w.run();
+        }
+    }
+
+    // Also forwards every put to the given sink, e.g. a recorder
+    public void setTap(MetricSink tap) {
+        this.tap = tap;
+    }
+
+    // Called after every put, e.g. to schedule the applyChanges() that shows it
+    public void setWake(Runnable wake) {
+        this.wake = wake;
+    }
+
+    // FX thread only. Leaves properties someone else is showing alone, e.g. those a focused
+    // cluster node drives; applyChanges() catches them up once they are released.
+    public void setHeld(Predicate<DoubleProperty> held) {
+        this.held = held;
+    }
+
+    public double get(String metric) {
+        Cell cell = cells.get(metric);
+        return cell == null ? Double.NaN : cell.value;
+    }
+
+    // FX thread only. The property keeps its initial value until the metric is first reported.
+    public DoubleProperty property(String metric, double initialValue) {
+        DoubleProperty property = new SimpleDoubleProperty(initialValue);
+        bind(metric, property);
+        return property;
+    }
+
+    // FX thread only. Drives an existing property from the metric.
+    public void bind(String metric, DoubleProperty property) {
+        bindings.add(new Binding(cells.computeIfAbsent(metric, k -> new Cell()), property));
+    }
+
+    // FX thread only. Stops driving the property from whatever metric it was bound to.
+    public void unbind(DoubleProperty property) {
+        bindings.removeIf(binding -> binding.property == property);
+    }
+
+    // FX thread only. Sets the metric's properties directly, bypassing the
+    // cell, e.g. while replaying a recording instead of applying live changes.
+    public void applyValue(String metric, double value) {
+        Cell cell = cells.get(metric);
+        for (int i = 0; i < bindings.size(); i++) {
+            Binding binding = bindings.get(i);
+            if (binding.cell == cell && !Double.isNaN(value) && !held.test(binding.property)) {
+                binding.property.set(value);
+            }
+        }
+    }
+
+    // FX thread only. Makes the next applyChanges() push every current value again.
+    public void reapplyAll() {
+        for (int i = 0; i < bindings.size(); i++) {
+            bindings.get(i).appliedVersion = -1;
+        }
+    }
+
+    // FX thread only
+    public void applyChanges() {
+        for (int i = 0; i < bindings.size(); i++) {
+            Binding binding = bindings.get(i);
+            long version = binding.cell.version;
+            if (version != binding.appliedVersion && !held.test(binding.property)) {
+                binding.appliedVersion = version;
+                double value = binding.cell.value;
+                if (!Double.isNaN(value)) {
+                    binding.property.set(value);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.javafx.metrics;
+
+// Well-known metric keys shared by sources and the dashboard
+public final class MetricNames {
+
+    public static final String CPU_LOAD = "cpu";
+    public static final String MEMORY = "mem";
+    public static final String DISK_IO = "disk";
+    public static final String NET_IN = "net.in";
+    public static final String NET_OUT = "net.out";
+    public static final String TEMP = "temp";
+    public static final String CONNECTIONS = "connections";
+    public static final String RESPONSE = "response";
+
+    // Columns every cluster node reports, in store order
+    public static final String[] NODE_METRICS = {
+        CPU_LOAD, MEMORY, DISK_IO, NET_IN, NET_OUT, TEMP, CONNECTIONS, RESPONSE
+    };
+
+    public static final String THREADS = "threads";
+    public static final String QUEUE_DEPTH = "queue.depth";
+    public static final String CACHE_HIT = "cache.hit";
+    public static final String SWAP = "swap";
+    public static final String INODE = "inode";
+    public static final String FD_USAGE = "fd.usage";
+
+    // Per-JVM suffixes, see jvm()
+    public static final String JVM_HEAP_USAGE = "heap.usage";
+    public static final String JVM_THREADS_RATIO = "threads.ratio";
+
+    // Per-JVM flight recorder suffixes, see jfr()
+    public static final String JFR_ALLOC_RATE = "alloc.rate";
+    public static final String JFR_GC_PAUSE = "gc.pause";
+    public static final String JFR_PARK_RATE = "park.rate";
+    public static final String JFR_SAFEPOINT_TIME = "safepoint.time";
+
+    public static String jvm(String target, String metric) {
+        return "jvm." + target + "." + metric;
+    }
+
+    public static String jfr(String target, String metric) {
+        return "jfr." + target + "." + metric;
+    }
+
+    // Probe latency in ms of one health check in a status light's group
+    public static String health(String group, String check) {
+        return "health." + group + "." + check;
+    }
+
+    private MetricNames() {
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.javafx.metrics;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Polls every MetricSource on its own interval. A single platform thread keeps
+// time; each poll runs on a fresh virtual thread, so a slow or hung source only
+// delays itself. Failures and timeouts back off exponentially, and every delay
+// carries some jitter so sources with equal intervals do not fire in lockstep.
+// Sources are opened on virtual threads too, since opening a remote one is a
+// network connect, and start polling once they are open. A source is only
+// ever closed when no poll is running on it: by close() if it is idle, else by
+// the worker once its poll returns.
+public final class MetricScheduler implements AutoCloseable {
+
+    private static final double JITTER = 0.1;
+    private static final int MAX_BACKOFF_SHIFT = 6;
+    private static final long MAX_BACKOFF_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final MetricSink sink;
+    private final ScheduledExecutorService timer;
+    private final Map<MetricSource.Cost, Semaphore> permits = new EnumMap<>(MetricSource.Cost.class);
+    private final List<SourceTask> tasks = new ArrayList<>();
+    private volatile boolean closed;
+
+    private static final class SourceTask {
+        final MetricSource source;
+        final long intervalNanos;
+        final long timeoutNanos;
+        // Under the task's lock; worker is also read unlocked by launch()
+        volatile Thread worker;
+        int failures;
+        boolean polling;
+        boolean closed;
+
+        SourceTask(MetricSource source) {
+            this.source = source;
+            this.intervalNanos = source.pollInterval().toNanos();
+            this.timeoutNanos = source.timeout().toNanos();
+        }
+    }
+
+    public MetricScheduler(MetricSink sink) {
+        this.sink = sink;
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "skywatch-metric-scheduler");
+            t.setDaemon(true);
+            return t;
+        });
+        permits.put(MetricSource.Cost.LOW, new Semaphore(Integer.MAX_VALUE));
+        permits.put(MetricSource.Cost.MEDIUM, new Semaphore(4));
+        permits.put(MetricSource.Cost.HIGH, new Semaphore(1));
+    }
+
+    // Registers every source found by ServiceLoader that opens on this host
+    public void loadInstalledSources() {
+        Thread.ofVirtual().name("metric-load").start(() -> {
+            for (MetricSource source : ServiceLoader.load(MetricSource.class)) {
+                add(source);
+            }
+        });
+    }
+
+    // Returns at once; the source starts polling once it opens, or is logged and dropped
+    public void add(MetricSource source) {
+        Thread.ofVirtual().name("metric-open-" + source.name()).start(() -> {
+            try {
+                source.open();
+            } catch (Exception e) {
+                System.err.println("Metric source " + source.name() + " disabled: " + e.getMessage());
+                return;
+            }
+            SourceTask task = new SourceTask(source);
+            synchronized (tasks) {
+                if (closed) {
+                    source.close();
+                    return;
+                }
+                tasks.add(task);
+            }
+            schedule(task, jittered(task.intervalNanos / 10));
+        });
+    }
+
+    private void schedule(SourceTask task, long delayNanos) {
+        if (!closed) {
+            timer.schedule(() -> launch(task), delayNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void launch(SourceTask task) {
+        Thread previous = task.worker;
+        if (previous != null && previous.isAlive()) {
+            // Still stuck in an earlier poll that already timed out
+            complete(task, false);
+            return;
+        }
+        Semaphore permit = permits.get(task.source.cost());
+        if (!permit.tryAcquire()) {
+            schedule(task, jittered(task.intervalNanos));
+            return;
+        }
+        AtomicBoolean finished = new AtomicBoolean();
+        Thread worker = Thread.ofVirtual().name("metric-" + task.source.name()).unstarted(() -> {
+            boolean ok = false;
+            try {
+                task.source.poll(sink);
+                ok = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                if (firstFailure(task)) {
+                    System.err.println("Metric source " + task.source.name() + " failed: " + e.getMessage());
+                }
+            } finally {
+                permit.release();
+            }
+            boolean closeNow;
+            synchronized (task) {
+                task.polling = false;
+                closeNow = task.closed;
+            }
+            if (closeNow) {
+                // close() left it to us rather than race this poll
+                task.source.close();
+            } else if (finished.compareAndSet(false, true)) {
+                complete(task, ok);
+            }
+        });
+        synchronized (task) {
+            if (task.closed) {
+                permit.release();
+                return;
+            }
+            task.polling = true;
+            task.worker = worker;
+        }
+        worker.start();
+        timer.schedule(() -> {
+            if (finished.compareAndSet(false, true)) {
+                worker.interrupt();
+                complete(task, false);
+            }
+        }, task.timeoutNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static boolean firstFailure(SourceTask task) {
+        synchronized (task) {
+            return task.failures == 0;
+        }
+    }
+
+    private void complete(SourceTask task, boolean ok) {
+        long delay;
+        synchronized (task) {
+            task.failures = ok ? 0 : task.failures + 1;
+            int shift = Math.min(task.failures, MAX_BACKOFF_SHIFT);
+            delay = Math.min(task.intervalNanos << shift, Math.max(MAX_BACKOFF_NANOS, task.intervalNanos));
+        }
+        schedule(task, jittered(delay));
+    }
+
+    private static long jittered(long nanos) {
+        double factor = 1.0 + ThreadLocalRandom.current().nextDouble(-JITTER, JITTER);
+        return Math.max(1, (long) (nanos * factor));
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        timer.shutdownNow();
+        synchronized (tasks) {
+            for (SourceTask task : tasks) {
+                boolean closeNow;
+                synchronized (task) {
+                    task.closed = true;
+                    closeNow = !task.polling;
+                }
+                if (closeNow) {
+                    task.source.close();
+                } else {
+                    // The worker closes the source when the interrupted poll returns
+                    task.worker.interrupt();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.javafx.metrics;
+
+@FunctionalInterface
+public interface MetricSink {
+
+    void put(String metric, double value);
+}
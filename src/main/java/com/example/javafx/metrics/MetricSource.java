@@ -0,0 +1,39 @@
+package com.example.javafx.metrics;
+
+import java.time.Duration;
+
+// Service provider for metrics polled on their own schedule. Implementations
+// are discovered with ServiceLoader (META-INF/services) and run by
+// MetricScheduler; a source is never polled by two threads at once.
+public interface MetricSource {
+
+    enum Cost {
+        // Reads a few in-memory counters
+        LOW,
+        // Touches the filesystem or a local service
+        MEDIUM,
+        // Spawns a process or does network I/O; at most one runs at a time
+        HIGH
+    }
+
+    String name();
+
+    Duration pollInterval();
+
+    default Duration timeout() {
+        return pollInterval();
+    }
+
+    default Cost cost() {
+        return Cost.LOW;
+    }
+
+    // Called once before the first poll; throw to disable the source on this host
+    default void open() throws Exception {
+    }
+
+    void poll(MetricSink sink) throws Exception;
+
+    default void close() {
+    }
+}
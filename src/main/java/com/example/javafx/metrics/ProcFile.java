@@ -0,0 +1,174 @@
+package com.example.javafx.metrics;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Re-readable view of a /proc or /sys file. The channel and buffer are opened
+// once and reused for every sample; parsing walks the raw bytes with a cursor
+// so a sample never allocates a String.
+public final class ProcFile implements AutoCloseable {
+
+    private final Path path;
+    private final FileChannel channel;
+    private ByteBuffer buffer;
+    private byte[] data;
+    private int limit;
+    private int pos;
+
+    public ProcFile(Path path, int initialCapacity) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.data = new byte[initialCapacity];
+        this.buffer = ByteBuffer.wrap(data);
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    // Re-reads the whole file from offset 0 and rewinds the cursor
+    public ProcFile read() throws IOException {
+        buffer.clear();
+        long offset = 0;
+        while (true) {
+            int n = channel.read(buffer, offset);
+            if (n < 0) {
+                break;
+            }
+            offset += n;
+            if (!buffer.hasRemaining()) {
+                // Grow once; procfs files are small and their size is stable
+                byte[] bigger = new byte[data.length * 2];
+                System.arraycopy(data, 0, bigger, 0, buffer.position());
+                int filled = buffer.position();
+                data = bigger;
+                buffer = ByteBuffer.wrap(data);
+                buffer.position(filled);
+            }
+        }
+        limit = buffer.position();
+        pos = 0;
+        return this;
+    }
+
+    public boolean hasMore() {
+        return pos < limit;
+    }
+
+    // Advances the cursor to the start of the next line
+    public boolean nextLine() {
+        while (pos < limit && data[pos] != '\n') {
+            pos++;
+        }
+        if (pos < limit) {
+            pos++;
+        }
+        return pos < limit;
+    }
+
+    // Matches a literal at the cursor, consuming it on success
+    public boolean match(byte[] literal) {
+        if (pos + literal.length > limit) {
+            return false;
+        }
+        for (int i = 0; i < literal.length; i++) {
+            if (data[pos + i] != literal[i]) {
+                return false;
+            }
+        }
+        pos += literal.length;
+        return true;
+    }
+
+    // Matches a whitespace-delimited token at the cursor without consuming it
+    public boolean tokenEquals(byte[] token) {
+        skipBlanks();
+        int end = pos + token.length;
+        if (end > limit) {
+            return false;
+        }
+        for (int i = 0; i < token.length; i++) {
+            if (data[pos + i] != token[i]) {
+                return false;
+            }
+        }
+        return end == limit || isDelimiter(data[end]);
+    }
+
+    public void skipToken() {
+        skipBlanks();
+        while (pos < limit && !isDelimiter(data[pos])) {
+            pos++;
+        }
+    }
+
+    public void skipTokens(int count) {
+        for (int i = 0; i < count; i++) {
+            skipToken();
+        }
+    }
+
+    // Skips past the next occurrence of the given byte on the current line
+    public boolean skipPast(byte b) {
+        while (pos < limit && data[pos] != '\n') {
+            if (data[pos++] == b) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Parses the next unsigned decimal token; returns -1 if none is present
+    public long nextLong() {
+        skipBlanks();
+        if (pos >= limit || data[pos] < '0' || data[pos] > '9') {
+            return -1;
+        }
+        long value = 0;
+        while (pos < limit) {
+            byte b = data[pos];
+            if (b < '0' || b > '9') {
+                break;
+            }
+            value = value * 10 + (b - '0');
+            pos++;
+        }
+        return value;
+    }
+
+    // Parses the next unsigned decimal such as "0.57"; returns NaN if none is present
+    public double nextDecimal() {
+        long whole = nextLong();
+        if (whole < 0) {
+            return Double.NaN;
+        }
+        double value = whole;
+        if (pos < limit && data[pos] == '.') {
+            pos++;
+            double scale = 0.1;
+            while (pos < limit && data[pos] >= '0' && data[pos] <= '9') {
+                value += (data[pos++] - '0') * scale;
+                scale /= 10;
+            }
+        }
+        return value;
+    }
+
+    private void skipBlanks() {
+        while (pos < limit && (data[pos] == ' ' || data[pos] == '\t')) {
+            pos++;
+        }
+    }
+
+    private static boolean isDelimiter(byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == ':';
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
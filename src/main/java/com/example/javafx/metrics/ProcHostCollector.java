@@ -0,0 +1,296 @@
+package com.example.javafx.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// Samples host metrics from /proc and /sys on its own daemon thread and hands
+// each HostSnapshot to a sink. All files stay open between samples.
+public final class ProcHostCollector implements AutoCloseable {
+
+    private static final Path PROC = Path.of("/proc");
+
+    private static final byte[] CPU = bytes("cpu ");
+    private static final byte[] MEM_TOTAL = bytes("MemTotal:");
+    private static final byte[] MEM_AVAILABLE = bytes("MemAvailable:");
+    private static final byte[] LOOPBACK = bytes("lo");
+    private static final byte[] TCP = bytes("TCP:");
+    private static final byte[] TCP6 = bytes("TCP6:");
+    private static final String[] VIRTUAL_DISKS = {"loop", "ram", "zram", "dm-", "md"};
+
+    private final ProcFile stat;
+    private final ProcFile meminfo;
+    private final ProcFile diskstats;
+    private final ProcFile netdev;
+    private final ProcFile sockstat;
+    private final ProcFile sockstat6;
+    private final List<ProcFile> temperatures;
+    private final byte[][] disks;
+
+    private ScheduledExecutorService executor;
+
+    // Counters from the previous sample
+    private long lastNanos;
+    private long lastCpuTotal;
+    private long lastCpuIdle;
+    private long lastSectors;
+    private long lastRxBytes;
+    private long lastTxBytes;
+
+    public ProcHostCollector() throws IOException {
+        stat = new ProcFile(PROC.resolve("stat"), 8192);
+        meminfo = new ProcFile(PROC.resolve("meminfo"), 4096);
+        diskstats = new ProcFile(PROC.resolve("diskstats"), 8192);
+        netdev = new ProcFile(PROC.resolve("net/dev"), 4096);
+        sockstat = openOptional(PROC.resolve("net/sockstat"));
+        sockstat6 = openOptional(PROC.resolve("net/sockstat6"));
+        temperatures = openTemperatureSensors();
+        disks = listPhysicalDisks();
+    }
+
+    public static boolean isSupported() {
+        return Files.isReadable(PROC.resolve("stat")) && Files.isReadable(PROC.resolve("meminfo"));
+    }
+
+    public void start(long periodMillis, Consumer<HostSnapshot> sink) {
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "skywatch-proc-collector");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.scheduleAtFixedRate(() -> {
+            try {
+                HostSnapshot snapshot = sample();
+                if (snapshot != null) {
+                    sink.accept(snapshot);
+                }
+            } catch (IOException e) {
+                System.err.println("Host sampling failed: " + e.getMessage());
+            }
+        }, 0, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Reads every source once. The first call only primes the counters.
+    public HostSnapshot sample() throws IOException {
+        long now = System.nanoTime();
+        boolean primed = lastNanos != 0;
+        double seconds = (now - lastNanos) / 1e9;
+
+        // /proc/stat: aggregate "cpu" line, idle = idle + iowait
+        stat.read();
+        double cpu = Double.NaN;
+        if (stat.match(CPU)) {
+            long total = 0;
+            long idle = 0;
+            for (int i = 0; i < 8; i++) {
+                long v = stat.nextLong();
+                if (v < 0) {
+                    break;
+                }
+                total += v;
+                if (i == 3 || i == 4) {
+                    idle += v;
+                }
+            }
+            long dTotal = total - lastCpuTotal;
+            if (primed && dTotal > 0) {
+                cpu = 100.0 * (1.0 - (double) (idle - lastCpuIdle) / dTotal);
+            }
+            lastCpuTotal = total;
+            lastCpuIdle = idle;
+        }
+
+        // /proc/meminfo: used = total - available
+        meminfo.read();
+        long memTotal = -1;
+        long memAvailable = -1;
+        do {
+            if (meminfo.match(MEM_TOTAL)) {
+                memTotal = meminfo.nextLong();
+            } else if (meminfo.match(MEM_AVAILABLE)) {
+                memAvailable = meminfo.nextLong();
+            }
+        } while ((memTotal < 0 || memAvailable < 0) && meminfo.nextLine());
+        double memory = memTotal > 0 && memAvailable >= 0
+            ? 100.0 * (1.0 - (double) memAvailable / memTotal) : Double.NaN;
+
+        // /proc/diskstats: sectors read (field 6) + written (field 10), whole disks only
+        diskstats.read();
+        long sectors = 0;
+        while (diskstats.hasMore()) {
+            diskstats.skipTokens(2);
+            if (isPhysicalDisk(diskstats)) {
+                diskstats.skipTokens(3);
+                long read = diskstats.nextLong();
+                diskstats.skipTokens(3);
+                long written = diskstats.nextLong();
+                sectors += Math.max(0, read) + Math.max(0, written);
+            }
+            diskstats.nextLine();
+        }
+        double disk = primed ? (sectors - lastSectors) * 512.0 / seconds / 1e6 : Double.NaN;
+        lastSectors = sectors;
+
+        // /proc/net/dev: skip the two header lines and loopback
+        netdev.read();
+        netdev.nextLine();
+        netdev.nextLine();
+        long rx = 0;
+        long tx = 0;
+        while (netdev.hasMore()) {
+            if (!netdev.tokenEquals(LOOPBACK) && netdev.skipPast((byte) ':')) {
+                rx += Math.max(0, netdev.nextLong());
+                netdev.skipTokens(7);
+                tx += Math.max(0, netdev.nextLong());
+            }
+            netdev.nextLine();
+        }
+        double netIn = primed ? (rx - lastRxBytes) * 8.0 / seconds / 1e6 : Double.NaN;
+        double netOut = primed ? (tx - lastTxBytes) * 8.0 / seconds / 1e6 : Double.NaN;
+        lastRxBytes = rx;
+        lastTxBytes = tx;
+
+        // Hottest sensor, reported in millidegrees
+        double temp = Double.NaN;
+        for (ProcFile sensor : temperatures) {
+            long milli = sensor.read().nextLong();
+            if (milli >= 0 && (Double.isNaN(temp) || milli / 1000.0 > temp)) {
+                temp = milli / 1000.0;
+            }
+        }
+
+        int connections = tcpInUse(sockstat, TCP);
+        int connections6 = tcpInUse(sockstat6, TCP6);
+        if (connections6 > 0) {
+            connections = Math.max(connections, 0) + connections6;
+        }
+
+        lastNanos = now;
+        if (!primed) {
+            return null;
+        }
+        return new HostSnapshot(now, cpu, memory, disk, netIn, netOut, temp, connections);
+    }
+
+    private boolean isPhysicalDisk(ProcFile file) {
+        for (byte[] name : disks) {
+            if (file.tokenEquals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int tcpInUse(ProcFile file, byte[] label) throws IOException {
+        if (file == null) {
+            return -1;
+        }
+        file.read();
+        do {
+            if (file.match(label)) {
+                file.skipToken();
+                return (int) file.nextLong();
+            }
+        } while (file.nextLine());
+        return -1;
+    }
+
+    private static ProcFile openOptional(Path path) {
+        try {
+            return Files.isReadable(path) ? new ProcFile(path, 1024) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // hwmon temp*_input sensors, falling back to ACPI thermal zones
+    private static List<ProcFile> openTemperatureSensors() {
+        List<ProcFile> sensors = new ArrayList<>();
+        for (Path hwmon : list(Path.of("/sys/class/hwmon"), "hwmon*")) {
+            for (Path input : list(hwmon, "temp*_input")) {
+                addIfReadable(sensors, input);
+            }
+        }
+        if (sensors.isEmpty()) {
+            for (Path zone : list(Path.of("/sys/class/thermal"), "thermal_zone*")) {
+                addIfReadable(sensors, zone.resolve("temp"));
+            }
+        }
+        return sensors;
+    }
+
+    private static void addIfReadable(List<ProcFile> sensors, Path path) {
+        try {
+            ProcFile file = new ProcFile(path, 64);
+            // Some sensors exist but fail on read; drop them up front
+            file.read();
+            sensors.add(file);
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static byte[][] listPhysicalDisks() {
+        List<byte[]> names = new ArrayList<>();
+        for (Path dev : list(Path.of("/sys/block"), "*")) {
+            String name = dev.getFileName().toString();
+            boolean virtual = false;
+            for (String prefix : VIRTUAL_DISKS) {
+                virtual |= name.startsWith(prefix);
+            }
+            if (!virtual) {
+                names.add(bytes(name));
+            }
+        }
+        return names.toArray(new byte[0][]);
+    }
+
+    private static List<Path> list(Path dir, String glob) {
+        List<Path> paths = new ArrayList<>();
+        if (!Files.isDirectory(dir)) {
+            return paths;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, glob)) {
+            stream.forEach(paths::add);
+        } catch (IOException ignored) {
+        }
+        paths.sort(null);
+        return paths;
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        for (ProcFile file : allFiles()) {
+            try {
+                file.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private List<ProcFile> allFiles() {
+        List<ProcFile> files = new ArrayList<>(List.of(stat, meminfo, diskstats, netdev));
+        if (sockstat != null) {
+            files.add(sockstat);
+        }
+        if (sockstat6 != null) {
+            files.add(sockstat6);
+        }
+        files.addAll(temperatures);
+        return files;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.javafx.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+
+// Kernel-wide resource ratios for the left panel: thread count against
+// threads-max, 1-minute load per core, swap in use and open file handles.
+public final class ProcResourceSource implements MetricSource {
+
+    private static final byte[] SWAP_TOTAL = "SwapTotal:".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SWAP_FREE = "SwapFree:".getBytes(StandardCharsets.US_ASCII);
+
+    private ProcFile loadavg;
+    private ProcFile meminfo;
+    private ProcFile fileNr;
+    private long threadsMax;
+    private int cores;
+
+    @Override
+    public String name() {
+        return "proc-resources";
+    }
+
+    @Override
+    public Duration pollInterval() {
+        return Duration.ofSeconds(1);
+    }
+
+    @Override
+    public Duration timeout() {
+        return Duration.ofMillis(500);
+    }
+
+    @Override
+    public void open() throws IOException {
+        loadavg = new ProcFile(Path.of("/proc/loadavg"), 128);
+        meminfo = new ProcFile(Path.of("/proc/meminfo"), 4096);
+        fileNr = new ProcFile(Path.of("/proc/sys/fs/file-nr"), 128);
+        try (ProcFile max = new ProcFile(Path.of("/proc/sys/kernel/threads-max"), 64)) {
+            threadsMax = max.read().nextLong();
+        }
+        cores = Runtime.getRuntime().availableProcessors();
+    }
+
+    @Override
+    public void poll(MetricSink sink) throws IOException {
+        // "0.57 0.46 0.20 2/71 1332": load1, then runnable/total scheduling entities
+        loadavg.read();
+        double load1 = loadavg.nextDecimal();
+        loadavg.skipTokens(2);
+        loadavg.skipPast((byte) '/');
+        long threads = loadavg.nextLong();
+        if (!Double.isNaN(load1)) {
+            sink.put(MetricNames.QUEUE_DEPTH, Math.min(1.0, load1 / cores));
+        }
+        if (threads >= 0 && threadsMax > 0) {
+            sink.put(MetricNames.THREADS, (double) threads / threadsMax);
+        }
+
+        meminfo.read();
+        long swapTotal = -1;
+        long swapFree = -1;
+        do {
+            if (meminfo.match(SWAP_TOTAL)) {
+                swapTotal = meminfo.nextLong();
+            } else if (meminfo.match(SWAP_FREE)) {
+                swapFree = meminfo.nextLong();
+            }
+        } while ((swapTotal < 0 || swapFree < 0) && meminfo.nextLine());
+        if (swapTotal >= 0 && swapFree >= 0) {
+            sink.put(MetricNames.SWAP, swapTotal == 0 ? 0 : 1.0 - (double) swapFree / swapTotal);
+        }
+
+        // "allocated unused max"
+        fileNr.read();
+        long allocated = fileNr.nextLong();
+        fileNr.skipToken();
+        long max = fileNr.nextLong();
+        if (allocated >= 0 && max > 0) {
+            sink.put(MetricNames.FD_USAGE, (double) allocated / max);
+        }
+    }
+
+    @Override
+    public void close() {
+        for (ProcFile file : new ProcFile[] {loadavg, meminfo, fileNr}) {
+            try {
+                if (file != null) {
+                    file.close();
+                }
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.javafx.metrics;
+
+import com.example.javafx.frame.FrameScheduler;
+import com.example.javafx.frame.FrameTask;
+import java.util.function.Consumer;
+
+// Drains a SnapshotSlot on the next frame after a publish and applies only
+// the newest value, so the FX thread does a fixed amount of work per frame
+// no matter how fast the producer samples, and none while it is quiet.
+public final class SnapshotPulse<T> implements FrameTask {
+
+    private final FrameScheduler frames;
+    private final SnapshotSlot<T> slot;
+    private final Consumer<T> applier;
+
+    public SnapshotPulse(FrameScheduler frames, SnapshotSlot<T> slot, Consumer<T> applier) {
+        this.frames = frames;
+        this.slot = slot;
+        this.applier = applier;
+    }
+
+    // FX thread only
+    public void start() {
+        slot.setWake(frames::requestFrame);
+        frames.add(this);
+    }
+
+    // FX thread only
+    public void stop() {
+        frames.remove(this);
+        slot.setWake(null);
+    }
+
+    @Override
+    public long frame(long now) {
+        T value = slot.take();
+        if (value != null) {
+            applier.accept(value);
+        }
+        return IDLE;
+    }
+}
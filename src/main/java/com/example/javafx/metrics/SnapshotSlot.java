@@ -0,0 +1,44 @@
+package com.example.javafx.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Single-writer, single-reader handoff that only ever holds the newest value.
+// Publishing never blocks; a value the reader has not taken yet is replaced
+// and counted as dropped.
+public final class SnapshotSlot<T> {
+
+    private final AtomicReference<T> latest = new AtomicReference<>();
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile Runnable wake;
+
+    // Called after every publish, e.g. to get the value taken on the next frame
+    public void setWake(Runnable wake) {
+        this.wake = wake;
+    }
+
+    public void publish(T value) {
+        published.incrementAndGet();
+        if (latest.getAndSet(value) != null) {
+            dropped.incrementAndGet();
+        }
+        Runnable w = wake;
+        if (w != null) {
+            w.run();
+        }
+    }
+
+    // Returns the newest value since the last take, or null if nothing new arrived
+    public T take() {
+        return latest.getAndSet(null);
+    }
+
+    public long publishedCount() {
+        return published.get();
+    }
+
+    public long droppedCount() {
+        return dropped.get();
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.javafx.recording;
+
+// Receives text events, such as log lines, replayed from a recording
+@FunctionalInterface
+public interface EventSink {
+
+    void event(String channel, long timestampMillis, String text);
+}
@@ -0,0 +1,119 @@
+package com.example.javafx.recording;
+
+import com.example.javafx.frame.FrameScheduler;
+import com.example.javafx.frame.FrameTask;
+import com.example.javafx.metrics.MetricSink;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.beans.property.ReadOnlyLongProperty;
+import javafx.beans.property.ReadOnlyLongWrapper;
+import java.io.IOException;
+
+// Plays a Recording into a MetricSink once per frame, at 1x to 500x
+// recorded time. Each frame replays only the recorded frames between the
+// previous and the new position; text events in them go to the EventSink.
+// It asks for frames only while playing. FX thread only.
+public final class FlightPlayer implements FrameTask, AutoCloseable {
+
+    public static final double MIN_SPEED = 1;
+    public static final double MAX_SPEED = 500;
+
+    private final FrameScheduler frames;
+    private final Recording recording;
+    private final RecordingCursor cursor;
+    private final MetricSink sink;
+    private final EventSink events;
+    private RecordingCursor eventCursor;
+    private final ReadOnlyLongWrapper position = new ReadOnlyLongWrapper();
+    private final ReadOnlyBooleanWrapper playing = new ReadOnlyBooleanWrapper();
+    private double speed = MIN_SPEED;
+    private double exactPosition;
+    private long lastNanos = -1;
+
+    public FlightPlayer(FrameScheduler frames, Recording recording, MetricSink sink, EventSink events) {
+        this.frames = frames;
+        this.recording = recording;
+        this.cursor = recording.cursor();
+        this.sink = sink;
+        this.events = events;
+        seek(recording.start());
+        frames.add(this);
+    }
+
+    public Recording recording() {
+        return recording;
+    }
+
+    public ReadOnlyLongProperty positionProperty() {
+        return position.getReadOnlyProperty();
+    }
+
+    public ReadOnlyBooleanProperty playingProperty() {
+        return playing.getReadOnlyProperty();
+    }
+
+    public double speed() {
+        return speed;
+    }
+
+    public void setSpeed(double speed) {
+        this.speed = Math.max(MIN_SPEED, Math.min(MAX_SPEED, speed));
+    }
+
+    public void play() {
+        if (position.get() >= recording.end()) {
+            seek(recording.start());
+        }
+        lastNanos = -1;
+        playing.set(true);
+        frames.requestFrame();
+    }
+
+    public void pause() {
+        playing.set(false);
+    }
+
+    // Jumps anywhere in the recording; costs one block decode
+    public void seek(long timestampMillis) {
+        long ts = Math.max(recording.start(), Math.min(recording.end(), timestampMillis));
+        cursor.seek(ts, sink);
+        exactPosition = ts;
+        position.set(ts);
+    }
+
+    // The last few events of a channel at the current position, e.g. to refill a log after a seek
+    public void lastEvents(String channel, int limit, EventSink out) {
+        if (eventCursor == null) {
+            eventCursor = recording.cursor();
+        }
+        eventCursor.lastEvents(position.get(), channel, limit, out);
+    }
+
+    @Override
+    public long frame(long now) {
+        if (!playing.get()) {
+            return IDLE;
+        }
+        if (lastNanos >= 0) {
+            exactPosition += (now - lastNanos) / 1e6 * speed;
+        }
+        lastNanos = now;
+        long ts = Math.min(recording.end(), (long) exactPosition);
+        cursor.advance(ts, sink, events);
+        position.set(ts);
+        if (ts >= recording.end()) {
+            playing.set(false);
+            return IDLE;
+        }
+        return NEXT_FRAME;
+    }
+
+    @Override
+    public void close() {
+        frames.remove(this);
+        try {
+            recording.close();
+        } catch (IOException ignored) {
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.example.javafx.recording;
+
+import com.example.javafx.metrics.MetricSink;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+// Streams named metric values and text events into an append-only recording
+// (see RecordingFormat). Entries recorded at the same millisecond form one
+// frame; unchanged values are skipped. A block is sealed, deflated and written once
+// it holds BLOCK_BYTES or spans BLOCK_MILLIS, so a crash loses at most the
+// last few seconds. Safe to call from any thread.
+public final class FlightRecorder implements MetricSink, AutoCloseable {
+
+    private static final int BLOCK_BYTES = 64 * 1024;
+    private static final long BLOCK_MILLIS = 10_000;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+    private final Map<String, Integer> ids = new HashMap<>();
+    private byte[][] encodedNames = new byte[32][];
+    private double[] lastRecorded = new double[32];
+    private double[] written = new double[32];
+    private int channels;
+    private int declared;
+
+    // Frame being collected
+    private long frameTs = Long.MIN_VALUE;
+    private int[] pendingIds = new int[32];
+    private double[] pendingValues = new double[32];
+    private byte[][] pendingTexts = new byte[32][];
+    private int pending;
+
+    // Block being filled
+    private byte[] raw = new byte[BLOCK_BYTES + 4096];
+    private byte[] compressed = new byte[BLOCK_BYTES];
+    private int rawLength;
+    private int frames;
+    private long blockFirstTs;
+    private long lastFrameTs;
+    private boolean stopped;
+
+    public FlightRecorder(Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        channel.write(ByteBuffer.wrap(RecordingFormat.FILE_MAGIC));
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    @Override
+    public void put(String metric, double value) {
+        record(System.currentTimeMillis(), metric, value);
+    }
+
+    public synchronized void record(long timestampMillis, String metric, double value) {
+        if (stopped || Double.isNaN(value)) {
+            return;
+        }
+        Integer known = ids.get(metric);
+        int id = known != null ? known : define(metric);
+        if (known != null && Double.doubleToRawLongBits(value) == Double.doubleToRawLongBits(lastRecorded[id])) {
+            return;
+        }
+        lastRecorded[id] = value;
+        addPending(timestampMillis, id, value, null);
+    }
+
+    public synchronized void recordText(long timestampMillis, String channel, String text) {
+        if (stopped) {
+            return;
+        }
+        Integer known = ids.get(channel);
+        int id = known != null ? known : define(channel);
+        addPending(timestampMillis, id, Double.NaN, text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // One lock for a whole batch of lines on one channel
+    public synchronized void recordText(long[] timestampsMillis, String channel, String[] texts, int count) {
+        if (stopped) {
+            return;
+        }
+        Integer known = ids.get(channel);
+        int id = known != null ? known : define(channel);
+        for (int i = 0; i < count; i++) {
+            addPending(timestampsMillis[i], id, Double.NaN, texts[i].getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private void addPending(long timestampMillis, int id, double value, byte[] text) {
+        // Sources stamp their own time; keep frames in order when they race
+        long ts = Math.max(timestampMillis, frameTs);
+        if (ts != frameTs) {
+            finishFrame();
+            frameTs = ts;
+        }
+        if (pending == pendingIds.length) {
+            pendingIds = Arrays.copyOf(pendingIds, pending * 2);
+            pendingValues = Arrays.copyOf(pendingValues, pending * 2);
+            pendingTexts = Arrays.copyOf(pendingTexts, pending * 2);
+        }
+        pendingIds[pending] = id;
+        pendingValues[pending] = value;
+        pendingTexts[pending++] = text;
+    }
+
+    private int define(String metric) {
+        int id = channels++;
+        if (id == encodedNames.length) {
+            encodedNames = Arrays.copyOf(encodedNames, id * 2);
+            lastRecorded = Arrays.copyOf(lastRecorded, id * 2);
+            written = Arrays.copyOf(written, id * 2);
+        }
+        encodedNames[id] = metric.getBytes(StandardCharsets.UTF_8);
+        lastRecorded[id] = Double.NaN;
+        written[id] = Double.NaN;
+        ids.put(metric, id);
+        return id;
+    }
+
+    private void finishFrame() {
+        if (pending == 0) {
+            return;
+        }
+        if (frames > 0 && (rawLength >= BLOCK_BYTES || frameTs - blockFirstTs >= BLOCK_MILLIS)) {
+            seal();
+        }
+        if (frames == 0) {
+            writeKeyframe();
+        }
+        ensureRaw(20);
+        rawLength = RecordingFormat.putVarint(raw, rawLength, frameTs - lastFrameTs);
+        rawLength = RecordingFormat.putVarint(raw, rawLength, pending);
+        for (int i = 0; i < pending; i++) {
+            int id = pendingIds[i];
+            byte[] text = pendingTexts[i];
+            ensureRaw(19 + (text == null ? 0 : text.length));
+            rawLength = RecordingFormat.putVarint(raw, rawLength, (long) id << 1 | (text == null ? 0 : 1));
+            if (id == declared) {
+                writeName(id);
+                declared++;
+            }
+            if (text != null) {
+                rawLength = RecordingFormat.putVarint(raw, rawLength, text.length);
+                System.arraycopy(text, 0, raw, rawLength, text.length);
+                rawLength += text.length;
+                pendingTexts[i] = null;
+                continue;
+            }
+            long bits = Double.doubleToRawLongBits(pendingValues[i]);
+            rawLength = RecordingFormat.putLong(raw, rawLength, bits ^ Double.doubleToRawLongBits(written[id]));
+            written[id] = pendingValues[i];
+        }
+        frames++;
+        lastFrameTs = frameTs;
+        pending = 0;
+    }
+
+    // Every channel declared so far with its current value, so the block decodes on its own
+    private void writeKeyframe() {
+        blockFirstTs = frameTs;
+        lastFrameTs = frameTs;
+        ensureRaw(10);
+        rawLength = RecordingFormat.putVarint(raw, rawLength, declared);
+        for (int id = 0; id < declared; id++) {
+            writeName(id);
+            ensureRaw(8);
+            rawLength = RecordingFormat.putLong(raw, rawLength, Double.doubleToRawLongBits(written[id]));
+        }
+    }
+
+    private void writeName(int id) {
+        byte[] name = encodedNames[id];
+        ensureRaw(10 + name.length);
+        rawLength = RecordingFormat.putVarint(raw, rawLength, name.length);
+        System.arraycopy(name, 0, raw, rawLength, name.length);
+        rawLength += name.length;
+    }
+
+    private void ensureRaw(int extra) {
+        if (rawLength + extra > raw.length) {
+            raw = Arrays.copyOf(raw, Math.max(raw.length * 2, rawLength + extra));
+        }
+    }
+
+    private void seal() {
+        if (frames == 0) {
+            return;
+        }
+        deflater.reset();
+        deflater.setInput(raw, 0, rawLength);
+        deflater.finish();
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == compressed.length) {
+                compressed = Arrays.copyOf(compressed, compressed.length * 2);
+            }
+            length += deflater.deflate(compressed, length, compressed.length - length);
+        }
+        ByteBuffer header = ByteBuffer.allocate(RecordingFormat.BLOCK_HEADER);
+        header.putInt(RecordingFormat.BLOCK_MAGIC).putInt(length).putInt(rawLength).putInt(frames)
+            .putLong(blockFirstTs).putLong(lastFrameTs).flip();
+        try {
+            ByteBuffer body = ByteBuffer.wrap(compressed, 0, length);
+            while (body.hasRemaining()) {
+                channel.write(new ByteBuffer[] {header, body});
+            }
+        } catch (IOException e) {
+            stopped = true;
+            System.err.println("Recording stopped: " + e.getMessage());
+        }
+        rawLength = 0;
+        frames = 0;
+    }
+
+    // Writes out everything recorded so far, e.g. before reading the file back
+    public synchronized void flush() {
+        if (!stopped) {
+            finishFrame();
+            seal();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!stopped) {
+            finishFrame();
+            seal();
+            stopped = true;
+        }
+        deflater.end();
+        channel.close();
+    }
+}
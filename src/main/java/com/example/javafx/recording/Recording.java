@@ -0,0 +1,171 @@
+package com.example.javafx.recording;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// A flight recording opened for playback. Opening reads only the block
+// headers, which form the time index; cursors decode one block at a time.
+// A block cut short by a crash ends the recording. A recording that is still
+// being written can be refresh()ed to pick up blocks sealed since.
+public final class Recording implements AutoCloseable {
+
+    private final Path path;
+    private final FileChannel channel;
+    private long[] firstTs = new long[256];
+    private long[] lastTs = new long[256];
+    private long[] offsets = new long[256];
+    private int[] compressedLengths = new int[256];
+    private int[] rawLengths = new int[256];
+    private int[] frameCounts = new int[256];
+    private int blocks;
+    private long indexedTo;
+
+    private Recording(Path path, FileChannel channel) {
+        this.path = path;
+        this.channel = channel;
+    }
+
+    public static Recording open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        Recording recording = new Recording(path, channel);
+        try {
+            recording.readIndex();
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return recording;
+    }
+
+    private void readIndex() throws IOException {
+        byte[] magic = new byte[RecordingFormat.FILE_MAGIC.length];
+        readFully(ByteBuffer.wrap(magic), 0);
+        if (Arrays.equals(magic, RecordingFormat.OLD_FILE_MAGIC)) {
+            throw new IOException("Recording from an older version, no longer readable: " + path);
+        }
+        if (!Arrays.equals(magic, RecordingFormat.FILE_MAGIC)) {
+            throw new IOException("Not a flight recording: " + path);
+        }
+        indexedTo = magic.length;
+        refresh();
+    }
+
+    // Indexes blocks appended since the last call; FX thread, like the cursors
+    public void refresh() throws IOException {
+        long size = channel.size();
+        long pos = indexedTo;
+        ByteBuffer header = ByteBuffer.allocate(RecordingFormat.BLOCK_HEADER);
+        while (pos + RecordingFormat.BLOCK_HEADER <= size) {
+            header.clear();
+            readFully(header, pos);
+            header.flip();
+            int blockMagic = header.getInt();
+            int compressed = header.getInt();
+            long body = pos + RecordingFormat.BLOCK_HEADER;
+            if (blockMagic != RecordingFormat.BLOCK_MAGIC || compressed < 0 || body + compressed > size) {
+                break;
+            }
+            if (blocks == firstTs.length) {
+                grow();
+            }
+            compressedLengths[blocks] = compressed;
+            rawLengths[blocks] = header.getInt();
+            frameCounts[blocks] = header.getInt();
+            firstTs[blocks] = header.getLong();
+            lastTs[blocks] = header.getLong();
+            offsets[blocks] = body;
+            blocks++;
+            pos = body + compressed;
+        }
+        indexedTo = pos;
+    }
+
+    private void grow() {
+        int capacity = blocks * 2;
+        firstTs = Arrays.copyOf(firstTs, capacity);
+        lastTs = Arrays.copyOf(lastTs, capacity);
+        offsets = Arrays.copyOf(offsets, capacity);
+        compressedLengths = Arrays.copyOf(compressedLengths, capacity);
+        rawLengths = Arrays.copyOf(rawLengths, capacity);
+        frameCounts = Arrays.copyOf(frameCounts, capacity);
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    public boolean isEmpty() {
+        return blocks == 0;
+    }
+
+    public long start() {
+        return blocks == 0 ? 0 : firstTs[0];
+    }
+
+    public long end() {
+        return blocks == 0 ? 0 : lastTs[blocks - 1];
+    }
+
+    public int blockCount() {
+        return blocks;
+    }
+
+    public RecordingCursor cursor() {
+        return new RecordingCursor(this);
+    }
+
+    // The last block starting at or before ts, or the first block
+    int blockFor(long ts) {
+        int lo = 0;
+        int hi = blocks - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (firstTs[mid] <= ts) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return lo;
+    }
+
+    long firstTs(int block) {
+        return firstTs[block];
+    }
+
+    int frameCount(int block) {
+        return frameCounts[block];
+    }
+
+    int rawLength(int block) {
+        return rawLengths[block];
+    }
+
+    int compressedLength(int block) {
+        return compressedLengths[block];
+    }
+
+    void readCompressed(int block, byte[] into) throws IOException {
+        readFully(ByteBuffer.wrap(into, 0, compressedLengths[block]), offsets[block]);
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, position);
+            if (n < 0) {
+                throw new EOFException(path.toString());
+            }
+            position += n;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.javafx.recording;
+
+import com.example.javafx.metrics.MetricSink;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+// Reads a Recording forward from any point. seek() finds the block through
+// the index and decodes only that block; advance() replays frames in order,
+// moving into the next block when one runs out. Holds one decoded block.
+public final class RecordingCursor {
+
+    // How far lastEvents() looks back for a quiet channel
+    private static final long EVENT_LOOKBACK_MILLIS = 3_600_000;
+
+    private record Event(String channel, long timestampMillis, String text) {
+    }
+
+    private final Recording recording;
+    private final Inflater inflater = new Inflater(true);
+    private final List<String> names = new ArrayList<>();
+    private double[] values = new double[32];
+    private byte[] compressed = new byte[0];
+    private byte[] raw = new byte[0];
+    private int block = -1;
+    private int pos;
+    private int framesLeft;
+    private int declared;
+    private long nextTs;
+    private long position;
+
+    RecordingCursor(Recording recording) {
+        this.recording = recording;
+    }
+
+    public long position() {
+        return position;
+    }
+
+    public boolean atEnd() {
+        return framesLeft == 0 && block >= recording.blockCount() - 1;
+    }
+
+    // Emits every channel's value as of ts
+    public void seek(long ts, MetricSink sink) {
+        if (recording.isEmpty()) {
+            return;
+        }
+        load(recording.blockFor(ts));
+        while (framesLeft > 0 && nextTs <= ts) {
+            readFrame(null, null);
+        }
+        for (int id = 0; id < declared; id++) {
+            if (!Double.isNaN(values[id])) {
+                sink.put(names.get(id), values[id]);
+            }
+        }
+        position = ts;
+    }
+
+    // Emits the changes of every frame after the current position up to ts
+    public void advance(long ts, MetricSink sink) {
+        advance(ts, sink, null);
+    }
+
+    // Also emits the text events of those frames
+    public void advance(long ts, MetricSink sink, EventSink events) {
+        if (block < 0) {
+            seek(ts, sink);
+            return;
+        }
+        while (true) {
+            if (framesLeft > 0) {
+                if (nextTs > ts) {
+                    break;
+                }
+                readFrame(sink, events);
+            } else if (block + 1 < recording.blockCount() && recording.firstTs(block + 1) <= ts) {
+                // The keyframe repeats the state we already have
+                load(block + 1);
+            } else {
+                break;
+            }
+        }
+        position = Math.max(position, ts);
+    }
+
+    // Emits, oldest first, up to limit text events of one channel at or before
+    // ts, decoding blocks backwards until it has enough. Only that many events
+    // and one block are held at a time. Leaves the cursor unpositioned.
+    public void lastEvents(long ts, String channel, int limit, EventSink out) {
+        if (recording.isEmpty() || limit <= 0) {
+            return;
+        }
+        ArrayDeque<Event> result = new ArrayDeque<>(limit);
+        List<Event> inBlock = new ArrayList<>();
+        EventSink collect = (c, t, text) -> {
+            if (c.equals(channel)) {
+                inBlock.add(new Event(c, t, text));
+            }
+        };
+        for (int b = recording.blockFor(ts); b >= 0 && result.size() < limit; b--) {
+            if (recording.firstTs(b) > ts || recording.firstTs(b) < ts - EVENT_LOOKBACK_MILLIS) {
+                break;
+            }
+            inBlock.clear();
+            load(b);
+            while (framesLeft > 0 && nextTs <= ts) {
+                readFrame(null, collect);
+            }
+            for (int i = inBlock.size() - 1; i >= 0 && result.size() < limit; i--) {
+                result.addFirst(inBlock.get(i));
+            }
+        }
+        block = -1;
+        framesLeft = 0;
+        for (Event e : result) {
+            out.event(e.channel(), e.timestampMillis(), e.text());
+        }
+    }
+
+    private void load(int index) {
+        int compressedLength = recording.compressedLength(index);
+        int rawLength = recording.rawLength(index);
+        // One spare byte: a raw inflater may want a byte past the end of the stream
+        if (compressed.length < compressedLength + 1) {
+            compressed = new byte[compressedLength + 1];
+        }
+        if (raw.length < rawLength) {
+            raw = new byte[rawLength];
+        }
+        try {
+            recording.readCompressed(index, compressed);
+            inflater.reset();
+            inflater.setInput(compressed, 0, compressedLength + 1);
+            int n = 0;
+            while (n < rawLength && !inflater.finished()) {
+                n += inflater.inflate(raw, n, rawLength - n);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (DataFormatException e) {
+            throw new UncheckedIOException(new IOException("Corrupt block " + index + " in " + recording.path(), e));
+        }
+        block = index;
+        pos = 0;
+        int count = (int) readVarint();
+        for (int id = 0; id < count; id++) {
+            readName(id);
+            values[id] = Double.longBitsToDouble(readLong());
+        }
+        declared = count;
+        framesLeft = recording.frameCount(index);
+        nextTs = recording.firstTs(index) + (framesLeft > 0 ? readVarint() : 0);
+    }
+
+    // Null sinks skip; seek() replays silently up to its target
+    private void readFrame(MetricSink sink, EventSink events) {
+        int changes = (int) readVarint();
+        for (int i = 0; i < changes; i++) {
+            long tagged = readVarint();
+            int id = (int) (tagged >>> 1);
+            // A channel's first frame in a block after the keyframe carries its name
+            if (id == declared) {
+                readName(id);
+                values[id] = Double.NaN;
+                declared++;
+            }
+            if ((tagged & 1) != 0) {
+                int length = (int) readVarint();
+                if (events != null) {
+                    events.event(names.get(id), nextTs, new String(raw, pos, length, StandardCharsets.UTF_8));
+                }
+                pos += length;
+                continue;
+            }
+            double value = Double.longBitsToDouble(readLong() ^ Double.doubleToRawLongBits(values[id]));
+            values[id] = value;
+            if (sink != null) {
+                sink.put(names.get(id), value);
+            }
+        }
+        position = nextTs;
+        if (--framesLeft > 0) {
+            nextTs += readVarint();
+        }
+    }
+
+    // Channel names are global but read from each block, so a block decodes without its predecessors
+    private void readName(int id) {
+        int length = (int) readVarint();
+        if (id == names.size()) {
+            names.add(new String(raw, pos, length, StandardCharsets.UTF_8));
+            if (id == values.length) {
+                values = Arrays.copyOf(values, id * 2);
+            }
+        }
+        pos += length;
+    }
+
+    private long readVarint() {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = raw[pos++];
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    private long readLong() {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (raw[pos++] & 0xFF);
+        }
+        return value;
+    }
+}
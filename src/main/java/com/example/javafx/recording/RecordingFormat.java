@@ -0,0 +1,47 @@
+package com.example.javafx.recording;
+
+import java.nio.charset.StandardCharsets;
+
+// Layout of a flight recording: an 8-byte file header followed by
+// independent blocks, each a 32-byte header and a deflated body.
+//
+//   block header: magic:int  compressedLength:int  rawLength:int  frames:int
+//                 firstTs:long  lastTs:long
+//
+// A body starts with a keyframe holding every channel known so far
+// (count, then name and value per channel id), so decoding can start at any
+// block. Frames follow: varint ts delta from the previous frame (the first
+// from firstTs), varint change count, then per change a varint of the
+// channel id shifted left by one with the low bit set for text, the channel
+// name if the id is new, and either the value's bits XORed with the
+// channel's previous value or a length-prefixed UTF-8 text event. Text
+// events carry no state, so keyframes hold NaN for their channels. The
+// block headers are the sparse time index.
+final class RecordingFormat {
+
+    // 01 files predate the text flag in the channel id and cannot be decoded
+    static final byte[] FILE_MAGIC = "SKYREC02".getBytes(StandardCharsets.US_ASCII);
+    static final byte[] OLD_FILE_MAGIC = "SKYREC01".getBytes(StandardCharsets.US_ASCII);
+    static final int BLOCK_MAGIC = 0x534B5242; // "SKRB"
+    static final int BLOCK_HEADER = 32;
+
+    private RecordingFormat() {
+    }
+
+    // Writes a varint into buf at pos; returns the new position
+    static int putVarint(byte[] buf, int pos, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buf[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buf[pos++] = (byte) value;
+        return pos;
+    }
+
+    static int putLong(byte[] buf, int pos, long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buf[pos++] = (byte) (value >>> shift);
+        }
+        return pos;
+    }
+}